@@ -47,6 +47,7 @@ import net.lax1dude.eaglercraft.backend.server.api.voice.IVoiceService;
 import net.lax1dude.eaglercraft.backend.server.api.webserver.IWebServer;
 import net.lax1dude.eaglercraft.backend.server.api.webview.IWebViewService;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageProtocol;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
 
 public interface IEaglerXServerAPI<PlayerObject> extends IAttributeHolder {
 
@@ -141,6 +142,11 @@ public interface IEaglerXServerAPI<PlayerObject> extends IAttributeHolder {
 
 	int getEaglerPlayerCount();
 
+	void broadcastEaglerMessage(@Nonnull GameMessagePacket packet);
+
+	void broadcastEaglerMessage(@Nonnull Collection<? extends IEaglerPlayer<PlayerObject>> players,
+			@Nonnull GameMessagePacket packet);
+
 	@Nonnull
 	Collection<IUpdateCertificate> getUpdateCertificates();
 
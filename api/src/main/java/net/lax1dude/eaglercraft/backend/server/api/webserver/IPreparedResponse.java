@@ -23,6 +23,11 @@ public interface IPreparedResponse {
 	@Nonnull
 	IPreparedResponse retain();
 
+	int length();
+
+	@Nonnull
+	IPreparedResponse retainedSlice(int index, int length);
+
 	boolean release();
 
 }
@@ -18,6 +18,7 @@ package net.lax1dude.eaglercraft.backend.server.api.webserver;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import javax.annotation.Nonnull;
@@ -62,6 +63,9 @@ public interface IWebServer {
 	@Nonnull
 	IPreparedResponse prepareResponse(@Nonnull byte[] data);
 
+	@Nonnull
+	IPreparedResponse prepareResponse(@Nonnull ByteBuffer data);
+
 	@Nonnull
 	IPreparedResponse prepareResponse(@Nonnull CharSequence data, @Nonnull Charset binaryCharset);
 
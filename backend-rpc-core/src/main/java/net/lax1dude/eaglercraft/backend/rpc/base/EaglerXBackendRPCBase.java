@@ -227,8 +227,8 @@ public abstract class EaglerXBackendRPCBase<PlayerObject> extends RPCAttributeHo
 		timeoutLoop = new FutureTimeoutLoop(platform.getScheduler(), resolution);
 	}
 
-	protected void cancelTimeoutLoop() {
-		timeoutLoop.cancelAll();
+	protected void shutdownTimeoutLoop() {
+		timeoutLoop.shutdown();
 	}
 
 }
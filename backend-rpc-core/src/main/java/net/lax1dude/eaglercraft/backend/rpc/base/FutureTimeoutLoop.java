@@ -16,76 +16,62 @@
 
 package net.lax1dude.eaglercraft.backend.rpc.base;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ConcurrentMap;
-import java.util.function.BiFunction;
-
-import com.google.common.collect.MapMaker;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import net.lax1dude.eaglercraft.backend.rpc.adapter.IPlatformScheduler;
 import net.lax1dude.eaglercraft.backend.rpc.api.RPCTimeoutException;
 
+/**
+ * Futures are placed on a hashed timing wheel ticked by a single thread, a
+ * future that completes normally cancels its entry so it is never visited
+ * again. Expiry itself is handed off to the platform's async scheduler.
+ * 
+ * The wheel lives as long as the plugin, cancelAll only drops the entries
+ * currently scheduled and the ticker thread is stopped by shutdown.
+ */
 public class FutureTimeoutLoop {
 
-	private class TimeoutEvent implements Runnable {
+	private final IPlatformScheduler scheduler;
+	private final HashedWheelTimer timer;
+	private final Set<Entry> pending = ConcurrentHashMap.newKeySet();
 
-		protected final Long key;
+	private class Entry implements TimerTask {
 
-		// The timeoutEvents ConcurrentMap compute method will synchronize this
-		protected final List<IRPCFutureExpiring<?>> queue = new ArrayList<>();
+		private final IRPCFutureExpiring<?> future;
+		private volatile Timeout handle;
 
-		protected TimeoutEvent(Long key) {
-			this.key = key;
+		private Entry(IRPCFutureExpiring<?> future) {
+			this.future = future;
 		}
 
 		@Override
-		public void run() {
-			if (timeoutEvents.remove(key) != null) {
-				for (int i = 0, l = queue.size(); i < l; ++i) {
-					IRPCFutureExpiring<?> future = queue.get(i);
-					if (!future.isDone()) {
-						expire(future);
-					}
+		public void run(Timeout timeout) {
+			if (pending.remove(this) && !future.isDone()) {
+				scheduler.executeAsync(() -> expire(future));
+			}
+		}
+
+		private void cancel() {
+			if (pending.remove(this)) {
+				Timeout t = handle;
+				if (t != null) {
+					t.cancel();
 				}
 			}
 		}
 
 	}
 
-	private final ConcurrentMap<Long, TimeoutEvent> timeoutEvents = (new MapMaker()).initialCapacity(128)
-			.concurrencyLevel(8).makeMap();
-
-	private final IPlatformScheduler scheduler;
-	private final long resolution;
-
 	public FutureTimeoutLoop(IPlatformScheduler scheduler, long resolution) {
 		this.scheduler = scheduler;
-		this.resolution = resolution;
-	}
-
-	private class Witness implements BiFunction<Long, TimeoutEvent, TimeoutEvent> {
-
-		protected final IRPCFutureExpiring<?> future;
-		protected boolean schedule = false;
-
-		protected Witness(IRPCFutureExpiring<?> future) {
-			this.future = future;
-		}
-
-		@Override
-		public TimeoutEvent apply(Long k, TimeoutEvent v) {
-			if (v != null) {
-				v.queue.add(future);
-				return v;
-			} else {
-				TimeoutEvent te = new TimeoutEvent(k);
-				te.queue.add(future);
-				schedule = true;
-				return te;
-			}
-		}
-
+		this.timer = new HashedWheelTimer(new DefaultThreadFactory("EaglerXBackendRPC Timeout Loop", true), resolution,
+				TimeUnit.NANOSECONDS, 512);
 	}
 
 	public void addFuture(IRPCFutureExpiring<?> future) {
@@ -98,13 +84,23 @@ public class FutureTimeoutLoop {
 			expire(future);
 			return;
 		}
-		long bucket = (expires + (resolution - 1)) / resolution;
-		Witness witness = new Witness(future);
-		TimeoutEvent te = timeoutEvents.compute(bucket, witness);
-		if (witness.schedule) {
-			long l = (bucket * resolution - now) / 1000000l;
-			scheduler.executeAsyncDelayed(te, l > 0l ? l : 0l);
+		Entry entry = new Entry(future);
+		pending.add(entry);
+		Timeout timeout;
+		try {
+			timeout = timer.newTimeout(entry, expires - now, TimeUnit.NANOSECONDS);
+		} catch (IllegalStateException ex) {
+			// Timer was stopped by shutdown
+			pending.remove(entry);
+			return;
+		}
+		entry.handle = timeout;
+		if (!pending.contains(entry)) {
+			// Raced with cancelAll
+			timeout.cancel();
+			return;
 		}
+		future.addListener(entry::cancel, Runnable::run);
 	}
 
 	private void expire(IRPCFutureExpiring<?> future) {
@@ -112,7 +108,14 @@ public class FutureTimeoutLoop {
 	}
 
 	public void cancelAll() {
-		timeoutEvents.clear();
+		for (Entry entry : pending) {
+			entry.cancel();
+		}
+	}
+
+	public void shutdown() {
+		cancelAll();
+		timer.stop();
 	}
 
 }
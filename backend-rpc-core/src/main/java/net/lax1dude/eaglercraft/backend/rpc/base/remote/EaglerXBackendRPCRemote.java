@@ -121,7 +121,7 @@ public class EaglerXBackendRPCRemote<PlayerObject> extends EaglerXBackendRPCBase
 	}
 
 	private void disableHandler() {
-		cancelTimeoutLoop();
+		shutdownTimeoutLoop();
 	}
 
 	void registerPlayer(PlayerInstanceRemote<PlayerObject> playerInstance) {
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.webserver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the tokenizing lookup against the RouteMap tree with the
+ * CompiledRouteMap used by the web server, run with gradlew :core:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteMatchBenchmark {
+
+	private static final String[] ROUTES = new String[] { "/", "/index.html", "/api/v1/status", "/api/v1/players/*",
+			"/api/*", "/assets/*", "/assets/minecraft/textures/*", "/skins/*/download", "/eagler/query", "/ws/" };
+
+	private static final String[] URLS = new String[] { "/", "/index.html", "/api/v1/status", "//api/v1/status/",
+			"/api/v1/players/lax1dude", "/api/v2/unknown/path", "/assets/minecraft/textures/block/stone.png",
+			"/assets/sounds/click.ogg", "/skins/0123456789abcdef/download", "/skins/0123456789abcdef/upload",
+			"/eagler/query", "/ws", "/not/registered/anywhere" };
+
+	private final Object listenerA = new Object();
+	private final Object listenerB = new Object();
+
+	private RouteMap<Object, String> routeMap;
+	private CompiledRouteMap<Object, String> compiledRouteMap;
+	private RouteProcessor processor;
+
+	@Setup
+	public void setup() {
+		routeMap = new RouteMap<>();
+		processor = new RouteProcessor();
+		for (int i = 0; i < ROUTES.length; ++i) {
+			processor.register(ROUTES[i], null, -1, routeMap, ROUTES[i]);
+		}
+		processor.register("/api/v1/admin", listenerA, 4, routeMap, "admin");
+		processor.register("/api/v1/admin", listenerB, 0, routeMap, "admin-readonly");
+		compiledRouteMap = routeMap.compile();
+	}
+
+	@Benchmark
+	public void tree(Blackhole bh) {
+		for (int i = 0; i < URLS.length; ++i) {
+			bh.consume(processor.find(URLS[i], listenerA, 0, routeMap).result);
+		}
+		bh.consume(processor.find("/api/v1/admin", listenerA, 4, routeMap).result);
+	}
+
+	@Benchmark
+	public void compiled(Blackhole bh) {
+		for (int i = 0; i < URLS.length; ++i) {
+			bh.consume(processor.find(URLS[i], listenerA, 0, compiledRouteMap).result);
+		}
+		bh.consume(processor.find("/api/v1/admin", listenerA, 4, compiledRouteMap).result);
+	}
+
+}
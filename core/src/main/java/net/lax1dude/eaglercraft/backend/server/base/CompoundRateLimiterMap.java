@@ -30,6 +30,7 @@ import net.lax1dude.eaglercraft.backend.server.util.EnumRateLimitState;
 import net.lax1dude.eaglercraft.backend.server.util.RateLimiterExclusions;
 import net.lax1dude.eaglercraft.backend.server.util.RateLimiterLocking;
 import net.lax1dude.eaglercraft.backend.server.util.RateLimiterLocking.Config;
+import net.lax1dude.eaglercraft.backend.server.util.RateLimiterTable;
 
 public class CompoundRateLimiterMap {
 
@@ -37,7 +38,8 @@ public class CompoundRateLimiterMap {
 			ConfigDataListener.ConfigRateLimit ratelimitLoginConfIn,
 			ConfigDataListener.ConfigRateLimit ratelimitMOTDConfIn,
 			ConfigDataListener.ConfigRateLimit ratelimitQueryConfIn,
-			ConfigDataListener.ConfigRateLimit ratelimitHTTPConfIn, RateLimiterExclusions ratelimitExclusions) {
+			ConfigDataListener.ConfigRateLimit ratelimitHTTPConfIn, RateLimiterExclusions ratelimitExclusions,
+			int stripedTableSlots) {
 		if (!ratelimitIPConfIn.isEnabled() && !ratelimitLoginConfIn.isEnabled() && !ratelimitMOTDConfIn.isEnabled()
 				&& !ratelimitQueryConfIn.isEnabled() && !ratelimitHTTPConfIn.isEnabled()) {
 			return null;
@@ -48,7 +50,7 @@ public class CompoundRateLimiterMap {
 		RateLimiterLocking.Config ratelimitQueryConf = createConf(ratelimitQueryConfIn);
 		RateLimiterLocking.Config ratelimitHTTPConf = createConf(ratelimitHTTPConfIn);
 		return new CompoundRateLimiterMap(ratelimitIPConf, ratelimitLoginConf, ratelimitMOTDConf, ratelimitQueryConf,
-				ratelimitHTTPConf, ratelimitExclusions);
+				ratelimitHTTPConf, ratelimitExclusions, stripedTableSlots);
 	}
 
 	private static RateLimiterLocking.Config createConf(ConfigRateLimit ratelimitIPConfIn) {
@@ -148,7 +150,58 @@ public class CompoundRateLimiterMap {
 
 	}
 
+	private static final int LIMITER_IP = 0;
+	private static final int LIMITER_LOGIN = 1;
+	private static final int LIMITER_MOTD = 2;
+	private static final int LIMITER_QUERY = 3;
+	private static final int LIMITER_HTTP = 4;
+
+	private class StripedRateLimits implements ICompoundRatelimits {
+
+		private final long key;
+		private int slot;
+
+		private StripedRateLimits(long key, int slot) {
+			this.key = key;
+			this.slot = slot;
+		}
+
+		private EnumRateLimitState rateLimit(int limiter, RateLimiterLocking.Config conf) {
+			if (conf == null) {
+				return EnumRateLimitState.OK;
+			}
+			int s = slot;
+			if (!table.isOwner(s, key)) {
+				// the slot was taken over by another address since the last request
+				slot = s = table.lookup(key);
+			}
+			return table.rateLimit(s, limiter, conf);
+		}
+
+		@Override
+		public EnumRateLimitState rateLimitLogin() {
+			return rateLimit(LIMITER_LOGIN, ratelimitLoginConf);
+		}
+
+		@Override
+		public EnumRateLimitState rateLimitMOTD() {
+			return rateLimit(LIMITER_MOTD, ratelimitMOTDConf);
+		}
+
+		@Override
+		public EnumRateLimitState rateLimitQuery() {
+			return rateLimit(LIMITER_QUERY, ratelimitQueryConf);
+		}
+
+		@Override
+		public EnumRateLimitState rateLimitHTTP() {
+			return rateLimit(LIMITER_HTTP, ratelimitHTTPConf);
+		}
+
+	}
+
 	private final LoadingCache<InetAddress, RateLimits> cache;
+	private final RateLimiterTable table;
 
 	private final RateLimiterLocking.Config ratelimitIPConf;
 	private final RateLimiterLocking.Config ratelimitLoginConf;
@@ -158,14 +211,21 @@ public class CompoundRateLimiterMap {
 	private final RateLimiterExclusions ratelimitExclusions;
 
 	private CompoundRateLimiterMap(Config ratelimitIPConf, Config ratelimitLoginConf, Config ratelimitMOTDConf,
-			Config ratelimitQueryConf, Config ratelimitHTTPConf, RateLimiterExclusions ratelimitExclusions) {
-		this.cache = CacheBuilder.newBuilder().expireAfterAccess(5l, TimeUnit.MINUTES).maximumSize(8192)
-				.build(new CacheLoader<InetAddress, RateLimits>() {
-					@Override
-					public RateLimits load(InetAddress arg0) throws Exception {
-						return new RateLimits();
-					}
-				});
+			Config ratelimitQueryConf, Config ratelimitHTTPConf, RateLimiterExclusions ratelimitExclusions,
+			int stripedTableSlots) {
+		if (stripedTableSlots > 0) {
+			this.cache = null;
+			this.table = new RateLimiterTable(stripedTableSlots);
+		} else {
+			this.table = null;
+			this.cache = CacheBuilder.newBuilder().expireAfterAccess(5l, TimeUnit.MINUTES).maximumSize(8192)
+					.build(new CacheLoader<InetAddress, RateLimits>() {
+						@Override
+						public RateLimits load(InetAddress arg0) throws Exception {
+							return new RateLimits();
+						}
+					});
+		}
 		this.ratelimitIPConf = ratelimitIPConf;
 		this.ratelimitLoginConf = ratelimitLoginConf;
 		this.ratelimitMOTDConf = ratelimitMOTDConf;
@@ -184,18 +244,44 @@ public class CompoundRateLimiterMap {
 		}
 	}
 
+	private StripedRateLimits lookupStriped(InetAddress address) {
+		long key = table.packAddress(address);
+		return new StripedRateLimits(key, table.lookup(key));
+	}
+
 	public ICompoundRatelimits rateLimit(InetAddress address) {
 		if (ratelimitExclusions != null && ratelimitExclusions.testExclusion(address)) {
 			return ALWAYS_OK;
+		} else if (table != null) {
+			StripedRateLimits limits = lookupStriped(address);
+			return (ratelimitIPConf == null || limits.rateLimit(LIMITER_IP, ratelimitIPConf).isOk()) ? limits : null;
 		} else {
 			RateLimits limits = load(address);
 			return (ratelimitIPConf == null || limits.rateLimit(ratelimitIPConf).isOk()) ? limits : null;
 		}
 	}
 
+	public boolean isLoginLockedOut(InetAddress address) {
+		if (ratelimitLoginConf == null
+				|| (ratelimitExclusions != null && ratelimitExclusions.testExclusion(address))) {
+			return false;
+		} else if (table != null) {
+			return table.isLocked(address, LIMITER_LOGIN, ratelimitLoginConf);
+		} else {
+			RateLimits limits = cache.getIfPresent(address);
+			if (limits != null) {
+				RateLimiterLocking limiter = limits.ratelimitLogin;
+				return limiter != null && limiter.isLocked(ratelimitLoginConf);
+			}
+			return false;
+		}
+	}
+
 	public ICompoundRatelimits getRateLimit(InetAddress address) {
 		if (ratelimitExclusions != null && ratelimitExclusions.testExclusion(address)) {
 			return ALWAYS_OK;
+		} else if (table != null) {
+			return lookupStriped(address);
 		} else {
 			return load(address);
 		}
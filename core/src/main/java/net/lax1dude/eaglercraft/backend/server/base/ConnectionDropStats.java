@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+
+public class ConnectionDropStats extends StatsReporter {
+
+	private static final VarHandle DENIED_HANDLE;
+	private static final VarHandle LOCKED_OUT_HANDLE;
+	private static final VarHandle RATELIMITED_HANDLE;
+
+	static {
+		MethodHandles.Lookup l = MethodHandles.lookup();
+		try {
+			DENIED_HANDLE = l.findVarHandle(ConnectionDropStats.class, "denied", long.class);
+			LOCKED_OUT_HANDLE = l.findVarHandle(ConnectionDropStats.class, "lockedOut", long.class);
+			RATELIMITED_HANDLE = l.findVarHandle(ConnectionDropStats.class, "ratelimited", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final String listenerName;
+
+	private long denied = 0l;
+	private long lockedOut = 0l;
+	private long ratelimited = 0l;
+	private long lastTotal = 0l;
+
+	public ConnectionDropStats(String listenerName, IPlatformLogger logger, int reportIntervalSeconds) {
+		super(logger, reportIntervalSeconds);
+		this.listenerName = listenerName;
+	}
+
+	void recordDenied() {
+		DENIED_HANDLE.getAndAdd(this, 1l);
+		checkReport();
+	}
+
+	void recordLockedOut() {
+		LOCKED_OUT_HANDLE.getAndAdd(this, 1l);
+		checkReport();
+	}
+
+	void recordRatelimited() {
+		RATELIMITED_HANDLE.getAndAdd(this, 1l);
+		checkReport();
+	}
+
+	@Override
+	protected void report(long elapsedSeconds) {
+		long d = (long) DENIED_HANDLE.getOpaque(this);
+		long lo = (long) LOCKED_OUT_HANDLE.getOpaque(this);
+		long rl = (long) RATELIMITED_HANDLE.getOpaque(this);
+		long total = d + lo + rl;
+		long prev;
+		synchronized (this) {
+			prev = lastTotal;
+			lastTotal = total;
+		}
+		logger.info("Listener \"" + listenerName + "\" dropped " + (total - prev) + " connections in the last "
+				+ elapsedSeconds + "s (total denied: " + d + ", locked out: " + lo + ", ratelimited: " + rl + ")");
+	}
+
+}
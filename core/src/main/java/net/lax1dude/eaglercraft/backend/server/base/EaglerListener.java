@@ -38,7 +38,9 @@ import net.lax1dude.eaglercraft.backend.server.api.ITLSManager;
 import net.lax1dude.eaglercraft.backend.server.api.attribute.IAttributeKey;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerAttributeManager.EaglerAttributeHolder;
 import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataListener;
+import net.lax1dude.eaglercraft.backend.server.base.pipeline.FlushConsolidationStats;
 import net.lax1dude.eaglercraft.backend.server.base.pipeline.WebSocketEaglerInitialHandler;
+import net.lax1dude.eaglercraft.backend.server.base.query.MOTDSnapshotCache;
 import net.lax1dude.eaglercraft.backend.server.util.RateLimiterExclusions;
 
 public class EaglerListener implements IEaglerListenerInfo, IEaglerXServerListener {
@@ -53,6 +55,11 @@ public class EaglerListener implements IEaglerListenerInfo, IEaglerXServerListen
 	private byte[] cachedServerIcon;
 	private List<String> cachedServerMOTD;
 	private CompoundRateLimiterMap rateLimiter;
+	private final RateLimiterExclusions denyConnections;
+	private final ConnectionDropStats connectionDropStats;
+	private final MOTDSnapshotCache motdSnapshots = new MOTDSnapshotCache();
+	private final FlushConsolidationStats flushConsolidationStats;
+	private final Object[] webSocketExtensions;
 
 	EaglerListener(EaglerXServer<?> server, ConfigDataListener listenerConf) throws SSLException, IOException {
 		this(server, listenerConf.getInjectAddress(), listenerConf);
@@ -100,7 +107,21 @@ public class EaglerListener implements IEaglerListenerInfo, IEaglerXServerListen
 		}
 		rateLimiter = CompoundRateLimiterMap.create(listenerConf.getLimitIP(), listenerConf.getLimitLogin(),
 				listenerConf.getLimitMOTD(), listenerConf.getLimitQuery(), listenerConf.getLimitHTTP(),
-				RateLimiterExclusions.create(listenerConf.getLimitExclusions(), server.logger()));
+				RateLimiterExclusions.create(listenerConf.getLimitExclusions(), server.logger()),
+				listenerConf.getLimitStripedTableSlots());
+		RateLimiterExclusions deny = RateLimiterExclusions.create(listenerConf.getDenyConnections(), server.logger(),
+				"denied address");
+		denyConnections = !deny.isEmpty() ? deny : null;
+		connectionDropStats = new ConnectionDropStats(listenerConf.getListenerName(), server.logger(),
+				listenerConf.getConnectionDropLogInterval());
+		ConfigDataListener.ConfigFlushConsolidation flushConf = listenerConf.getFlushConsolidation();
+		if (flushConf.isEnabled()) {
+			flushConsolidationStats = new FlushConsolidationStats(listenerConf.getListenerName(), server.logger(),
+					flushConf.getStatsLogInterval());
+		} else {
+			flushConsolidationStats = null;
+		}
+		webSocketExtensions = server.getPipelineTransformer().createWebSocketExtensions(listenerConf);
 	}
 
 	public ISSLContextProvider getSSLContext() {
@@ -268,8 +289,28 @@ public class EaglerListener implements IEaglerListenerInfo, IEaglerXServerListen
 		return listenerConf;
 	}
 
+	public MOTDSnapshotCache getMOTDSnapshotCache() {
+		return motdSnapshots;
+	}
+
+	public FlushConsolidationStats getFlushConsolidationStats() {
+		return flushConsolidationStats;
+	}
+
+	public Object[] getWebSocketExtensions() {
+		return webSocketExtensions;
+	}
+
 	public CompoundRateLimiterMap getRateLimiter() {
 		return rateLimiter;
 	}
 
+	public RateLimiterExclusions getDenyConnections() {
+		return denyConnections;
+	}
+
+	public ConnectionDropStats getConnectionDropStats() {
+		return connectionDropStats;
+	}
+
 }
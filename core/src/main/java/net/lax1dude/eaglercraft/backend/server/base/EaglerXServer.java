@@ -88,6 +88,7 @@ import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataRoot;
 import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataSupervisor;
 import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataSettings.ConfigDataSkinService;
 import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataSettings.ConfigDataVoiceService;
+import net.lax1dude.eaglercraft.backend.server.base.message.BroadcastPacket;
 import net.lax1dude.eaglercraft.backend.server.base.message.MessageControllerFactory;
 import net.lax1dude.eaglercraft.backend.server.base.message.PlayerChannelHelper;
 import net.lax1dude.eaglercraft.backend.server.base.nbt.NBTHelper;
@@ -117,11 +118,13 @@ import net.lax1dude.eaglercraft.backend.server.util.GsonLenient;
 import net.lax1dude.eaglercraft.backend.server.util.Util;
 import net.lax1dude.eaglercraft.backend.skin_cache.HTTPClient;
 import net.lax1dude.eaglercraft.backend.skin_cache.IHTTPClient;
+import net.lax1dude.eaglercraft.backend.skin_cache.ISQLConnectionFactory;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheDatastore;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheDownloader;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheService;
 import net.lax1dude.eaglercraft.backend.util.EaglerDrivers;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageProtocol;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketClientStateFlagV5EAG;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketOtherPlayerClientUUIDV4EAG;
 
@@ -164,6 +167,7 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 	private SkinService<PlayerObject> skinService;
 	private DeferredStartSkinCache skinCacheService;
 	private Connection skinCacheJDBCHandle;
+	private SkinCacheDatastore skinCacheDatastore;
 	private IVoiceServiceImpl<PlayerObject> voiceService;
 	private NotificationService<PlayerObject> notificationService;
 	private WebViewService<PlayerObject> webViewService;
@@ -427,7 +431,13 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 				skinCacheJDBCHandle = EaglerDrivers.connectToDatabase(skinConf.getSkinCacheDBURI(),
 						skinConf.getSkinCacheDriverClass(), skinConf.getSkinCacheDriverPath(), new Properties(),
 						platform.getDataFolder(), logger());
-				datastore = new SkinCacheDatastore(skinCacheJDBCHandle, threadCount,
+				ISQLConnectionFactory readConnFactory = null;
+				if (!skinConf.getSkinCacheDBURI().contains(":memory:")) {
+					readConnFactory = () -> EaglerDrivers.connectToDatabase(skinConf.getSkinCacheDBURI(),
+							skinConf.getSkinCacheDriverClass(), skinConf.getSkinCacheDriverPath(), new Properties(),
+							platform.getDataFolder(), logger());
+				}
+				datastore = new SkinCacheDatastore(skinCacheJDBCHandle, readConnFactory, threadCount,
 						skinConf.getSkinCacheDiskKeepObjectsDays(), skinConf.getSkinCacheDiskMaxObjects(),
 						Math.min(skinConf.getSkinCacheCompressionLevel(), 9), skinConf.isSkinCacheSQLiteCompatible(),
 						logger());
@@ -443,6 +453,7 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 				}
 				return;
 			}
+			skinCacheDatastore = datastore;
 			skinCacheService.setDelegate(new SkinCacheService(
 					new SkinCacheDownloader(httpClient, skinConf.getValidSkinDownloadURLs()), datastore,
 					skinConf.getSkinCacheMemoryKeepSeconds(), skinConf.getSkinCacheMemoryMaxObjects(), logger()));
@@ -476,6 +487,10 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 		skinService.handleDisabled();
 
 		if (skinCacheService != null) {
+			if (skinCacheDatastore != null) {
+				skinCacheDatastore.dispose();
+				skinCacheDatastore = null;
+			}
 			if (skinCacheJDBCHandle != null) {
 				logger().info("Disconnecting from skin cache database \""
 						+ Util.sanitizeJDBCURIForLogs(config.getSettings().getSkinService().getSkinCacheDBURI())
@@ -907,6 +922,32 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 		return eaglerPlayers.size();
 	}
 
+	@Override
+	public void broadcastEaglerMessage(GameMessagePacket packet) {
+		if (packet == null) {
+			throw new NullPointerException("packet");
+		}
+		GameMessagePacket broadcast = new BroadcastPacket(packet);
+		eaglerPlayers.forEach((player) -> {
+			player.sendEaglerMessage(broadcast);
+		});
+	}
+
+	@Override
+	public void broadcastEaglerMessage(Collection<? extends IEaglerPlayer<PlayerObject>> players,
+			GameMessagePacket packet) {
+		if (players == null) {
+			throw new NullPointerException("players");
+		}
+		if (packet == null) {
+			throw new NullPointerException("packet");
+		}
+		GameMessagePacket broadcast = new BroadcastPacket(packet);
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			player.sendEaglerMessage(broadcast);
+		}
+	}
+
 	@Override
 	public Collection<IUpdateCertificate> getUpdateCertificates() {
 		if (updateService != null) {
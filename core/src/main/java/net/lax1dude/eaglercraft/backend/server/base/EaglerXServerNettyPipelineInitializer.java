@@ -16,12 +16,14 @@
 
 package net.lax1dude.eaglercraft.backend.server.base;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.function.Consumer;
 
 import net.lax1dude.eaglercraft.backend.server.adapter.IEaglerXServerNettyPipelineInitializer;
 import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformNettyPipelineInitializer;
+import net.lax1dude.eaglercraft.backend.server.util.RateLimiterExclusions;
 
 class EaglerXServerNettyPipelineInitializer<PlayerObject>
 		implements IEaglerXServerNettyPipelineInitializer<NettyPipelineData> {
@@ -35,6 +37,14 @@ class EaglerXServerNettyPipelineInitializer<PlayerObject>
 	@Override
 	public void initialize(IPlatformNettyPipelineInitializer<NettyPipelineData> initializer) {
 		EaglerListener eagListener = (EaglerListener) initializer.getListener();
+		SocketAddress addr = initializer.getChannel().remoteAddress();
+		InetAddress inetAddr = (addr instanceof InetSocketAddress inetSockAddr) ? inetSockAddr.getAddress() : null;
+		RateLimiterExclusions deny = eagListener.getDenyConnections();
+		if (deny != null && inetAddr != null && deny.testExclusion(inetAddr)) {
+			eagListener.getConnectionDropStats().recordDenied();
+			initializer.getChannel().close();
+			return;
+		}
 		if (server.getConfig().getSettings().isDebugLogNewChannels()) {
 			server.logger().info("[" + eagListener.getName() + "]: New channel opened: " + initializer.getChannel());
 		}
@@ -47,10 +57,15 @@ class EaglerXServerNettyPipelineInitializer<PlayerObject>
 		} else {
 			CompoundRateLimiterMap map = eagListener.getRateLimiter();
 			if (map != null) {
-				SocketAddress addr = initializer.getChannel().remoteAddress();
-				if (addr instanceof InetSocketAddress inetAddr) {
-					rateLimits = map.rateLimit(inetAddr.getAddress());
+				if (inetAddr != null) {
+					if (map.isLoginLockedOut(inetAddr)) {
+						eagListener.getConnectionDropStats().recordLockedOut();
+						initializer.getChannel().close();
+						return;
+					}
+					rateLimits = map.rateLimit(inetAddr);
 					if (rateLimits == null) {
+						eagListener.getConnectionDropStats().recordRatelimited();
 						initializer.getChannel().close();
 						return;
 					}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+
+/**
+ * Counters that are written to the log every report interval, the thread that
+ * records the first event after the interval has passed writes the report
+ */
+public abstract class StatsReporter {
+
+	private static final VarHandle LAST_REPORT_HANDLE;
+
+	static {
+		try {
+			LAST_REPORT_HANDLE = MethodHandles.lookup().findVarHandle(StatsReporter.class, "lastReport", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	protected final IPlatformLogger logger;
+	private final long reportIntervalNanos;
+	private long lastReport;
+
+	protected StatsReporter(IPlatformLogger logger, int reportIntervalSeconds) {
+		this.logger = logger;
+		this.reportIntervalNanos = reportIntervalSeconds * 1000000000l;
+		this.lastReport = System.nanoTime();
+	}
+
+	protected final void checkReport() {
+		if (reportIntervalNanos > 0l) {
+			long now = System.nanoTime();
+			long last = (long) LAST_REPORT_HANDLE.getOpaque(this);
+			if (now - last >= reportIntervalNanos && LAST_REPORT_HANDLE.compareAndSet(this, last, now)) {
+				report((now - last) / 1000000000l);
+			}
+		}
+	}
+
+	protected abstract void report(long elapsedSeconds);
+
+}
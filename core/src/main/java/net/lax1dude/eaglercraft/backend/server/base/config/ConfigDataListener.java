@@ -59,6 +59,71 @@ public class ConfigDataListener {
 
 	}
 
+	public static class ConfigFlushConsolidation {
+
+		private final boolean enable;
+		private final int maxDelayMicros;
+		private final int maxWrites;
+		private final int statsLogInterval;
+
+		public ConfigFlushConsolidation(boolean enable, int maxDelayMicros, int maxWrites, int statsLogInterval) {
+			this.enable = enable;
+			this.maxDelayMicros = maxDelayMicros;
+			this.maxWrites = maxWrites;
+			this.statsLogInterval = statsLogInterval;
+		}
+
+		public boolean isEnabled() {
+			return enable;
+		}
+
+		public int getMaxDelayMicros() {
+			return maxDelayMicros;
+		}
+
+		public int getMaxWrites() {
+			return maxWrites;
+		}
+
+		public int getStatsLogInterval() {
+			return statsLogInterval;
+		}
+
+	}
+
+	public static class ConfigWebSocketCompression {
+
+		private final int clientMaxWindowBits;
+		private final boolean serverNoContextTakeover;
+		private final boolean clientNoContextTakeover;
+		private final int compressionThreshold;
+
+		public ConfigWebSocketCompression(int clientMaxWindowBits, boolean serverNoContextTakeover,
+				boolean clientNoContextTakeover, int compressionThreshold) {
+			this.clientMaxWindowBits = clientMaxWindowBits;
+			this.serverNoContextTakeover = serverNoContextTakeover;
+			this.clientNoContextTakeover = clientNoContextTakeover;
+			this.compressionThreshold = compressionThreshold;
+		}
+
+		public int getClientMaxWindowBits() {
+			return clientMaxWindowBits;
+		}
+
+		public boolean isServerNoContextTakeover() {
+			return serverNoContextTakeover;
+		}
+
+		public boolean isClientNoContextTakeover() {
+			return clientNoContextTakeover;
+		}
+
+		public int getCompressionThreshold() {
+			return compressionThreshold;
+		}
+
+	}
+
 	private final String listenerName;
 	private final SocketAddress injectAddress;
 	private final boolean cloneListenerEnabled;
@@ -98,6 +163,14 @@ public class ConfigDataListener {
 	private final ConfigRateLimit limitQuery;
 	private final ConfigRateLimit limitHTTP;
 	private final List<String> limitExclusions;
+	private final ConfigFlushConsolidation flushConsolidation;
+	private final ConfigWebSocketCompression webSocketCompression;
+	private final boolean httpUpgradeOnly;
+	private final int limitStripedTableSlots;
+	private final List<String> denyConnections;
+	private final int connectionDropLogInterval;
+	private final int httpKeepAliveTimeout;
+	private final int httpKeepAliveMaxRequests;
 
 	public ConfigDataListener(String listenerName, SocketAddress injectAddress, boolean cloneListenerEnabled,
 			boolean dualStack, boolean forwardIp, String forwardIPHeader, boolean forwardSecret,
@@ -109,7 +182,10 @@ public class ConfigDataListener {
 			boolean allowQuery, boolean showMOTDPlayerList, boolean allowCookieRevokeQuery, int motdCacheTTL,
 			boolean motdCacheAnimation, boolean motdCacheResults, boolean motdCacheTrending,
 			boolean motdCachePortfolios, ConfigRateLimit limitIP, ConfigRateLimit limitLogin, ConfigRateLimit limitMOTD,
-			ConfigRateLimit limitQuery, ConfigRateLimit limitHTTP, List<String> limitExclusions) {
+			ConfigRateLimit limitQuery, ConfigRateLimit limitHTTP, List<String> limitExclusions,
+			ConfigFlushConsolidation flushConsolidation, ConfigWebSocketCompression webSocketCompression,
+			boolean httpUpgradeOnly, int limitStripedTableSlots, List<String> denyConnections,
+			int connectionDropLogInterval, int httpKeepAliveTimeout, int httpKeepAliveMaxRequests) {
 		this.listenerName = listenerName;
 		this.injectAddress = injectAddress;
 		this.cloneListenerEnabled = cloneListenerEnabled;
@@ -149,6 +225,14 @@ public class ConfigDataListener {
 		this.limitQuery = limitQuery;
 		this.limitHTTP = limitHTTP;
 		this.limitExclusions = limitExclusions;
+		this.flushConsolidation = flushConsolidation;
+		this.webSocketCompression = webSocketCompression;
+		this.httpUpgradeOnly = httpUpgradeOnly;
+		this.limitStripedTableSlots = limitStripedTableSlots;
+		this.denyConnections = denyConnections;
+		this.connectionDropLogInterval = connectionDropLogInterval;
+		this.httpKeepAliveTimeout = httpKeepAliveTimeout;
+		this.httpKeepAliveMaxRequests = httpKeepAliveMaxRequests;
 	}
 
 	public String getListenerName() {
@@ -303,6 +387,38 @@ public class ConfigDataListener {
 		return limitExclusions;
 	}
 
+	public int getLimitStripedTableSlots() {
+		return limitStripedTableSlots;
+	}
+
+	public List<String> getDenyConnections() {
+		return denyConnections;
+	}
+
+	public int getConnectionDropLogInterval() {
+		return connectionDropLogInterval;
+	}
+
+	public ConfigFlushConsolidation getFlushConsolidation() {
+		return flushConsolidation;
+	}
+
+	public ConfigWebSocketCompression getWebSocketCompression() {
+		return webSocketCompression;
+	}
+
+	public boolean isHTTPUpgradeOnly() {
+		return httpUpgradeOnly;
+	}
+
+	public int getHTTPKeepAliveTimeout() {
+		return httpKeepAliveTimeout;
+	}
+
+	public int getHTTPKeepAliveMaxRequests() {
+		return httpKeepAliveMaxRequests;
+	}
+
 	public boolean isCloneListenerEnabled() {
 		return cloneListenerEnabled;
 	}
@@ -279,11 +279,12 @@ public class ConfigDataSettings {
 		private final int voiceConnectRatelimit;
 		private final int voiceRequestRatelimit;
 		private final int voiceICERatelimit;
+		private final int signalStatsLogInterval;
 
 		public ConfigDataVoiceService(boolean enableVoiceService, boolean enableVoiceChatAllServers,
 				Set<String> enableVoiceChatOnServers, boolean separateVoiceChannelsPerServer,
 				boolean voiceBackendRelayMode, int voiceConnectRatelimit, int voiceRequestRatelimit,
-				int voiceICERatelimit) {
+				int voiceICERatelimit, int signalStatsLogInterval) {
 			this.enableVoiceService = enableVoiceService;
 			this.enableVoiceChatAllServers = enableVoiceChatAllServers;
 			this.enableVoiceChatOnServers = enableVoiceChatOnServers;
@@ -292,6 +293,7 @@ public class ConfigDataSettings {
 			this.voiceConnectRatelimit = voiceConnectRatelimit;
 			this.voiceRequestRatelimit = voiceRequestRatelimit;
 			this.voiceICERatelimit = voiceICERatelimit;
+			this.signalStatsLogInterval = signalStatsLogInterval;
 		}
 
 		public boolean isEnableVoiceService() {
@@ -326,6 +328,10 @@ public class ConfigDataSettings {
 			return voiceICERatelimit;
 		}
 
+		public int getSignalStatsLogInterval() {
+			return signalStatsLogInterval;
+		}
+
 	}
 
 	public static class ConfigDataUpdateService {
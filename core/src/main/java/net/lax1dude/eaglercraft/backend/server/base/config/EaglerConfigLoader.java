@@ -432,6 +432,11 @@ public class EaglerConfigLoader {
 				"Default value is 600, sets the rate limit per minute for players to exchange "
 				+ "WebRTC descriptions and ICE candidates once handshaking."
 			);
+			int voiceSignalStatsLogInterval = voiceService.getInteger(
+				"signal_stats_log_interval", 0,
+				"Default value is 0, sets how many seconds between logging how many bytes of voice "
+				+ "signalling packets were sent to players in voice channels, set to 0 to disable."
+			);
 			IEaglerConfSection updateService = config.getSection("update_service");
 			if (!updateService.exists()) {
 				updateService.setComment("Settings for the eagler update certificate service.");
@@ -522,7 +527,8 @@ public class EaglerConfigLoader {
 							enableFNAWSkinModelsGlobal, enableFNAWSkinModelsOnServers, enableSkinsRestorerApplyHook),
 					new ConfigDataSettings.ConfigDataVoiceService(enableVoiceService, enableVoiceChatAllServers,
 							enableVoiceChatOnServers, separateVoiceChannelsPerServer, voiceBackendRelayMode,
-							voiceConnectRatelimit, voiceRequestRatelimit, voiceICERatelimit),
+							voiceConnectRatelimit, voiceRequestRatelimit, voiceICERatelimit,
+							voiceSignalStatsLogInterval),
 					new ConfigDataSettings.ConfigDataUpdateService(enableUpdateSystem, discardLoginPacketCerts,
 							certPacketDataRateLimit, enableEagcertFolder, downloadLatestCerts, downloadCertsFrom,
 							checkForUpdateEvery),
@@ -1022,6 +1028,23 @@ public class EaglerConfigLoader {
 			+ "plugin to go with EaglerXServer that handles the EaglercraftRevokeSessionQueryEvent "
 			+ "event it fires in order for this feature to work correctly."
 		);
+		boolean httpUpgradeOnly = listener.getBoolean(
+			"http_upgrade_only", false,
+			"Default value is false, if this listener should only accept GET requests without a body, "
+			+ "which is all WebSocket connections need. Requests are then parsed without buffering "
+			+ "any request body, but HTTP requests with a body (like POST) will be rejected."
+		);
+		int httpKeepAliveTimeout = listener.getInteger(
+			"http_keep_alive_timeout", 15,
+			"Default value is 15, the number of seconds a keep-alive HTTP connection can sit idle "
+			+ "with no requests in progress before it is closed, set to 0 to disable."
+		);
+		int httpKeepAliveMaxRequests = listener.getInteger(
+			"http_keep_alive_max_requests", 1000,
+			"Default value is 1000, the maximum number of HTTP requests that can be sent over a single "
+			+ "keep-alive connection, the last response is sent with 'connection: close', set to 0 for "
+			+ "no limit."
+		);
 		IEaglerConfSection requestMOTDCache = listener.getSection("request_motd_cache");
 		if (!requestMOTDCache.exists()) {
 			requestMOTDCache.setComment("Section that defines caching hints for server lists "
@@ -1082,13 +1105,97 @@ public class EaglerConfigLoader {
 						+ "entire subnets, default value includes localhost to ensure ratelimiting is disabled by "
 						+ "default when EaglerXServer is used with nginx and caddy. If forward_ip is true, the "
 						+ "ratelimits will be applied based on the forwarded address instead of the raw socket address."));
+		int limitStripedTableSlots = ratelimitConf.getInteger(
+			"striped_table_slots", 0,
+			"Default value is 0, set to a positive number to track ratelimits in a fixed size lock-free "
+			+ "table with this many address slots instead of the default cache. The table does not "
+			+ "allocate memory per connection, which helps during connection floods, but the least "
+			+ "recently used address in a full bucket is evicted, a size of 8192 is recommended."
+		);
+		IEaglerConfList denyConnectionsConf = ratelimitConf.getList("deny_connections");
+		List<String> denyConnectionsList = ImmutableList
+				.copyOf(denyConnectionsConf.getAsStringList(() -> Collections.emptyList(),
+						"List of IPv4 and IPv6 addresses to close connections from immediately, before any "
+						+ "handlers are added to the pipeline, use CIDR notation to specify entire subnets. "
+						+ "This is checked against the raw socket address, so it will not work if forward_ip "
+						+ "is true."));
+		int connectionDropLogInterval = ratelimitConf.getInteger(
+			"drop_stats_log_interval", 0,
+			"Default value is 0, sets how many seconds between logging the number of connections "
+			+ "that were closed on this listener before their pipeline was initialized, because they "
+			+ "were denied, locked out, or ratelimited. Set to 0 to disable."
+		);
+		IEaglerConfSection flushConsolidationConf = listener.getSection("flush_consolidation");
+		if (!flushConsolidationConf.exists()) {
+			flushConsolidationConf.setComment("Settings for batching the flushes of Eaglercraft WebSocket "
+					+ "connections, so several packets written in quick succession are sent to the "
+					+ "socket together instead of one syscall per packet.");
+		}
+		boolean flushConsolidationEnable = flushConsolidationConf.getBoolean(
+			"enable", false,
+			"Default value is false, sets if flush consolidation should be enabled on this listener."
+		);
+		int flushConsolidationMaxDelay = flushConsolidationConf.getInteger(
+			"max_delay_micros", 500,
+			"Default value is 500, sets the maximum number of microseconds a flush can be delayed "
+			+ "while waiting for more packets to be written."
+		);
+		int flushConsolidationMaxWrites = flushConsolidationConf.getInteger(
+			"max_writes", 32,
+			"Default value is 32, sets the number of packets that can be written before a "
+			+ "pending flush is sent immediately."
+		);
+		int flushConsolidationStatsInterval = flushConsolidationConf.getInteger(
+			"stats_log_interval", 0,
+			"Default value is 0, sets how many seconds between logging the average number of "
+			+ "frames sent per flush on this listener, set to 0 to disable."
+		);
+		ConfigDataListener.ConfigFlushConsolidation flushConsolidation = new ConfigDataListener.ConfigFlushConsolidation(
+				flushConsolidationEnable, flushConsolidationMaxDelay, flushConsolidationMaxWrites,
+				flushConsolidationStatsInterval);
+		IEaglerConfSection webSocketCompressionConf = listener.getSection("websocket_compression");
+		if (!webSocketCompressionConf.exists()) {
+			webSocketCompressionConf.setComment("Settings for the permessage-deflate WebSocket extension on "
+					+ "this listener, the compression level is set by http_websocket_compression_level. "
+					+ "By default every connection keeps its own zlib contexts (about 300 KiB of native "
+					+ "memory), enabling no context takeover lets connections share a context per thread.");
+		}
+		int clientMaxWindowBits = webSocketCompressionConf.getInteger(
+			"client_max_window_bits", 15,
+			"Default value is 15, sets the maximum LZ77 window size (8 to 15 bits) to request the "
+			+ "client to use when compressing, if the client supports it."
+		);
+		if (clientMaxWindowBits < 8 || clientMaxWindowBits > 15) {
+			throw new IllegalArgumentException("Invalid client_max_window_bits: " + clientMaxWindowBits);
+		}
+		boolean serverNoContextTakeover = webSocketCompressionConf.getBoolean(
+			"server_no_context_takeover", false,
+			"Default value is false, sets if the server should compress every message on its own, "
+			+ "instead of keeping a compression context per connection. Slightly worse compression, "
+			+ "but the server only needs one compression context per thread."
+		);
+		boolean clientNoContextTakeover = webSocketCompressionConf.getBoolean(
+			"client_no_context_takeover", false,
+			"Default value is false, sets if the client should be asked to compress every message on "
+			+ "its own, lets the server use one decompression context per thread instead of one per "
+			+ "connection."
+		);
+		int compressionThreshold = webSocketCompressionConf.getInteger(
+			"compression_threshold", 0,
+			"Default value is 0, sets the minimum size in bytes of a message before it is compressed, "
+			+ "smaller messages are sent uncompressed."
+		);
+		ConfigDataListener.ConfigWebSocketCompression webSocketCompression = new ConfigDataListener.ConfigWebSocketCompression(
+				clientMaxWindowBits, serverNoContextTakeover, clientNoContextTakeover, compressionThreshold);
 		return new ConfigDataListener(name, injectAddress, cloneListenerEnabled, dualStack, forwardIp, forwardIPHeader,
 				forwardSecret, forwardSecretHeader, forwardSecretFile, forwardSecretValue, spoofPlayerAddressForwarded,
 				dualStackHAProxyDetection, forceDisableHAProxy, enableTLS, requireTLS, tlsManagedByExternalPlugin,
 				tlsPublicChainFile, tlsPrivateKeyFile, tlsPrivateKeyPassword, tlsAutoRefreshCert,
 				redirectLegacyClientsTo, serverIcon, serverMOTD, allowMOTD, allowQuery, showMOTDPlayerList,
 				allowCookieRevokeQuery, motdCacheTTL, motdCacheAnimation, motdCacheResults, motdCacheTrending,
-				motdCachePortfolios, limitIP, limitLogin, limitMOTD, limitQuery, limitHTTP, exceptionsConfList);
+				motdCachePortfolios, limitIP, limitLogin, limitMOTD, limitQuery, limitHTTP, exceptionsConfList,
+				flushConsolidation, webSocketCompression, httpUpgradeOnly, limitStripedTableSlots, denyConnectionsList,
+				connectionDropLogInterval, httpKeepAliveTimeout, httpKeepAliveMaxRequests);
 	}
 
 	private static ConfigDataListener.ConfigRateLimit loadRatelimiter(IEaglerConfSection parent, String name,
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.message;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePacketInputBuffer;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePacketOutputBuffer;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageConstants;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageProtocol;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessageHandler;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.util.ReusableByteArrayOutputStream;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.util.SimpleOutputBufferImpl;
+
+/**
+ * Wraps a packet that is about to be sent to many players, the packet is only
+ * serialized once per protocol version and the result is shared by every
+ * message controller it is queued on. Everything else is delegated to the
+ * wrapped packet.
+ */
+public final class BroadcastPacket implements GameMessagePacket {
+
+	static final class Encoded {
+
+		final String channel;
+		final byte[] data;
+		final ByteBuf buffer;
+
+		Encoded(String channel, byte[] data) {
+			this.channel = channel;
+			this.data = data;
+			this.buffer = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(data).asReadOnly());
+		}
+
+	}
+
+	private final GameMessagePacket packet;
+
+	private volatile Encoded encodedV3;
+	private volatile Encoded encodedV4;
+	private volatile Encoded encodedV5;
+
+	public BroadcastPacket(GameMessagePacket packet) {
+		if (packet instanceof BroadcastPacket pkt) {
+			packet = pkt.packet;
+		}
+		this.packet = packet;
+	}
+
+	public GameMessagePacket getPacket() {
+		return packet;
+	}
+
+	/**
+	 * V5 encodings are prefixed with 0xEE, V3/V4 encodings are the raw plugin
+	 * message payload for {@link Encoded#channel}
+	 */
+	Encoded getEncoded(GamePluginMessageProtocol protocol) throws IOException {
+		Encoded ret;
+		switch (protocol.ver) {
+		case 3:
+			ret = encodedV3;
+			if (ret == null) {
+				encodedV3 = ret = encode(protocol);
+			}
+			return ret;
+		case 4:
+			ret = encodedV4;
+			if (ret == null) {
+				encodedV4 = ret = encode(protocol);
+			}
+			return ret;
+		case 5:
+			ret = encodedV5;
+			if (ret == null) {
+				encodedV5 = ret = encode(protocol);
+			}
+			return ret;
+		default:
+			throw new IOException("Unsupported protocol version: " + protocol.ver);
+		}
+	}
+
+	private Encoded encode(GamePluginMessageProtocol protocol) throws IOException {
+		// Racing threads may both serialize the packet, that is harmless
+		int len = packet.length();
+		ReusableByteArrayOutputStream bao = new ReusableByteArrayOutputStream();
+		bao.feedBuffer(new byte[len >= 0 ? len + 2 : 64]);
+		SimpleOutputBufferImpl os = new SimpleOutputBufferImpl(bao);
+		String chan;
+		if (protocol.ver >= 5) {
+			bao.write(0xEE);
+			protocol.writePacketV5(GamePluginMessageConstants.SERVER_TO_CLIENT, os, packet);
+			chan = null;
+		} else {
+			chan = protocol.writePacket(GamePluginMessageConstants.SERVER_TO_CLIENT, os, packet);
+		}
+		return new Encoded(chan, bao.returnBuffer());
+	}
+
+	@Override
+	public void readPacket(GamePacketInputBuffer buffer) throws IOException {
+		packet.readPacket(buffer);
+		// the wrapped packet changed, drop anything encoded from its old contents
+		encodedV3 = null;
+		encodedV4 = null;
+		encodedV5 = null;
+	}
+
+	@Override
+	public void writePacket(GamePacketOutputBuffer buffer) throws IOException {
+		packet.writePacket(buffer);
+	}
+
+	@Override
+	public void handlePacket(GameMessageHandler handler) {
+		packet.handlePacket(handler);
+	}
+
+	@Override
+	public int length() {
+		return packet.length();
+	}
+
+}
@@ -26,6 +26,7 @@ import net.lax1dude.eaglercraft.backend.server.api.EnumPipelineEvent;
 import net.lax1dude.eaglercraft.backend.server.base.pipeline.BufferUtils;
 import net.lax1dude.eaglercraft.backend.server.base.pipeline.EaglerInjectedMessageHandler;
 import net.lax1dude.eaglercraft.backend.server.base.pipeline.PipelineTransformer;
+import net.lax1dude.eaglercraft.backend.server.base.pipeline.WebSocketEaglerFrameEncoder;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePacketOutputBuffer;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageConstants;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageProtocol;
@@ -119,12 +120,16 @@ public class InjectedMessageController extends MessageController {
 
 	@Override
 	protected void writePacket(GameMessagePacket packet) throws IOException {
+		if (packet instanceof BroadcastPacket pkt) {
+			writeBroadcastPacket(pkt);
+			return;
+		}
 		if (channel.isActive()) {
 			channel.writeAndFlush(new InjectedMessage() {
 				@Override
 				public void writePacket(List<Object> output) {
 					ByteBufOutputWrapper os = outputWrapper;
-					ByteBuf buf = channel.alloc().buffer();
+					ByteBuf buf = WebSocketEaglerFrameEncoder.allocateFrameBuffer(channel.alloc(), -1);
 					buf.writeByte(0xEE);
 					os.buffer = buf;
 					try {
@@ -143,6 +148,18 @@ public class InjectedMessageController extends MessageController {
 		}
 	}
 
+	private void writeBroadcastPacket(BroadcastPacket packet) throws IOException {
+		if (channel.isActive()) {
+			ByteBuf buf = packet.getEncoded(protocol).buffer;
+			channel.writeAndFlush(new InjectedMessage() {
+				@Override
+				public void writePacket(List<Object> output) {
+					output.add(buf.duplicate());
+				}
+			}, channel.voidPromise());
+		}
+	}
+
 	@Override
 	protected void writeMultiPacket(GameMessagePacket[] packets) throws IOException {
 		if (channel.isActive()) {
@@ -167,7 +184,12 @@ public class InjectedMessageController extends MessageController {
 							buf.writeByte(0xEE);
 							k = buf.writerIndex();
 							marks[j] = k;
-							protocol.writePacketV5(GamePluginMessageConstants.SERVER_TO_CLIENT, os, packets[i]);
+							if (packets[i] instanceof BroadcastPacket pkt) {
+								byte[] data = pkt.getEncoded(protocol).data;
+								buf.writeBytes(data, 1, data.length - 1);
+							} else {
+								protocol.writePacketV5(GamePluginMessageConstants.SERVER_TO_CLIENT, os, packets[i]);
+							}
 							marks[j + 1] = buf.writerIndex() - k;
 						}
 						int start = 0;
@@ -193,7 +215,7 @@ public class InjectedMessageController extends MessageController {
 								continue;
 							}
 							i = 2 + totalLen + GamePacketOutputBuffer.getVarIntSize(sendCount);
-							ByteBuf sendBuffer = channel.alloc().buffer(i, i);
+							ByteBuf sendBuffer = WebSocketEaglerFrameEncoder.allocateFrameBuffer(channel.alloc(), i);
 							try {
 								sendBuffer.writeShort(0xEEFF);
 								BufferUtils.writeVarInt(sendBuffer, sendCount);
@@ -174,6 +174,15 @@ public class LegacyMessageController extends MessageController {
 
 	@Override
 	protected void writePacket(GameMessagePacket packet) throws IOException {
+		if (packet instanceof BroadcastPacket pkt) {
+			BroadcastPacket.Encoded encoded = pkt.getEncoded(protocol);
+			String chan = encoded.channel;
+			if (modernChannelNames) {
+				chan = PlayerChannelHelper.mapModernName(chan);
+			}
+			((ServerMessageHandler) handler).eaglerHandle.getPlatformPlayer().sendDataClient(chan, encoded.data);
+			return;
+		}
 		int len = packet.length() + 1;
 		String chan;
 		byte[] data;
@@ -216,6 +225,10 @@ public class LegacyMessageController extends MessageController {
 			try {
 				for (int i = 0; i < total; ++i) {
 					GameMessagePacket packet = packets[i];
+					if (packet instanceof BroadcastPacket pkt) {
+						buffer[i] = pkt.getEncoded(protocol).data;
+						continue;
+					}
 					int len = packet.length() + 1;
 					byteOutputStreamSingleton.feedBuffer(len == 0 ? outputTempBuffer : new byte[len]);
 					protocol.writePacket(GamePluginMessageConstants.SERVER_TO_CLIENT, outputStreamSingleton, packet);
@@ -236,6 +249,10 @@ public class LegacyMessageController extends MessageController {
 			SimpleOutputBufferImpl outputStream = new SimpleOutputBufferImpl(bao);
 			for (int i = 0; i < total; ++i) {
 				GameMessagePacket packet = packets[i];
+				if (packet instanceof BroadcastPacket pkt) {
+					buffer[i] = pkt.getEncoded(protocol).data;
+					continue;
+				}
 				int len = packet.length() + 1;
 				bao.feedBuffer(new byte[len == 0 ? 64 : len]);
 				protocol.writePacket(GamePluginMessageConstants.SERVER_TO_CLIENT, outputStream, packet);
@@ -17,13 +17,14 @@
 package net.lax1dude.eaglercraft.backend.server.base.message;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.EventLoop;
-import io.netty.util.concurrent.ScheduledFuture;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageProtocol;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessageHandler;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
@@ -44,9 +45,22 @@ public abstract class MessageController {
 	protected final int defragSendDelay;
 	protected final int maxPackets;
 
-	protected List<GameMessagePacket> sendQueue;
-	protected final Callable<Void> handleFlush;
-	protected ScheduledFuture<Void> futureSendTask = null;
+	protected final Queue<GameMessagePacket> sendQueue;
+	protected final ArrayList<GameMessagePacket> drainList;
+	protected final Runnable handleFlush;
+
+	private volatile int flushPending;
+
+	private static final VarHandle FLUSH_PENDING_HANDLE;
+
+	static {
+		try {
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			FLUSH_PENDING_HANDLE = l.findVarHandle(MessageController.class, "flushPending", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
 
 	public MessageController(GamePluginMessageProtocol protocol, IMessageHandler handler, EventLoop eventLoop,
 			int defragSendDelay, int maxPackets) {
@@ -64,42 +78,46 @@ public abstract class MessageController {
 		}
 		this.defragSendDelay = defragSendDelay;
 		this.maxPackets = maxPackets;
-		this.sendQueue = defragSendDelay > 0 ? new ArrayList<>() : null;
-		this.handleFlush = defragSendDelay > 0 ? () -> {
-			GameMessagePacket packet;
-			eagler: {
-				GameMessagePacket[] packets;
-				synchronized (this) {
-					futureSendTask = null;
-					int len = sendQueue.size();
-					if (len == 0) {
-						return null;
-					} else if (len == 1) {
-						packet = sendQueue.remove(0);
-						break eagler;
-					} else {
-						packets = sendQueue.toArray(new GameMessagePacket[len]);
-						if (len < 64) {
-							sendQueue.clear();
-						} else {
-							sendQueue = new ArrayList<>();
-						}
-					}
-				}
-				try {
-					writeMultiPacket(packets);
-				} catch (IOException ex) {
-					onException(ex);
-				}
-				return null;
-			}
+		this.sendQueue = defragSendDelay > 0 ? new ConcurrentLinkedQueue<>() : null;
+		this.drainList = defragSendDelay > 0 ? new ArrayList<>() : null;
+		this.handleFlush = defragSendDelay > 0 ? this::flushSendQueue : null;
+	}
+
+	/**
+	 * IMPORTANT: Only runs on the event loop, it is the sole consumer of the queue
+	 */
+	private void flushSendQueue() {
+		// Clear the flag before draining, a packet offered after this point will
+		// schedule another flush, in the worst case that flush finds an empty queue
+		FLUSH_PENDING_HANDLE.setVolatile(this, 0);
+		ArrayList<GameMessagePacket> lst = drainList;
+		GameMessagePacket packet;
+		while ((packet = sendQueue.poll()) != null) {
+			lst.add(packet);
+		}
+		int len = lst.size();
+		if (len == 0) {
+			return;
+		} else if (len == 1) {
+			packet = lst.get(0);
+			lst.clear();
 			try {
 				writePacket(packet);
 			} catch (IOException ex) {
 				onException(ex);
 			}
-			return null;
-		} : null;
+			return;
+		}
+		GameMessagePacket[] packets = lst.toArray(new GameMessagePacket[len]);
+		lst.clear();
+		if (len >= 64) {
+			lst.trimToSize();
+		}
+		try {
+			writeMultiPacket(packets);
+		} catch (IOException ex) {
+			onException(ex);
+		}
 	}
 
 	public boolean isSendQueueEnabled() {
@@ -108,11 +126,9 @@ public abstract class MessageController {
 
 	public void sendPacket(GameMessagePacket packet) {
 		if (defragSendDelay > 0) {
-			synchronized (this) {
-				sendQueue.add(packet);
-				if (futureSendTask == null || futureSendTask.isDone()) {
-					futureSendTask = eventLoop.schedule(handleFlush, defragSendDelay, TimeUnit.MILLISECONDS);
-				}
+			sendQueue.offer(packet);
+			if ((int) FLUSH_PENDING_HANDLE.compareAndExchange(this, 0, 1) == 0) {
+				eventLoop.schedule(handleFlush, defragSendDelay, TimeUnit.MILLISECONDS);
 			}
 		} else {
 			try {
@@ -40,6 +40,9 @@ public class RewindMessageControllerImpl extends MessageController {
 
 	@Override
 	protected void writePacket(GameMessagePacket packet) throws IOException {
+		if (packet instanceof BroadcastPacket pkt) {
+			packet = pkt.getPacket();
+		}
 		handle.recieveOutboundMessage(packet);
 	}
 
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.UUID;
 import java.util.function.Consumer;
 
+import net.lax1dude.eaglercraft.backend.server.base.message.BroadcastPacket;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
 
 public abstract class NotificationManagerMulti<PlayerObject> extends NotificationManagerBase<PlayerObject> {
@@ -37,7 +38,8 @@ public abstract class NotificationManagerMulti<PlayerObject> extends Notificatio
 
 	@Override
 	protected void touchIcons(GameMessagePacket packet, UUID uuidA, UUID uuidB) {
-		forTargets((target) -> target.touchIcons(packet, uuidA, uuidB));
+		GameMessagePacket broadcast = new BroadcastPacket(packet);
+		forTargets((target) -> target.touchIcons(broadcast, uuidA, uuidB));
 	}
 
 	@Override
@@ -62,7 +64,8 @@ public abstract class NotificationManagerMulti<PlayerObject> extends Notificatio
 
 	@Override
 	protected void sendPacket(GameMessagePacket packet) {
-		forTargets((target) -> target.sendPacket(packet));
+		GameMessagePacket broadcast = new BroadcastPacket(packet);
+		forTargets((target) -> target.sendPacket(broadcast));
 	}
 
 }
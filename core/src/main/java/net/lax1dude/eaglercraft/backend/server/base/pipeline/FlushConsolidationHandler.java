@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.pipeline;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Holds back flushes until either max writes have been written since the last
+ * flush, or max delay has passed since the first pending flush
+ */
+public class FlushConsolidationHandler extends ChannelDuplexHandler {
+
+	private final FlushConsolidationStats stats;
+	private final long maxDelayNanos;
+	private final int maxWrites;
+
+	private ChannelHandlerContext ctx;
+	private int pendingWrites = 0;
+	private boolean flushPending = false;
+	private ScheduledFuture<?> flushTask;
+	private final Runnable handleFlushTask = this::handleFlushTask;
+
+	public FlushConsolidationHandler(FlushConsolidationStats stats, int maxDelayMicros, int maxWrites) {
+		this.stats = stats;
+		this.maxDelayNanos = maxDelayMicros * 1000l;
+		this.maxWrites = maxWrites;
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+		this.ctx = ctx;
+	}
+
+	@Override
+	public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+		++pendingWrites;
+		ctx.write(msg, promise);
+	}
+
+	@Override
+	public void flush(ChannelHandlerContext ctx) throws Exception {
+		if (pendingWrites >= maxWrites || maxDelayNanos <= 0l) {
+			flushNow(ctx);
+		} else if (!flushPending) {
+			flushPending = true;
+			flushTask = ctx.executor().schedule(handleFlushTask, maxDelayNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void handleFlushTask() {
+		flushTask = null;
+		if (flushPending) {
+			flushNow(ctx);
+		}
+	}
+
+	private void flushNow(ChannelHandlerContext ctx) {
+		if (flushTask != null) {
+			flushTask.cancel(false);
+			flushTask = null;
+		}
+		flushPending = false;
+		if (pendingWrites > 0) {
+			stats.recordFlush(pendingWrites);
+			pendingWrites = 0;
+		}
+		ctx.flush();
+	}
+
+	@Override
+	public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+		if (!ctx.channel().isWritable() && flushPending) {
+			flushNow(ctx);
+		}
+		ctx.fireChannelWritabilityChanged();
+	}
+
+	@Override
+	public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+		if (flushPending) {
+			flushNow(ctx);
+		}
+		ctx.close(promise);
+	}
+
+	@Override
+	public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+		if (flushPending) {
+			flushNow(ctx);
+		}
+		ctx.disconnect(promise);
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		if (flushPending) {
+			flushNow(ctx);
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.pipeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+import net.lax1dude.eaglercraft.backend.server.base.StatsReporter;
+
+public class FlushConsolidationStats extends StatsReporter {
+
+	private static final VarHandle FRAMES_HANDLE;
+	private static final VarHandle FLUSHES_HANDLE;
+
+	static {
+		MethodHandles.Lookup l = MethodHandles.lookup();
+		try {
+			FRAMES_HANDLE = l.findVarHandle(FlushConsolidationStats.class, "frames", long.class);
+			FLUSHES_HANDLE = l.findVarHandle(FlushConsolidationStats.class, "flushes", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final String listenerName;
+
+	private long frames = 0l;
+	private long flushes = 0l;
+
+	public FlushConsolidationStats(String listenerName, IPlatformLogger logger, int reportIntervalSeconds) {
+		super(logger, reportIntervalSeconds);
+		this.listenerName = listenerName;
+	}
+
+	void recordFlush(int frameCount) {
+		FRAMES_HANDLE.getAndAdd(this, (long) frameCount);
+		FLUSHES_HANDLE.getAndAdd(this, 1l);
+		checkReport();
+	}
+
+	@Override
+	protected void report(long elapsedSeconds) {
+		long fr = (long) FRAMES_HANDLE.getAndSet(this, 0l);
+		long fl = (long) FLUSHES_HANDLE.getAndSet(this, 0l);
+		if (fl > 0l) {
+			logger.info("Listener \"" + listenerName + "\" sent " + fr + " frames in " + fl + " flushes in the last "
+					+ elapsedSeconds + "s, average " + String.format("%.2f", (double) fr / fl) + " frames per flush");
+		}
+	}
+
+}
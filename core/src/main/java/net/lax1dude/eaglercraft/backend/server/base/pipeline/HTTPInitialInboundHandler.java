@@ -30,6 +30,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.websocketx.WebSocket08FrameEncoder;
 import io.netty.handler.codec.http.websocketx.WebSocketFrameAggregator;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory;
@@ -48,6 +49,8 @@ public class HTTPInitialInboundHandler extends ChannelInboundHandlerAdapter {
 
 	public static final HTTPInitialInboundHandler INSTANCE = new HTTPInitialInboundHandler();
 
+	private static final String NETTY_WS_ENCODER = "wsencoder";
+
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msgRaw) throws Exception {
 		try {
@@ -186,6 +189,10 @@ public class HTTPInitialInboundHandler extends ChannelInboundHandlerAdapter {
 		if (hs != null) {
 			hs.handshake(ctx.channel(), msg).addListener((future) -> {
 				if (future.isSuccess()) {
+					ChannelPipeline pipeline = ctx.pipeline();
+					if (pipeline.get(NETTY_WS_ENCODER) instanceof WebSocket08FrameEncoder) {
+						pipeline.replace(NETTY_WS_ENCODER, NETTY_WS_ENCODER, new WebSocketEaglerFrameEncoder());
+					}
 					pipelineData.initStall = false;
 					pipelineData.scheduleLoginTimeoutHelper();
 				} else {
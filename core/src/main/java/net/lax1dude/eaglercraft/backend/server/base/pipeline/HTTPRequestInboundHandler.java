@@ -20,12 +20,15 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.ImmutableMap;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -42,6 +45,7 @@ import net.lax1dude.eaglercraft.backend.server.api.webserver.IRequestHandler;
 import net.lax1dude.eaglercraft.backend.server.base.CompoundRateLimiterMap;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 import net.lax1dude.eaglercraft.backend.server.base.NettyPipelineData;
+import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataListener;
 import net.lax1dude.eaglercraft.backend.server.base.webserver.RequestContext;
 import net.lax1dude.eaglercraft.backend.server.base.webserver.RequestContext.ContextPromise;
 import net.lax1dude.eaglercraft.backend.server.base.webserver.ResponseOrdering;
@@ -63,11 +67,29 @@ public class HTTPRequestInboundHandler extends ChannelInboundHandlerAdapter {
 	private RouteProcessor processor;
 	private RequestContext context;
 	private boolean isFirst;
+	private boolean reading;
+	private boolean flushPending;
+	private boolean closing;
+	private int requestCount;
+	private final int maxRequests;
+	private final long keepAliveTimeout;
+	private long lastActivity;
+	private int pendingWrites;
+	private ScheduledFuture<?> idleTask;
+
+	private final ChannelFutureListener writeListener = (future) -> {
+		// a slow client is still downloading until the write completes
+		--pendingWrites;
+		lastActivity = System.nanoTime();
+	};
 
 	public HTTPRequestInboundHandler(EaglerXServer<?> server, NettyPipelineData pipelineData) {
 		this.server = server;
 		this.pipelineData = pipelineData;
 		this.isFirst = true;
+		ConfigDataListener conf = pipelineData.listenerInfo.getConfigData();
+		this.maxRequests = conf.getHTTPKeepAliveMaxRequests();
+		this.keepAliveTimeout = TimeUnit.SECONDS.toNanos(conf.getHTTPKeepAliveTimeout());
 	}
 
 	private RouteProcessor processor() {
@@ -91,31 +113,87 @@ public class HTTPRequestInboundHandler extends ChannelInboundHandlerAdapter {
 		}
 		ordering = new ResponseOrdering() {
 			@Override
-			protected void send(FullHttpResponse data) {
+			protected void send(FullHttpResponse data, boolean close) {
 				if (ctx.channel().isActive()) {
-					ctx.writeAndFlush(data);
+					++pendingWrites;
+					if (close) {
+						data.headers().set("connection", "close");
+						ctx.writeAndFlush(data).addListener(writeListener).addListener(ChannelFutureListener.CLOSE);
+					} else {
+						ctx.write(data).addListener(writeListener);
+					}
 				} else {
 					data.release();
 				}
 			}
+
+			@Override
+			protected void flush() {
+				if (reading) {
+					// pipelined requests decoded from the same read share one flush
+					flushPending = true;
+				} else {
+					ctx.flush();
+				}
+			}
 		};
+		lastActivity = System.nanoTime();
+		if (keepAliveTimeout > 0l && idleTask == null) {
+			scheduleIdleCheck(ctx, keepAliveTimeout);
+		}
 	}
 
 	@Override
 	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		if (idleTask != null) {
+			idleTask.cancel(false);
+			idleTask = null;
+		}
 		if (ordering != null) {
 			ordering.release();
 			ordering = null;
 		}
 	}
 
+	private void scheduleIdleCheck(ChannelHandlerContext ctx, long delay) {
+		idleTask = ctx.executor().schedule(() -> {
+			idleTask = null;
+			if (ordering == null || !ctx.channel().isActive()) {
+				return;
+			}
+			if (ordering.isEmpty() && pendingWrites == 0) {
+				long idle = System.nanoTime() - lastActivity;
+				if (idle >= keepAliveTimeout) {
+					ctx.close();
+					return;
+				}
+				scheduleIdleCheck(ctx, keepAliveTimeout - idle);
+			} else {
+				// still waiting on a response or for one to be written, the connection is not idle
+				scheduleIdleCheck(ctx, keepAliveTimeout);
+			}
+		}, delay, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+		reading = false;
+		if (flushPending) {
+			flushPending = false;
+			ctx.flush();
+		}
+		ctx.fireChannelReadComplete();
+	}
+
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msgRaw) throws Exception {
 		try {
-			if (!ctx.channel().isActive()) {
+			if (!ctx.channel().isActive() || closing) {
 				return;
 			}
 			if (msgRaw instanceof FullHttpRequest msg) {
+				reading = true;
+				lastActivity = System.nanoTime();
 				if (HTTPMessageUtils.getProtocolVersion(msg) != HttpVersion.HTTP_1_1) {
 					ctx.close();
 					return;
@@ -137,6 +215,11 @@ public class HTTPRequestInboundHandler extends ChannelInboundHandlerAdapter {
 				EnumRequestMethod meth = methodLookup.get(method);
 
 				ResponseOrdering.Slot responseSlot = ordering.push();
+				if ((maxRequests > 0 && ++requestCount >= maxRequests)
+						|| msg.headers().containsValue("connection", "close", true)) {
+					responseSlot.setCloseAfter();
+					closing = true;
+				}
 
 				CompoundRateLimiterMap rateLimiter = pipelineData.listenerInfo.getRateLimiter();
 				if (rateLimiter != null) {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.pipeline;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Used in place of HttpObjectAggregator on listeners that only accept
+ * WebSocket upgrades, only bodyless GET requests are accepted so nothing is
+ * ever buffered besides the request line and headers
+ */
+public class HTTPUpgradeOnlyInboundHandler extends ChannelInboundHandlerAdapter {
+
+	private HttpRequest pending;
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+		if (msg instanceof HttpRequest req) {
+			try {
+				if (pending != null) {
+					ctx.close();
+					return;
+				}
+				if (!HttpMethod.GET.equals(HTTPMessageUtils.getMethod(req))) {
+					reject(ctx, HttpResponseStatus.METHOD_NOT_ALLOWED);
+					return;
+				}
+				HttpHeaders headers = req.headers();
+				String contentLength = headers.get("content-length");
+				if ((contentLength != null && !"0".equals(contentLength.trim()))
+						|| headers.contains("transfer-encoding")) {
+					reject(ctx, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE);
+					return;
+				}
+				if (req instanceof FullHttpRequest) {
+					ctx.fireChannelRead(ReferenceCountUtil.retain(req));
+				} else {
+					pending = req;
+				}
+			} finally {
+				ReferenceCountUtil.release(msg);
+			}
+		} else if (msg instanceof HttpContent content) {
+			try {
+				if (pending == null) {
+					return;
+				}
+				if (content.content().isReadable()) {
+					pending = null;
+					reject(ctx, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE);
+					return;
+				}
+				if (content instanceof LastHttpContent) {
+					firePending(ctx);
+				}
+			} finally {
+				content.release();
+			}
+		} else {
+			ctx.fireChannelRead(msg);
+		}
+	}
+
+	private void firePending(ChannelHandlerContext ctx) {
+		HttpRequest req = pending;
+		pending = null;
+		FullHttpRequest ret = new DefaultFullHttpRequest(HTTPMessageUtils.getProtocolVersion(req),
+				HTTPMessageUtils.getMethod(req), HTTPMessageUtils.getURI(req), Unpooled.EMPTY_BUFFER);
+		ret.headers().set(req.headers());
+		ctx.fireChannelRead(ret);
+	}
+
+	private void reject(ChannelHandlerContext ctx, HttpResponseStatus status) {
+		FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+		HttpHeaders headers = response.headers();
+		headers.set("connection", "close");
+		headers.set("content-length", 0);
+		ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+	}
+
+}
@@ -26,13 +26,11 @@ import java.util.Set;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelPipeline;
-import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
 import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandshaker;
 import io.netty.handler.codec.http.websocketx.extensions.compression.DeflateFrameServerExtensionHandshaker;
-import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import net.lax1dude.eaglercraft.backend.server.adapter.IPipelineComponent;
@@ -43,6 +41,7 @@ import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 import net.lax1dude.eaglercraft.backend.server.base.ISSLContextProvider;
 import net.lax1dude.eaglercraft.backend.server.base.NettyPipelineData;
 import net.lax1dude.eaglercraft.backend.server.base.RewindService;
+import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataListener;
 import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataSettings;
 import net.lax1dude.eaglercraft.backend.server.util.Util;
 
@@ -63,6 +62,7 @@ public class PipelineTransformer {
 	public static final String HANDLER_QUERY = "eagler-query";
 	public static final String HANDLER_HTTP = "eagler-http";
 	public static final String HANDLER_FRAME_CODEC = "eagler-frame-codec";
+	public static final String HANDLER_FLUSH_CONSOLIDATION = "eagler-flush-consolidation";
 	public static final String HANDLER_REWIND_CODEC = "eagler-rewind-codec";
 	public static final String HANDLER_REWIND_DECODER = "eagler-rewind-decoder";
 	public static final String HANDLER_REWIND_ENCODER = "eagler-rewind-encoder";
@@ -94,7 +94,7 @@ public class PipelineTransformer {
 	public final EaglerXServer<?> server;
 	public final RewindService<?> rewind;
 
-	private final Object[] enabledExtensions;
+	private final int compressionLevel;
 
 	private Runnable nag;
 
@@ -114,24 +114,34 @@ public class PipelineTransformer {
 			} else {
 				server.logger().error("WebSocket compression is not supported on this platform");
 			}
-			enabledExtensions = null;
+			compressionLevel = 0;
 		} else {
-			int compressionLevel = Math.min(server.getConfig().getSettings().getHTTPWebSocketCompressionLevel(), 9);
-			if (compressionLevel > 0) {
-				List<WebSocketServerExtensionHandshaker> extensions = new ArrayList<>();
-				if (SUPPORTS_COMPRESSION_FRAME) {
-					extensions.add(new DeflateFrameServerExtensionHandshaker(compressionLevel));
-				}
-				if (SUPPORTS_COMPRESSION_MESSAGE) {
-					extensions.add(new PerMessageDeflateServerExtensionHandshaker(compressionLevel,
-							ZlibCodecFactory.isSupportingWindowSizeAndMemLevel(),
-							PerMessageDeflateServerExtensionHandshaker.MAX_WINDOW_SIZE, false, false));
-				}
-				enabledExtensions = extensions.toArray(new WebSocketServerExtensionHandshaker[extensions.size()]);
-			} else {
-				enabledExtensions = null;
-			}
+			compressionLevel = Math.min(server.getConfig().getSettings().getHTTPWebSocketCompressionLevel(), 9);
+		}
+	}
+
+	public Object[] createWebSocketExtensions(ConfigDataListener listenerConf) {
+		if (compressionLevel <= 0) {
+			return null;
 		}
+		List<WebSocketServerExtensionHandshaker> extensions = new ArrayList<>();
+		if (SUPPORTS_COMPRESSION_FRAME) {
+			extensions.add(new DeflateFrameServerExtensionHandshaker(compressionLevel));
+		}
+		if (SUPPORTS_COMPRESSION_MESSAGE) {
+			ConfigDataListener.ConfigWebSocketCompression conf = listenerConf.getWebSocketCompression();
+			WebSocketDeflateExtensionHandshaker handshaker = new WebSocketDeflateExtensionHandshaker(
+					compressionLevel, conf.getClientMaxWindowBits(), conf.isServerNoContextTakeover(),
+					conf.isClientNoContextTakeover(), conf.getCompressionThreshold(),
+					server.getConfig().getSettings().getHTTPWebSocketMaxFrameLength());
+			extensions.add(handshaker);
+			int perThread = handshaker.getNativeMemoryPerThread();
+			server.logger().info("Listener \"" + listenerConf.getListenerName()
+					+ "\" WebSocket compression will use about " + (handshaker.getNativeMemoryPerConnection() >> 10)
+					+ " KiB of native memory per connection" + (perThread > 0
+							? (" and " + (perThread >> 10) + " KiB per event loop thread") : ""));
+		}
+		return extensions.toArray(new WebSocketServerExtensionHandshaker[extensions.size()]);
 	}
 
 	public void nagAgain() {
@@ -274,14 +284,19 @@ public class PipelineTransformer {
 			pipeline.addAfter(after, HANDLER_HTTP_SERVER_CODEC, serverCodec);
 		}
 		after = HANDLER_HTTP_SERVER_CODEC;
-		HttpObjectAggregator ag;
-		if (NEW_AGGREGATOR_CTOR) {
-			ag = new HttpObjectAggregator(settings.getHTTPMaxContentLength(), true);
+		if (pipelineData.listenerInfo.getConfigData().isHTTPUpgradeOnly()) {
+			pipeline.addAfter(after, HANDLER_HTTP_AGGREGATOR, new HTTPUpgradeOnlyInboundHandler());
 		} else {
-			ag = new HttpObjectAggregator(settings.getHTTPMaxContentLength());
+			HttpObjectAggregator ag;
+			if (NEW_AGGREGATOR_CTOR) {
+				ag = new HttpObjectAggregator(settings.getHTTPMaxContentLength(), true);
+			} else {
+				ag = new HttpObjectAggregator(settings.getHTTPMaxContentLength());
+			}
+			pipeline.addAfter(after, HANDLER_HTTP_AGGREGATOR, ag);
 		}
-		pipeline.addAfter(after, HANDLER_HTTP_AGGREGATOR, ag);
 		after = HANDLER_HTTP_AGGREGATOR;
+		Object[] enabledExtensions = pipelineData.listenerInfo.getWebSocketExtensions();
 		if (enabledExtensions != null) {
 			pipeline.addAfter(after, HANDLER_WS_COMPRESSION,
 					new WebSocketServerExtensionHandler((WebSocketServerExtensionHandshaker[]) enabledExtensions));
@@ -290,6 +305,16 @@ public class PipelineTransformer {
 		pipeline.addAfter(after, HANDLER_HTTP_INITIAL, HTTPInitialInboundHandler.INSTANCE);
 	}
 
+	protected void initializeFlushConsolidation(NettyPipelineData pipelineData, ChannelPipeline pipeline) {
+		FlushConsolidationStats stats = pipelineData.listenerInfo.getFlushConsolidationStats();
+		if (stats != null) {
+			ConfigDataListener.ConfigFlushConsolidation conf = pipelineData.listenerInfo.getConfigData()
+					.getFlushConsolidation();
+			pipeline.addAfter(HANDLER_FRAME_CODEC, HANDLER_FLUSH_CONSOLIDATION,
+					new FlushConsolidationHandler(stats, conf.getMaxDelayMicros(), conf.getMaxWrites()));
+		}
+	}
+
 	protected void removeVanillaHandlers(ChannelPipeline pipeline) {
 		Iterator<String> keyItr = pipeline.names().iterator();
 		while (keyItr.hasNext()) {
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.pipeline;
+
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionDecoder;
+
+/**
+ * Decompresses frames of messages with RSV1 set, fragmented messages always
+ * use a per-connection inflater since other connections may use the shared
+ * inflater between their frames
+ */
+public class WebSocketDeflateDecoder extends WebSocketExtensionDecoder {
+
+	private static final byte[] FRAME_TAIL = new byte[] { 0x00, 0x00, (byte) 0xFF, (byte) 0xFF };
+
+	private final WebSocketDeflateExtensionHandshaker handshaker;
+	private final boolean noContext;
+	private final int maxFrameLength;
+	private Inflater inflater;
+	private Inflater current;
+
+	public WebSocketDeflateDecoder(WebSocketDeflateExtensionHandshaker handshaker, boolean noContext,
+			int maxFrameLength) {
+		this.handshaker = handshaker;
+		this.noContext = noContext;
+		this.maxFrameLength = maxFrameLength;
+	}
+
+	@Override
+	public boolean acceptInboundMessage(Object msg) throws Exception {
+		if (msg instanceof ContinuationWebSocketFrame) {
+			return current != null;
+		} else if (msg instanceof BinaryWebSocketFrame || msg instanceof TextWebSocketFrame) {
+			return (((WebSocketFrame) msg).rsv() & WebSocketExtension.RSV1) != 0;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	protected void decode(ChannelHandlerContext ctx, WebSocketFrame msg, List<Object> out) throws Exception {
+		boolean last = msg.isFinalFragment();
+		Inflater inf = current;
+		if (inf == null) {
+			if (noContext && last) {
+				inf = handshaker.sharedInflater.get();
+			} else {
+				inf = inflater;
+				if (inf == null) {
+					inflater = inf = new Inflater(true);
+				}
+			}
+			if (noContext || inf.finished()) {
+				inf.reset();
+			}
+			current = inf;
+		}
+		ByteBuf decompressed = ctx.alloc().buffer(Math.min(msg.content().readableBytes() << 1, maxFrameLength));
+		try {
+			inflate(inf, msg.content(), decompressed);
+			if (last) {
+				current = null;
+				inf.setInput(FRAME_TAIL);
+				inflateRemaining(inf, decompressed);
+			}
+			int rsv = msg.rsv() & ~WebSocketExtension.RSV1;
+			if (msg instanceof TextWebSocketFrame) {
+				out.add(new TextWebSocketFrame(last, rsv, decompressed));
+			} else if (msg instanceof BinaryWebSocketFrame) {
+				out.add(new BinaryWebSocketFrame(last, rsv, decompressed));
+			} else {
+				out.add(new ContinuationWebSocketFrame(last, rsv, decompressed));
+			}
+			decompressed = null;
+		} finally {
+			if (decompressed != null) {
+				current = null;
+				decompressed.release();
+			}
+		}
+	}
+
+	private void inflate(Inflater inf, ByteBuf content, ByteBuf dst) throws DataFormatException {
+		if (content.nioBufferCount() == 1) {
+			inf.setInput(content.nioBuffer());
+		} else {
+			byte[] arr = new byte[content.readableBytes()];
+			content.getBytes(content.readerIndex(), arr);
+			inf.setInput(arr);
+		}
+		inflateRemaining(inf, dst);
+	}
+
+	private void inflateRemaining(Inflater inf, ByteBuf dst) throws DataFormatException {
+		while (!inf.finished()) {
+			if (inf.needsDictionary()) {
+				throw new CorruptedFrameException("Invalid permessage-deflate stream");
+			}
+			dst.ensureWritable(256);
+			// One extra byte to detect frames that decompress to more than the limit
+			int avail = Math.min(dst.writableBytes(), maxFrameLength + 1 - dst.writerIndex());
+			int n = inf.inflate(dst.nioBuffer(dst.writerIndex(), avail));
+			dst.writerIndex(dst.writerIndex() + n);
+			if (dst.writerIndex() > maxFrameLength) {
+				throw new TooLongFrameException("Decompressed frame is larger than " + maxFrameLength + " bytes");
+			}
+			if (n == 0 && inf.needsInput()) {
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		current = null;
+		if (inflater != null) {
+			inflater.end();
+			inflater = null;
+		}
+		super.handlerRemoved(ctx);
+	}
+
+}
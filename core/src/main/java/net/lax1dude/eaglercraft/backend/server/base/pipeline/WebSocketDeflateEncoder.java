@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.pipeline;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionEncoder;
+
+/**
+ * Compresses unfragmented text and binary frames, fragmented messages and
+ * frames smaller than the threshold are sent uncompressed
+ */
+public class WebSocketDeflateEncoder extends WebSocketExtensionEncoder {
+
+	private final WebSocketDeflateExtensionHandshaker handshaker;
+	private final int compressionLevel;
+	private final boolean noContext;
+	private final int compressionThreshold;
+	private Deflater deflater;
+
+	public WebSocketDeflateEncoder(WebSocketDeflateExtensionHandshaker handshaker, int compressionLevel,
+			boolean noContext, int compressionThreshold) {
+		this.handshaker = handshaker;
+		this.compressionLevel = compressionLevel;
+		this.noContext = noContext;
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	@Override
+	public boolean acceptOutboundMessage(Object msg) throws Exception {
+		return (msg instanceof BinaryWebSocketFrame || msg instanceof TextWebSocketFrame)
+				&& ((WebSocketFrame) msg).isFinalFragment()
+				&& (((WebSocketFrame) msg).rsv() & WebSocketExtension.RSV1) == 0;
+	}
+
+	@Override
+	protected void encode(ChannelHandlerContext ctx, WebSocketFrame msg, List<Object> out) throws Exception {
+		ByteBuf content = msg.content();
+		int len = content.readableBytes();
+		if (len < compressionThreshold || len == 0) {
+			out.add(msg.retain());
+			return;
+		}
+		Deflater def;
+		if (noContext) {
+			def = handshaker.sharedDeflater.get();
+			def.reset();
+		} else {
+			def = deflater;
+			if (def == null) {
+				deflater = def = new Deflater(compressionLevel, true);
+			}
+		}
+		if (content.nioBufferCount() == 1) {
+			def.setInput(content.nioBuffer());
+		} else {
+			byte[] arr = new byte[len];
+			content.getBytes(content.readerIndex(), arr);
+			def.setInput(arr);
+		}
+		ByteBuf compressed = WebSocketEaglerFrameEncoder.allocateFrameBuffer(ctx.alloc(), -1);
+		try {
+			int avail, written;
+			do {
+				compressed.ensureWritable(Math.max(len >> 1, 64));
+				avail = compressed.writableBytes();
+				ByteBuffer dst = compressed.nioBuffer(compressed.writerIndex(), avail);
+				written = def.deflate(dst, Deflater.SYNC_FLUSH);
+				compressed.writerIndex(compressed.writerIndex() + written);
+			} while (written == avail);
+			// Strip the 0x00 0x00 0xFF 0xFF tail of the sync flush
+			int compressedLen = compressed.readableBytes() - 4;
+			if (noContext && compressedLen >= len) {
+				compressed.release();
+				out.add(msg.retain());
+				return;
+			}
+			compressed.writerIndex(compressed.writerIndex() - 4);
+			int rsv = msg.rsv() | WebSocketExtension.RSV1;
+			if (msg instanceof TextWebSocketFrame) {
+				out.add(new TextWebSocketFrame(true, rsv, compressed));
+			} else {
+				out.add(new BinaryWebSocketFrame(true, rsv, compressed));
+			}
+			compressed = null;
+		} finally {
+			if (compressed != null) {
+				compressed.release();
+			}
+		}
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		if (deflater != null) {
+			deflater.end();
+			deflater = null;
+		}
+		super.handlerRemoved(ctx);
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.pipeline;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionDecoder;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionEncoder;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandshaker;
+import io.netty.util.concurrent.FastThreadLocal;
+
+/**
+ * permessage-deflate (RFC 7692) handshaker, when a side negotiates no context
+ * takeover its zlib stream is reset for every message, so a single deflater or
+ * inflater per event loop thread is shared by all connections on that thread
+ * instead of allocating one for every connection
+ */
+public class WebSocketDeflateExtensionHandshaker implements WebSocketServerExtensionHandshaker {
+
+	public static final String PERMESSAGE_DEFLATE_EXTENSION = "permessage-deflate";
+	public static final String CLIENT_MAX_WINDOW = "client_max_window_bits";
+	public static final String SERVER_MAX_WINDOW = "server_max_window_bits";
+	public static final String CLIENT_NO_CONTEXT = "client_no_context_takeover";
+	public static final String SERVER_NO_CONTEXT = "server_no_context_takeover";
+
+	public static final int MIN_WINDOW_SIZE = 8;
+	public static final int MAX_WINDOW_SIZE = 15;
+
+	// Rough size of the native zlib state, see deflate.c and inflate.c
+	public static final int DEFLATE_CONTEXT_SIZE = (1 << (MAX_WINDOW_SIZE + 2)) + (1 << (8 + 9)) + 5828;
+	public static final int INFLATE_CONTEXT_SIZE = (1 << MAX_WINDOW_SIZE) + 7160;
+
+	private final int compressionLevel;
+	private final int preferredClientWindowSize;
+	private final boolean serverNoContext;
+	private final boolean preferredClientNoContext;
+	private final int compressionThreshold;
+	private final int maxFrameLength;
+
+	final FastThreadLocal<Deflater> sharedDeflater = new FastThreadLocal<Deflater>() {
+		@Override
+		protected Deflater initialValue() {
+			return new Deflater(compressionLevel, true);
+		}
+
+		@Override
+		protected void onRemoval(Deflater value) {
+			value.end();
+		}
+	};
+
+	final FastThreadLocal<Inflater> sharedInflater = new FastThreadLocal<Inflater>() {
+		@Override
+		protected Inflater initialValue() {
+			return new Inflater(true);
+		}
+
+		@Override
+		protected void onRemoval(Inflater value) {
+			value.end();
+		}
+	};
+
+	public WebSocketDeflateExtensionHandshaker(int compressionLevel, int preferredClientWindowSize,
+			boolean serverNoContext, boolean preferredClientNoContext, int compressionThreshold, int maxFrameLength) {
+		if (preferredClientWindowSize < MIN_WINDOW_SIZE || preferredClientWindowSize > MAX_WINDOW_SIZE) {
+			throw new IllegalArgumentException("Invalid client window size: " + preferredClientWindowSize);
+		}
+		this.compressionLevel = compressionLevel;
+		this.preferredClientWindowSize = preferredClientWindowSize;
+		this.serverNoContext = serverNoContext;
+		this.preferredClientNoContext = preferredClientNoContext;
+		this.compressionThreshold = compressionThreshold;
+		this.maxFrameLength = maxFrameLength;
+	}
+
+	/**
+	 * Estimated native memory used by the compression contexts of each
+	 * connection, excluding the shared per-thread contexts
+	 */
+	public int getNativeMemoryPerConnection() {
+		return (serverNoContext ? 0 : DEFLATE_CONTEXT_SIZE) + (preferredClientNoContext ? 0 : INFLATE_CONTEXT_SIZE);
+	}
+
+	/**
+	 * Estimated native memory used by the shared contexts of each event loop
+	 * thread, if any
+	 */
+	public int getNativeMemoryPerThread() {
+		return (serverNoContext ? DEFLATE_CONTEXT_SIZE : 0) + (preferredClientNoContext ? INFLATE_CONTEXT_SIZE : 0);
+	}
+
+	@Override
+	public WebSocketServerExtension handshakeExtension(WebSocketExtensionData extensionData) {
+		if (!PERMESSAGE_DEFLATE_EXTENSION.equals(extensionData.name())) {
+			return null;
+		}
+		boolean clientWindowOffered = false;
+		int clientWindowSize = MAX_WINDOW_SIZE;
+		boolean serverNoContextTakeover = serverNoContext;
+		for (Map.Entry<String, String> etr : extensionData.parameters().entrySet()) {
+			String key = etr.getKey();
+			if (CLIENT_MAX_WINDOW.equalsIgnoreCase(key)) {
+				clientWindowOffered = true;
+				clientWindowSize = preferredClientWindowSize;
+				String value = etr.getValue();
+				if (value != null) {
+					try {
+						clientWindowSize = Math.min(clientWindowSize, Integer.parseInt(value));
+					} catch (NumberFormatException ex) {
+						return null;
+					}
+					if (clientWindowSize < MIN_WINDOW_SIZE) {
+						return null;
+					}
+				}
+			} else if (SERVER_MAX_WINDOW.equalsIgnoreCase(key)) {
+				// java.util.zip always compresses with a 15 bit window
+				String value = etr.getValue();
+				if (value == null || !Integer.toString(MAX_WINDOW_SIZE).equals(value.trim())) {
+					return null;
+				}
+			} else if (CLIENT_NO_CONTEXT.equalsIgnoreCase(key)) {
+				// Always accepted, see below
+			} else if (SERVER_NO_CONTEXT.equalsIgnoreCase(key)) {
+				serverNoContextTakeover = true;
+			} else {
+				return null;
+			}
+		}
+		return new DeflateExtension(serverNoContextTakeover, preferredClientNoContext, clientWindowOffered,
+				clientWindowSize);
+	}
+
+	private class DeflateExtension implements WebSocketServerExtension {
+
+		private final boolean serverNoContextTakeover;
+		private final boolean clientNoContextTakeover;
+		private final boolean clientWindowOffered;
+		private final int clientWindowSize;
+
+		private DeflateExtension(boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+				boolean clientWindowOffered, int clientWindowSize) {
+			this.serverNoContextTakeover = serverNoContextTakeover;
+			this.clientNoContextTakeover = clientNoContextTakeover;
+			this.clientWindowOffered = clientWindowOffered;
+			this.clientWindowSize = clientWindowSize;
+		}
+
+		@Override
+		public int rsv() {
+			return RSV1;
+		}
+
+		@Override
+		public WebSocketExtensionEncoder newExtensionEncoder() {
+			return new WebSocketDeflateEncoder(WebSocketDeflateExtensionHandshaker.this, compressionLevel,
+					serverNoContextTakeover, compressionThreshold);
+		}
+
+		@Override
+		public WebSocketExtensionDecoder newExtensionDecoder() {
+			return new WebSocketDeflateDecoder(WebSocketDeflateExtensionHandshaker.this, clientNoContextTakeover,
+					maxFrameLength);
+		}
+
+		@Override
+		public WebSocketExtensionData newReponseData() {
+			Map<String, String> parameters = new HashMap<>(4);
+			if (serverNoContextTakeover) {
+				parameters.put(SERVER_NO_CONTEXT, null);
+			}
+			if (clientNoContextTakeover) {
+				parameters.put(CLIENT_NO_CONTEXT, null);
+			}
+			if (clientWindowOffered && clientWindowSize != MAX_WINDOW_SIZE) {
+				parameters.put(CLIENT_MAX_WINDOW, Integer.toString(clientWindowSize));
+			}
+			return new WebSocketExtensionData(PERMESSAGE_DEFLATE_EXTENSION, parameters);
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.pipeline;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocket13FrameEncoder;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+
+/**
+ * Server side WebSocket frame encoder that writes the header of binary frames
+ * directly in front of the payload when the payload buffer has room for it,
+ * so the frame is written to the socket as a single buffer without copying
+ */
+public class WebSocketEaglerFrameEncoder extends WebSocket13FrameEncoder {
+
+	public static final int MAX_HEADER_SIZE = 10;
+
+	public WebSocketEaglerFrameEncoder() {
+		super(false);
+	}
+
+	public static int getHeaderSize(int payloadLength) {
+		if (payloadLength <= 125) {
+			return 2;
+		} else if (payloadLength <= 0xFFFF) {
+			return 4;
+		} else {
+			return 10;
+		}
+	}
+
+	/**
+	 * Allocates a buffer with space reserved in front of the reader index for
+	 * the frame header, pass -1 if the payload length is not known in advance
+	 */
+	public static ByteBuf allocateFrameBuffer(ByteBufAllocator alloc, int payloadLength) {
+		ByteBuf ret;
+		int hdr;
+		if (payloadLength >= 0) {
+			hdr = getHeaderSize(payloadLength);
+			ret = alloc.buffer(hdr + payloadLength, hdr + payloadLength);
+		} else {
+			hdr = MAX_HEADER_SIZE;
+			ret = alloc.buffer();
+		}
+		ret.writerIndex(hdr);
+		ret.readerIndex(hdr);
+		return ret;
+	}
+
+	@Override
+	protected void encode(ChannelHandlerContext ctx, WebSocketFrame msg, List<Object> out) throws Exception {
+		if (msg instanceof BinaryWebSocketFrame) {
+			ByteBuf data = msg.content();
+			int len = data.readableBytes();
+			int hdr = getHeaderSize(len);
+			int start = data.readerIndex() - hdr;
+			// Only buffers nothing else can see, the bytes before the reader index are already consumed
+			if (start >= 0 && data.refCnt() == 1 && data.unwrap() == null && !data.isReadOnly()
+					&& !(data instanceof CompositeByteBuf)) {
+				int b0 = (msg.isFinalFragment() ? 0x80 : 0) | ((msg.rsv() & 7) << 4) | 0x02;
+				data.setByte(start, b0);
+				if (hdr == 2) {
+					data.setByte(start + 1, len);
+				} else if (hdr == 4) {
+					data.setByte(start + 1, 126);
+					data.setShort(start + 2, len);
+				} else {
+					data.setByte(start + 1, 127);
+					data.setLong(start + 2, len);
+				}
+				data.readerIndex(start);
+				out.add(data.retain());
+				return;
+			}
+		}
+		super.encode(ctx, msg, out);
+	}
+
+}
@@ -59,6 +59,7 @@ public class WebSocketInitialHandler extends ChannelInboundHandlerAdapter {
 				pipeline.fireUserEventTriggered(EnumPipelineEvent.EAGLER_STATE_WEBSOCKET_PLAYER);
 				pipeline.replace(PipelineTransformer.HANDLER_WS_INITIAL, PipelineTransformer.HANDLER_FRAME_CODEC,
 						WebSocketEaglerFrameCodec.INSTANCE);
+				pipelineData.server.getPipelineTransformer().initializeFlushConsolidation(pipelineData, pipeline);
 				pipeline.fireUserEventTriggered(EnumPipelineEvent.EAGLER_INJECTED_FRAME_HANDLERS);
 				ctx.fireChannelRead(msg2.content().retain());
 			} else if (msg instanceof TextWebSocketFrame msg2) {
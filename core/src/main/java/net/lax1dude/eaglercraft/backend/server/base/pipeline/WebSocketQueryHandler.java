@@ -435,6 +435,20 @@ public class WebSocketQueryHandler extends ChannelInboundHandlerAdapter
 		}
 	}
 
+	public String createResponseJSON(String type, JsonObject jsonObject) {
+		return server.getQueryServer().createJsonObjectResponse(type, jsonObject).toString();
+	}
+
+	/**
+	 * Sends pre-encoded UTF-8 JSON as a text frame, the buffer is not released
+	 */
+	public void sendResponseFrame(ByteBuf content) {
+		if (aquireSend()) {
+			pipelineData.channel.eventLoop().execute(() -> pipelineData.channel
+					.writeAndFlush(new TextWebSocketFrame(content)).addListener(writeListener));
+		}
+	}
+
 	@Override
 	public NettyUnsafe netty() {
 		return this;
@@ -26,6 +26,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 
+import io.netty.buffer.ByteBuf;
 import net.lax1dude.eaglercraft.backend.server.api.EnumWebSocketHeader;
 import net.lax1dude.eaglercraft.backend.server.api.IEaglerListenerInfo;
 import net.lax1dude.eaglercraft.backend.server.api.IEaglerPlayer;
@@ -126,61 +127,81 @@ public class MOTDConnectionWrapper extends IIdentifiedConnection.Base implements
 	@Override
 	public void sendToUser() {
 		if (queryConnection.isConnected()) {
-			JsonObject obj = new JsonObject();
+			int shape;
 			if (subType != null && subType.startsWith("cache.anim")) {
-				obj.addProperty("unsupported", true);
-				queryConnection.sendResponse(returnType, obj);
-				return;
+				shape = MOTDSnapshotCache.SHAPE_CACHE_ANIM;
 			} else if (subType != null && subType.startsWith("cache")) {
-				JsonArray cacheControl = new JsonArray();
-				ConfigDataListener cc = queryConnection.getListenerInfo().getConfigData();
-				if (cc.isMotdCacheAnimation()) {
-					cacheControl.add(new JsonPrimitive("animation"));
-				}
-				if (cc.isMotdCacheResults()) {
-					cacheControl.add(new JsonPrimitive("results"));
-				}
-				if (cc.isMotdCacheTrending()) {
-					cacheControl.add(new JsonPrimitive("trending"));
-				}
-				if (cc.isMotdCachePortfolios()) {
-					cacheControl.add(new JsonPrimitive("portfolio"));
-				}
-				obj.add("cache", cacheControl);
-				obj.addProperty("ttl", cc.getMotdCacheTTL());
+				shape = MOTDSnapshotCache.SHAPE_CACHE;
 			} else {
-				obj.addProperty("cache", queryConnection.getListenerInfo().getConfigData().isMotdCacheAny());
+				shape = MOTDSnapshotCache.SHAPE_DEFAULT;
 			}
 			boolean noIcon = subType != null && (subType.startsWith("noicon") || subType.startsWith("cache.noicon"));
-			JsonArray motd = new JsonArray();
-			for (int i = 0; i < 2; ++i) {
-				if (i >= this.motd.size())
-					break;
-				motd.add(new JsonPrimitive(this.motd.get(i)));
+			boolean showIcon = hasIcon && !noIcon;
+			MOTDSnapshotCache snapshots = queryConnection.getListenerInfo().getMOTDSnapshotCache();
+			ByteBuf frame = snapshots.get(shape, noIcon, returnType, motd, showIcon, playerTotal, playerMax,
+					playerList);
+			if (frame == null) {
+				String json = queryConnection.createResponseJSON(returnType, createResponse(shape, showIcon));
+				frame = snapshots.put(shape, noIcon, returnType, motd, showIcon, playerTotal, playerMax, playerList,
+						json);
 			}
-			obj.add("motd", motd);
-			obj.addProperty("icon", hasIcon && !noIcon);
-			obj.addProperty("online", playerTotal);
-			obj.addProperty("max", playerMax);
-			int i = playerList.size();
-			JsonArray playerz;
-			if (i > 0) {
-				playerz = new JsonArray();
-				for (String s : playerList) {
-					playerz.add(new JsonPrimitive(s));
-				}
-			} else {
-				playerz = EMPTY_LIST;
-			}
-			obj.add("players", playerz);
-			queryConnection.sendResponse(returnType, obj);
-			if (hasIcon && !noIcon && iconDirty && icon != null) {
+			queryConnection.sendResponseFrame(frame);
+			if (shape != MOTDSnapshotCache.SHAPE_CACHE_ANIM && showIcon && iconDirty && icon != null) {
 				queryConnection.send(icon);
 				iconDirty = false;
 			}
 		}
 	}
 
+	private JsonObject createResponse(int shape, boolean showIcon) {
+		JsonObject obj = new JsonObject();
+		if (shape == MOTDSnapshotCache.SHAPE_CACHE_ANIM) {
+			obj.addProperty("unsupported", true);
+			return obj;
+		} else if (shape == MOTDSnapshotCache.SHAPE_CACHE) {
+			JsonArray cacheControl = new JsonArray();
+			ConfigDataListener cc = queryConnection.getListenerInfo().getConfigData();
+			if (cc.isMotdCacheAnimation()) {
+				cacheControl.add(new JsonPrimitive("animation"));
+			}
+			if (cc.isMotdCacheResults()) {
+				cacheControl.add(new JsonPrimitive("results"));
+			}
+			if (cc.isMotdCacheTrending()) {
+				cacheControl.add(new JsonPrimitive("trending"));
+			}
+			if (cc.isMotdCachePortfolios()) {
+				cacheControl.add(new JsonPrimitive("portfolio"));
+			}
+			obj.add("cache", cacheControl);
+			obj.addProperty("ttl", cc.getMotdCacheTTL());
+		} else {
+			obj.addProperty("cache", queryConnection.getListenerInfo().getConfigData().isMotdCacheAny());
+		}
+		JsonArray motd = new JsonArray();
+		for (int i = 0; i < 2; ++i) {
+			if (i >= this.motd.size())
+				break;
+			motd.add(new JsonPrimitive(this.motd.get(i)));
+		}
+		obj.add("motd", motd);
+		obj.addProperty("icon", showIcon);
+		obj.addProperty("online", playerTotal);
+		obj.addProperty("max", playerMax);
+		int i = playerList.size();
+		JsonArray playerz;
+		if (i > 0) {
+			playerz = new JsonArray();
+			for (String s : playerList) {
+				playerz.add(new JsonPrimitive(s));
+			}
+		} else {
+			playerz = EMPTY_LIST;
+		}
+		obj.add("players", playerz);
+		return obj;
+	}
+
 	@Override
 	public <T> T get(IAttributeKey<T> key) {
 		return queryConnection.get(key);
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.query;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.lax1dude.eaglercraft.backend.server.util.Util;
+
+/**
+ * Holds the last encoded MOTD response of a listener for each response shape,
+ * so bursts of server list pings that would all render the same JSON only
+ * serialize it once. A snapshot is only reused while everything it was
+ * rendered from is unchanged, and never for longer than MAX_AGE because the
+ * response carries a timestamp.
+ */
+public class MOTDSnapshotCache {
+
+	public static final long MAX_AGE = 1000l;
+
+	public static final int SHAPE_DEFAULT = 0;
+	public static final int SHAPE_CACHE = 1;
+	public static final int SHAPE_CACHE_ANIM = 2;
+
+	private static final VarHandle SNAPSHOTS_HANDLE = MethodHandles.arrayElementVarHandle(Snapshot[].class);
+
+	private static class Snapshot {
+
+		protected final String returnType;
+		protected final List<String> motd;
+		protected final boolean icon;
+		protected final int online;
+		protected final int max;
+		protected final List<String> players;
+		protected final long createdAt;
+		protected final ByteBuf frame;
+
+		protected Snapshot(String returnType, List<String> motd, boolean icon, int online, int max,
+				List<String> players, long createdAt, ByteBuf frame) {
+			this.returnType = returnType;
+			this.motd = motd;
+			this.icon = icon;
+			this.online = online;
+			this.max = max;
+			this.players = players;
+			this.createdAt = createdAt;
+			this.frame = frame;
+		}
+
+		protected boolean matches(String returnType, List<String> motd, boolean icon, int online, int max,
+				List<String> players, long now) {
+			return now - createdAt < MAX_AGE && this.icon == icon && this.online == online && this.max == max
+					&& this.returnType.equals(returnType) && this.motd.equals(motd) && this.players.equals(players);
+		}
+
+	}
+
+	private final Snapshot[] snapshots = new Snapshot[6];
+
+	private static int slot(int shape, boolean noIcon) {
+		return (shape << 1) | (noIcon ? 1 : 0);
+	}
+
+	/**
+	 * Returns a duplicate of the cached frame content, or null if the snapshot
+	 * is missing or stale
+	 */
+	public ByteBuf get(int shape, boolean noIcon, String returnType, List<String> motd, boolean icon, int online,
+			int max, List<String> players) {
+		Snapshot snapshot = (Snapshot) SNAPSHOTS_HANDLE.getAcquire(snapshots, slot(shape, noIcon));
+		if (snapshot != null && snapshot.matches(returnType, motd, icon, online, max, players, Util.steadyTime())) {
+			return snapshot.frame.duplicate();
+		}
+		return null;
+	}
+
+	public ByteBuf put(int shape, boolean noIcon, String returnType, List<String> motd, boolean icon, int online,
+			int max, List<String> players, String json) {
+		ByteBuf frame = Unpooled.unreleasableBuffer(
+				Unpooled.wrappedBuffer(json.getBytes(StandardCharsets.UTF_8)).asReadOnly());
+		SNAPSHOTS_HANDLE.setRelease(snapshots, slot(shape, noIcon), new Snapshot(returnType, new ArrayList<>(motd),
+				icon, online, max, new ArrayList<>(players), Util.steadyTime(), frame));
+		return frame.duplicate();
+	}
+
+}
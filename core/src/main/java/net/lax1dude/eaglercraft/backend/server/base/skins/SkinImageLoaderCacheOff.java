@@ -20,6 +20,7 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.UUID;
 
 import net.lax1dude.eaglercraft.backend.server.api.skins.EnumPresetCapes;
@@ -78,22 +79,25 @@ class SkinImageLoaderCacheOff implements ISkinImageLoader {
 
 	@Override
 	public IEaglerPlayerSkin loadSkinImageData_ABGR8_64x64(byte[] pixelsRGBA8, EnumSkinModel modelId) {
-		return SkinImageLoaderImpl.loadSkinImageData64x64(pixelsRGBA8, modelId.getId());
+		return SkinImageLoaderImpl.loadSkinImageData64x64(Arrays.copyOf(pixelsRGBA8, pixelsRGBA8.length),
+				modelId.getId());
 	}
 
 	@Override
 	public IEaglerPlayerSkin loadSkinImageData_ABGR8_64x64(byte[] pixelsRGBA8, int modelIdRaw) {
-		return SkinImageLoaderImpl.loadSkinImageData64x64(pixelsRGBA8, modelIdRaw);
+		return SkinImageLoaderImpl.loadSkinImageData64x64(Arrays.copyOf(pixelsRGBA8, pixelsRGBA8.length), modelIdRaw);
 	}
 
 	@Override
 	public IEaglerPlayerSkin loadSkinImageData_eagler(byte[] pixelsEagler, EnumSkinModel modelId) {
-		return SkinImageLoaderImpl.loadSkinImageData64x64Eagler(pixelsEagler, modelId.getId());
+		return SkinImageLoaderImpl.loadSkinImageData64x64Eagler(Arrays.copyOf(pixelsEagler, pixelsEagler.length),
+				modelId.getId());
 	}
 
 	@Override
 	public IEaglerPlayerSkin loadSkinImageData_eagler(byte[] pixelsEagler, int modelIdRaw) {
-		return SkinImageLoaderImpl.loadSkinImageData64x64Eagler(pixelsEagler, modelIdRaw);
+		return SkinImageLoaderImpl.loadSkinImageData64x64Eagler(Arrays.copyOf(pixelsEagler, pixelsEagler.length),
+				modelIdRaw);
 	}
 
 	@Override
@@ -163,7 +167,7 @@ class SkinImageLoaderCacheOff implements ISkinImageLoader {
 
 	@Override
 	public IEaglerPlayerCape loadCapeImageData_eagler(byte[] pixelsEagler) {
-		return SkinImageLoaderImpl.loadCapeImageData23x17Eagler(pixelsEagler);
+		return SkinImageLoaderImpl.loadCapeImageData23x17Eagler(Arrays.copyOf(pixelsEagler, pixelsEagler.length));
 	}
 
 	@Override
@@ -29,7 +29,7 @@ public class CustomCapeGeneric extends BaseCustomCape {
 	private final byte[] textureData;
 
 	public CustomCapeGeneric(byte[] textureData) {
-		this.textureData = textureData;
+		this.textureData = InternUtils.internTexture(textureData);
 	}
 
 	@Override
@@ -29,7 +29,7 @@ public class CustomCapePlayer extends BaseCustomCape {
 	private final SPacketOtherCapeCustomEAG packet;
 
 	public CustomCapePlayer(long uuidMost, long uuidLeast, byte[] textureData) {
-		packet = new SPacketOtherCapeCustomEAG(uuidMost, uuidLeast, textureData);
+		packet = new SPacketOtherCapeCustomEAG(uuidMost, uuidLeast, InternUtils.internTexture(textureData));
 	}
 
 	public CustomCapePlayer(SPacketOtherCapeCustomEAG pkt) {
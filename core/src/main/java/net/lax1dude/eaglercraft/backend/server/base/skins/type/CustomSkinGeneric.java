@@ -40,11 +40,11 @@ public class CustomSkinGeneric extends BaseCustomSkin implements IModelRewritabl
 	}
 
 	public static CustomSkinGeneric createV3(int modelId, byte[] textureDataV3) {
-		return new CustomSkinGeneric(modelId, textureDataV3, null);
+		return new CustomSkinGeneric(modelId, InternUtils.internTexture(textureDataV3), null);
 	}
 
 	public static CustomSkinGeneric createV4(int modelId, byte[] textureDataV4) {
-		return new CustomSkinGeneric(modelId, null, textureDataV4);
+		return new CustomSkinGeneric(modelId, null, InternUtils.internTexture(textureDataV4));
 	}
 
 	@Override
@@ -165,7 +165,7 @@ public class CustomSkinGeneric extends BaseCustomSkin implements IModelRewritabl
 		if (textureDataV3 != null) {
 			return textureDataV3;
 		} else {
-			return textureDataV3 = SkinPacketVersionCache.convertToV3Raw(textureDataV4);
+			return textureDataV3 = InternUtils.internTexture(SkinPacketVersionCache.convertToV3Raw(textureDataV4));
 		}
 	}
 
@@ -174,7 +174,7 @@ public class CustomSkinGeneric extends BaseCustomSkin implements IModelRewritabl
 		if (textureDataV4 != null) {
 			return textureDataV4;
 		} else {
-			return textureDataV4 = SkinPacketVersionCache.convertToV4Raw(textureDataV3);
+			return textureDataV4 = InternUtils.internTexture(SkinPacketVersionCache.convertToV4Raw(textureDataV3));
 		}
 	}
 
@@ -38,11 +38,13 @@ public class CustomSkinPlayer extends BaseCustomSkin implements IModelRewritable
 	}
 
 	public static CustomSkinPlayer createV3(long uuidMost, long uuidLeast, int modelId, byte[] textureDataV3) {
-		return new CustomSkinPlayer(new SPacketOtherSkinCustomV3EAG(uuidMost, uuidLeast, modelId, textureDataV3), null);
+		return new CustomSkinPlayer(new SPacketOtherSkinCustomV3EAG(uuidMost, uuidLeast, modelId,
+				InternUtils.internTexture(textureDataV3)), null);
 	}
 
 	public static CustomSkinPlayer createV4(long uuidMost, long uuidLeast, int modelId, byte[] textureDataV4) {
-		return new CustomSkinPlayer(null, new SPacketOtherSkinCustomV4EAG(uuidMost, uuidLeast, modelId, textureDataV4));
+		return new CustomSkinPlayer(null, new SPacketOtherSkinCustomV4EAG(uuidMost, uuidLeast, modelId,
+				InternUtils.internTexture(textureDataV4)));
 	}
 
 	@Override
@@ -19,6 +19,8 @@ package net.lax1dude.eaglercraft.backend.server.base.skins.type;
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
 
+import net.lax1dude.eaglercraft.backend.util.TextureInterner;
+
 public class InternUtils {
 
 	private static final int POOL_SIZE = 32;
@@ -51,4 +53,8 @@ public class InternUtils {
 		}
 	}
 
+	public static byte[] internTexture(byte[] textureData) {
+		return TextureInterner.intern(textureData);
+	}
+
 }
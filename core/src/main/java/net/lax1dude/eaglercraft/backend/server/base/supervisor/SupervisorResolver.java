@@ -31,6 +31,7 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.MapMaker;
 
+import io.netty.util.Timeout;
 import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
 import net.lax1dude.eaglercraft.backend.server.api.brand.IBrandRegistration;
 import net.lax1dude.eaglercraft.backend.server.api.collect.IntProcedure;
@@ -320,6 +321,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		private final UUID requestUUID;
 		private final long expiresAt;
 		private final Consumer<IEaglerPlayerSkin> consumer;
+		private volatile Timeout expiryTask;
 
 		protected PendingSkinLookup(UUID requestUUID, long expiresAt, Consumer<IEaglerPlayerSkin> consumer) {
 			this.requestUUID = requestUUID;
@@ -343,13 +345,20 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 			}
 		}
 
+		void cancelExpiry() {
+			Timeout t = expiryTask;
+			if (t != null) {
+				t.cancel();
+			}
+		}
+
 	}
 
 	void addWaitingForeignURLSkinLookup(UUID requestUUID, Consumer<IEaglerPlayerSkin> callback) {
 		long now = System.nanoTime();
 		PendingSkinLookup lookup = new PendingSkinLookup(requestUUID, now + FOREIGN_LOOKUP_TIMEOUT, callback);
 		pendingSkinLookups.put(requestUUID, lookup);
-		service.timeoutLoop().addFuture(now, lookup);
+		lookup.expiryTask = service.timeoutLoop().addFuture(now, lookup);
 	}
 
 	private class PendingCapeLookup implements ISupervisorExpiring {
@@ -357,6 +366,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		private final UUID requestUUID;
 		private final long expiresAt;
 		private final Consumer<IEaglerPlayerCape> consumer;
+		private volatile Timeout expiryTask;
 
 		protected PendingCapeLookup(UUID requestUUID, long expiresAt, Consumer<IEaglerPlayerCape> consumer) {
 			this.requestUUID = requestUUID;
@@ -380,18 +390,26 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 			}
 		}
 
+		void cancelExpiry() {
+			Timeout t = expiryTask;
+			if (t != null) {
+				t.cancel();
+			}
+		}
+
 	}
 
 	void addWaitingForeignURLCapeLookup(UUID requestUUID, Consumer<IEaglerPlayerCape> callback) {
 		long now = System.nanoTime();
 		PendingCapeLookup lookup = new PendingCapeLookup(requestUUID, now + FOREIGN_LOOKUP_TIMEOUT, callback);
 		pendingCapeLookups.put(requestUUID, lookup);
-		service.timeoutLoop().addFuture(now, lookup);
+		lookup.expiryTask = service.timeoutLoop().addFuture(now, lookup);
 	}
 
 	public boolean onForeignSkinReceived(UUID requestUUID, IEaglerPlayerSkin skin) {
 		PendingSkinLookup lookup = pendingSkinLookups.remove(requestUUID);
 		if (lookup != null) {
+			lookup.cancelExpiry();
 			try {
 				lookup.consumer.accept(skin);
 			} catch (Exception ex) {
@@ -405,6 +423,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 	public boolean onForeignCapeReceived(UUID requestUUID, IEaglerPlayerCape cape) {
 		PendingCapeLookup lookup = pendingCapeLookups.remove(requestUUID);
 		if (lookup != null) {
+			lookup.cancelExpiry();
 			try {
 				lookup.consumer.accept(cape);
 			} catch (Exception ex) {
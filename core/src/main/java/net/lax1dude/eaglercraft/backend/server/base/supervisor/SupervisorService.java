@@ -187,7 +187,7 @@ public class SupervisorService<PlayerObject>
 			timeoutHandshakeTask.cancel();
 			timeoutHandshakeTask = null;
 		}
-		timeoutLoop.cancelAll();
+		timeoutLoop.shutdown();
 		server.getPlatform().setPlayerCountHandler(null);
 	}
 
@@ -16,95 +16,123 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.supervisor;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ConcurrentMap;
-import java.util.function.BiFunction;
-
-import com.google.common.collect.MapMaker;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformScheduler;
 
+/**
+ * Pending requests are placed on a hashed timing wheel ticked by a single
+ * thread, cancel the returned timeout when a request completes so it is never
+ * visited again. Expiry itself is handed off to the platform's async scheduler.
+ * 
+ * The wheel lives as long as the service, cancelAll only drops the entries
+ * currently scheduled and the ticker thread is stopped by shutdown.
+ */
 public class SupervisorTimeoutLoop {
 
-	private class TimeoutEvent implements Runnable {
+	private final IPlatformScheduler scheduler;
+	private final HashedWheelTimer timer;
+	private final Set<Entry> pending = ConcurrentHashMap.newKeySet();
 
-		protected final Long key;
+	private class Entry implements TimerTask, Timeout {
 
-		// The timeoutEvents ConcurrentMap compute method will synchronize this
-		protected final List<ISupervisorExpiring> queue = new ArrayList<>();
+		private final ISupervisorExpiring future;
+		private volatile Timeout handle;
 
-		protected TimeoutEvent(Long key) {
-			this.key = key;
+		private Entry(ISupervisorExpiring future) {
+			this.future = future;
 		}
 
 		@Override
-		public void run() {
-			if (timeoutEvents.remove(key) != null) {
-				for (int i = 0, l = queue.size(); i < l; ++i) {
-					queue.get(i).expire();
-				}
+		public void run(Timeout timeout) {
+			if (pending.remove(this)) {
+				scheduler.executeAsync(future::expire);
 			}
 		}
 
-	}
-
-	private final ConcurrentMap<Long, TimeoutEvent> timeoutEvents = (new MapMaker()).initialCapacity(256)
-			.concurrencyLevel(16).makeMap();
-
-	private final IPlatformScheduler scheduler;
-	private final long resolution;
-
-	public SupervisorTimeoutLoop(IPlatformScheduler scheduler, long resolution) {
-		this.scheduler = scheduler;
-		this.resolution = resolution;
-	}
+		@Override
+		public Timer timer() {
+			return timer;
+		}
 
-	private class Witness implements BiFunction<Long, TimeoutEvent, TimeoutEvent> {
+		@Override
+		public TimerTask task() {
+			return this;
+		}
 
-		protected final ISupervisorExpiring future;
-		protected boolean schedule = false;
+		@Override
+		public boolean isExpired() {
+			Timeout t = handle;
+			return t != null && t.isExpired();
+		}
 
-		protected Witness(ISupervisorExpiring future) {
-			this.future = future;
+		@Override
+		public boolean isCancelled() {
+			Timeout t = handle;
+			return t != null && t.isCancelled();
 		}
 
 		@Override
-		public TimeoutEvent apply(Long k, TimeoutEvent v) {
-			if (v != null) {
-				v.queue.add(future);
-				return v;
-			} else {
-				TimeoutEvent te = new TimeoutEvent(k);
-				te.queue.add(future);
-				schedule = true;
-				return te;
+		public boolean cancel() {
+			if (pending.remove(this)) {
+				Timeout t = handle;
+				return t == null || t.cancel();
 			}
+			return false;
 		}
 
 	}
 
-	public void addFuture(ISupervisorExpiring future) {
-		addFuture(System.nanoTime(), future);
+	public SupervisorTimeoutLoop(IPlatformScheduler scheduler, long resolution) {
+		this.scheduler = scheduler;
+		this.timer = new HashedWheelTimer(new DefaultThreadFactory("EaglerXServer Supervisor Timeout Loop", true),
+				resolution, TimeUnit.NANOSECONDS, 512);
+	}
+
+	public Timeout addFuture(ISupervisorExpiring future) {
+		return addFuture(System.nanoTime(), future);
 	}
 
-	public void addFuture(long now, ISupervisorExpiring future) {
+	public Timeout addFuture(long now, ISupervisorExpiring future) {
 		long expires = future.expiresAt();
 		if (now >= expires) {
 			future.expire();
-			return;
+			return null;
+		}
+		Entry entry = new Entry(future);
+		pending.add(entry);
+		Timeout timeout;
+		try {
+			timeout = timer.newTimeout(entry, expires - now, TimeUnit.NANOSECONDS);
+		} catch (IllegalStateException ex) {
+			// Timer was stopped by shutdown
+			pending.remove(entry);
+			return null;
 		}
-		long bucket = (expires + (resolution - 1)) / resolution;
-		Witness witness = new Witness(future);
-		TimeoutEvent te = timeoutEvents.compute(bucket, witness);
-		if (witness.schedule) {
-			long l = (bucket * resolution - now) / 1000000l;
-			scheduler.executeAsyncDelayed(te, l > 0l ? l : 0l);
+		entry.handle = timeout;
+		if (!pending.contains(entry)) {
+			// Raced with cancelAll
+			timeout.cancel();
 		}
+		return entry;
 	}
 
 	public void cancelAll() {
-		timeoutEvents.clear();
+		for (Entry entry : pending) {
+			entry.cancel();
+		}
+	}
+
+	public void shutdown() {
+		cancelAll();
+		timer.stop();
 	}
 
 }
@@ -19,12 +19,14 @@ package net.lax1dude.eaglercraft.backend.server.base.supervisor.rpc;
 import java.util.Set;
 import java.util.function.Consumer;
 
+import io.netty.util.Timeout;
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.ISupervisorExpiring;
 
 abstract class LocalTimeout<Out> implements Consumer<Out>, ISupervisorExpiring {
 
 	protected final Set<LocalTimeout<?>> set;
 	protected final long timeout;
+	volatile Timeout expiryTask;
 
 	protected LocalTimeout(Set<LocalTimeout<?>> set, long timeout) {
 		this.set = set;
@@ -50,6 +52,10 @@ abstract class LocalTimeout<Out> implements Consumer<Out>, ISupervisorExpiring {
 	@Override
 	public void accept(Out res) {
 		if (set.remove(this)) {
+			Timeout t = expiryTask;
+			if (t != null) {
+				t.cancel();
+			}
 			onResultComplete(res);
 		}
 	}
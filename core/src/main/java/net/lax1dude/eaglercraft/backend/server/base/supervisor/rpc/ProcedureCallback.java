@@ -21,6 +21,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.Timeout;
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.ISupervisorExpiring;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvRPCResultMulti;
 
@@ -29,6 +30,7 @@ abstract class ProcedureCallback implements ISupervisorExpiring {
 	final UUID key;
 	private ConcurrentMap<UUID, ProcedureCallback> map;
 	private final long expires;
+	volatile Timeout expiryTask;
 
 	ProcedureCallback(UUID key, ConcurrentMap<UUID, ProcedureCallback> map, long expires) {
 		this.key = key;
@@ -48,6 +50,13 @@ abstract class ProcedureCallback implements ISupervisorExpiring {
 		}
 	}
 
+	void cancelExpiry() {
+		Timeout t = expiryTask;
+		if (t != null) {
+			t.cancel();
+		}
+	}
+
 	protected abstract void onResultFail(int type);
 
 	protected abstract void onResultSuccess(ByteBuf dataBuffer);
@@ -565,12 +565,12 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 
 	private void addWaitingCallback(long now, ProcedureCallback callback) {
 		waitingProcedures.put(callback.key, callback);
-		service.timeoutLoop().addFuture(now, callback);
+		callback.expiryTask = service.timeoutLoop().addFuture(now, callback);
 	}
 
 	private <T extends Object> LocalTimeout<T> setLocalTimeout(long now, LocalTimeout<T> callback) {
 		waitingLocalTimeouts.add(callback);
-		service.timeoutLoop().addFuture(now, callback);
+		callback.expiryTask = service.timeoutLoop().addFuture(now, callback);
 		return callback;
 	}
 
@@ -640,6 +640,7 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 	public void onRPCResultSuccess(UUID uuid, ByteBuf dataBuffer) {
 		ProcedureCallback cb = waitingProcedures.remove(uuid);
 		if (cb != null) {
+			cb.cancelExpiry();
 			cb.onResultSuccess(dataBuffer);
 		} else {
 			service.logger().warn("Received success result for unknown/expired RPC " + uuid);
@@ -649,6 +650,7 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 	public void onRPCResultMulti(UUID uuid, Collection<SPacketSvRPCResultMulti.ResultEntry> list) {
 		ProcedureCallback cb = waitingProcedures.remove(uuid);
 		if (cb != null) {
+			cb.cancelExpiry();
 			cb.onResultMulti(list);
 		} else {
 			service.logger().warn("Received multi result for unknown/expired RPC " + uuid);
@@ -658,6 +660,7 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 	public void onRPCResultFail(UUID uuid, int type) {
 		ProcedureCallback cb = waitingProcedures.remove(uuid);
 		if (cb != null) {
+			cb.cancelExpiry();
 			cb.onResultFail(type);
 		} else {
 			service.logger().warn("Received failure result for unknown/expired RPC " + uuid);
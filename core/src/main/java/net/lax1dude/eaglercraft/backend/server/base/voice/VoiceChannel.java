@@ -16,6 +16,8 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.voice;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.UUID;
@@ -29,6 +31,7 @@ import net.lax1dude.eaglercraft.backend.server.api.voice.IVoiceChannel;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerPlayerInstance;
 import net.lax1dude.eaglercraft.backend.server.base.collect.ObjectArrayList;
 import net.lax1dude.eaglercraft.backend.server.base.collect.ObjectObjectHashMap;
+import net.lax1dude.eaglercraft.backend.server.base.message.BroadcastPacket;
 import net.lax1dude.eaglercraft.backend.server.util.Collectors3;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketVoiceSignalConnectAnnounceV4EAG;
@@ -42,14 +45,74 @@ import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketVoiceSign
 class VoiceChannel<PlayerObject> implements IVoiceChannel {
 
 	public static final long REQUEST_TIMEOUT = 2000l;
+	public static final long GLOBAL_LIST_DELAY = 100l;
 
 	final VoiceServiceLocal<PlayerObject> owner;
 	final ConcurrentMap<UUID, Context> connectedPlayers = new ConcurrentHashMap<>();
 
+	private volatile int globalListPending;
+
+	private static final VarHandle GLOBAL_LIST_PENDING_HANDLE;
+
+	static {
+		try {
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			GLOBAL_LIST_PENDING_HANDLE = l.findVarHandle(VoiceChannel.class, "globalListPending", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
 	VoiceChannel(VoiceServiceLocal<PlayerObject> owner) {
 		this.owner = owner;
 	}
 
+	private GameMessagePacket createGlobalList(Object[] allPlayers) {
+		int len = allPlayers.length;
+		SPacketVoiceSignalGlobalEAG.UserData[] userDatas = new SPacketVoiceSignalGlobalEAG.UserData[len];
+		for (int i = 0; i < len; ++i) {
+			Context ctx = (Context) allPlayers[i];
+			userDatas[i] = new SPacketVoiceSignalGlobalEAG.UserData(ctx.selfUUID.getMostSignificantBits(),
+					ctx.selfUUID.getLeastSignificantBits(), ctx.mgr.player.getUsername());
+		}
+		return new SPacketVoiceSignalGlobalEAG(Arrays.asList(userDatas));
+	}
+
+	/**
+	 * Joins and leaves that happen within GLOBAL_LIST_DELAY of each other are
+	 * coalesced into a single global list update for the whole channel
+	 */
+	void scheduleGlobalListUpdate() {
+		if ((int) GLOBAL_LIST_PENDING_HANDLE.compareAndExchange(this, 0, 1) == 0) {
+			owner.getEaglerXServer().getPlatform().getScheduler().executeAsyncDelayed(this::flushGlobalList,
+					GLOBAL_LIST_DELAY);
+		}
+	}
+
+	private void flushGlobalList() {
+		GLOBAL_LIST_PENDING_HANDLE.setVolatile(this, 0);
+		Object[] allPlayers = connectedPlayers.values().toArray();
+		int len = allPlayers.length;
+		if (len > 0) {
+			GameMessagePacket packetToBroadcast = new BroadcastPacket(createGlobalList(allPlayers));
+			for (int i = 0; i < len; ++i) {
+				((Context) allPlayers[i]).mgr.player.sendEaglerMessage(packetToBroadcast);
+			}
+			VoiceSignalStats stats = owner.getSignalStats();
+			if (stats != null) {
+				stats.recordSent(packetToBroadcast, len);
+			}
+		}
+	}
+
+	private void sendSignal(EaglerPlayerInstance<PlayerObject> player, GameMessagePacket packet) {
+		player.sendEaglerMessage(packet);
+		VoiceSignalStats stats = owner.getSignalStats();
+		if (stats != null) {
+			stats.recordSent(packet, 1);
+		}
+	}
+
 	void addToChannel(VoiceManagerLocal<PlayerObject> mgr) {
 		Context oldContext = mgr.xchgActiveChannel(null);
 		boolean connect = false;
@@ -120,17 +183,11 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 			}
 			Object[] allPlayers = connectedPlayers.values().toArray();
 			int len = allPlayers.length;
-			SPacketVoiceSignalGlobalEAG.UserData[] userDatas = new SPacketVoiceSignalGlobalEAG.UserData[len];
-			for (int i = 0; i < len; ++i) {
-				Context ctx = (Context) allPlayers[i];
-				userDatas[i] = new SPacketVoiceSignalGlobalEAG.UserData(ctx.selfUUID.getMostSignificantBits(),
-						ctx.selfUUID.getLeastSignificantBits(), ctx.mgr.player.getUsername());
-			}
-			GameMessagePacket packetToBroadcast = new SPacketVoiceSignalGlobalEAG(Arrays.asList(userDatas));
-			for (int i = 0; i < len; ++i) {
-				((Context) allPlayers[i]).mgr.player.sendEaglerMessage(packetToBroadcast);
-			}
 			EaglerPlayerInstance<PlayerObject> self = mgr.player;
+			// The joining player needs the list before the announcements below,
+			// everyone else gets it with the next coalesced update
+			sendSignal(self, createGlobalList(allPlayers));
+			scheduleGlobalListUpdate();
 			boolean selfV3 = self.getEaglerProtocol().ver <= 3;
 			GameMessagePacket v3p = null;
 			GameMessagePacket v4p = null;
@@ -139,22 +196,21 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 				if (ctx != this) {
 					EaglerPlayerInstance<PlayerObject> ctxPlayer = ctx.mgr.player;
 					if (ctxPlayer.getEaglerProtocol().ver <= 3) {
-						ctxPlayer.sendEaglerMessage(v3p == null
+						sendSignal(ctxPlayer, v3p == null
 								? (v3p = new SPacketVoiceSignalConnectV3EAG(selfUUID.getMostSignificantBits(),
 										selfUUID.getLeastSignificantBits(), true, false))
 								: v3p);
 					} else {
-						ctxPlayer
-								.sendEaglerMessage(v4p == null
-										? (v4p = new SPacketVoiceSignalConnectAnnounceV4EAG(
-												selfUUID.getMostSignificantBits(), selfUUID.getLeastSignificantBits()))
-										: v4p);
+						sendSignal(ctxPlayer, v4p == null
+								? (v4p = new SPacketVoiceSignalConnectAnnounceV4EAG(selfUUID.getMostSignificantBits(),
+										selfUUID.getLeastSignificantBits()))
+								: v4p);
 					}
 					if (selfV3) {
-						self.sendEaglerMessage(new SPacketVoiceSignalConnectV3EAG(ctx.selfUUID.getMostSignificantBits(),
+						sendSignal(self, new SPacketVoiceSignalConnectV3EAG(ctx.selfUUID.getMostSignificantBits(),
 								ctx.selfUUID.getLeastSignificantBits(), true, false));
 					} else {
-						self.sendEaglerMessage(new SPacketVoiceSignalConnectAnnounceV4EAG(
+						sendSignal(self, new SPacketVoiceSignalConnectAnnounceV4EAG(
 								ctx.selfUUID.getMostSignificantBits(), ctx.selfUUID.getLeastSignificantBits()));
 					}
 				}
@@ -225,18 +281,18 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 				}
 				EaglerPlayerInstance<PlayerObject> otherPlayer = other.mgr.player;
 				if (otherPlayer.getEaglerProtocol().ver <= 3) {
-					otherPlayer.sendEaglerMessage(new SPacketVoiceSignalConnectV3EAG(selfUUID.getMostSignificantBits(),
+					sendSignal(otherPlayer, new SPacketVoiceSignalConnectV3EAG(selfUUID.getMostSignificantBits(),
 							selfUUID.getLeastSignificantBits(), false, false));
 				} else {
-					otherPlayer.sendEaglerMessage(new SPacketVoiceSignalConnectV4EAG(selfUUID.getMostSignificantBits(),
+					sendSignal(otherPlayer, new SPacketVoiceSignalConnectV4EAG(selfUUID.getMostSignificantBits(),
 							selfUUID.getLeastSignificantBits(), false));
 				}
 				EaglerPlayerInstance<PlayerObject> self = mgr.player;
 				if (self.getEaglerProtocol().ver <= 3) {
-					self.sendEaglerMessage(new SPacketVoiceSignalConnectV3EAG(player.getMostSignificantBits(),
+					sendSignal(self, new SPacketVoiceSignalConnectV3EAG(player.getMostSignificantBits(),
 							player.getLeastSignificantBits(), false, true));
 				} else {
-					self.sendEaglerMessage(new SPacketVoiceSignalConnectV4EAG(player.getMostSignificantBits(),
+					sendSignal(self, new SPacketVoiceSignalConnectV4EAG(player.getMostSignificantBits(),
 							player.getLeastSignificantBits(), true));
 				}
 			}
@@ -253,7 +309,7 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 						return;
 					}
 				}
-				other.mgr.player.sendEaglerMessage(new SPacketVoiceSignalICEEAG(selfUUID.getMostSignificantBits(),
+				sendSignal(other.mgr.player, new SPacketVoiceSignalICEEAG(selfUUID.getMostSignificantBits(),
 						selfUUID.getLeastSignificantBits(), str));
 			}
 		}
@@ -269,7 +325,7 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 						return;
 					}
 				}
-				other.mgr.player.sendEaglerMessage(new SPacketVoiceSignalDescEAG(selfUUID.getMostSignificantBits(),
+				sendSignal(other.mgr.player, new SPacketVoiceSignalDescEAG(selfUUID.getMostSignificantBits(),
 						selfUUID.getLeastSignificantBits(), str));
 			}
 		}
@@ -285,9 +341,9 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 					synchronized (other) {
 						other.remove(this);
 					}
-					other.mgr.player.sendEaglerMessage(new SPacketVoiceSignalDisconnectPeerEAG(
+					sendSignal(other.mgr.player, new SPacketVoiceSignalDisconnectPeerEAG(
 							selfUUID.getMostSignificantBits(), selfUUID.getLeastSignificantBits()));
-					mgr.player.sendEaglerMessage(new SPacketVoiceSignalDisconnectPeerEAG(
+					sendSignal(mgr.player, new SPacketVoiceSignalDisconnectPeerEAG(
 							player.getMostSignificantBits(), player.getLeastSignificantBits()));
 				}
 			}
@@ -306,8 +362,6 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 				return false;
 			}
 			mgr.onStateChanged(EnumVoiceState.DISABLED);
-			Object[] allPlayers = connectedPlayers.values().toArray();
-			int len = allPlayers.length;
 			ObjectIndexedContainer<Context> toNotify = null;
 			synchronized (this) {
 				if (size() > 0) {
@@ -318,8 +372,8 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 			}
 			if (toNotify != null) {
 				int cnt = toNotify.size();
-				GameMessagePacket pkt = new SPacketVoiceSignalDisconnectPeerEAG(selfUUID.getMostSignificantBits(),
-						selfUUID.getLeastSignificantBits());
+				GameMessagePacket pkt = new BroadcastPacket(new SPacketVoiceSignalDisconnectPeerEAG(
+						selfUUID.getMostSignificantBits(), selfUUID.getLeastSignificantBits()));
 				for (int i = 0; i < cnt; ++i) {
 					Context ctx = toNotify.get(i);
 					IVoiceState voice;
@@ -329,28 +383,17 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 					if (voice != null) {
 						if (!dead) {
 							UUID uuid = ctx.selfUUID;
-							mgr.player.sendEaglerMessage(new SPacketVoiceSignalDisconnectPeerEAG(
+							sendSignal(mgr.player, new SPacketVoiceSignalDisconnectPeerEAG(
 									uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
 						}
 						if (voice == ESTABLISHED) {
-							ctx.mgr.player.sendEaglerMessage(pkt);
+							sendSignal(ctx.mgr.player, pkt);
 						}
 					}
 				}
 			}
-			if (len > 0) {
-				SPacketVoiceSignalGlobalEAG.UserData[] userDatas = new SPacketVoiceSignalGlobalEAG.UserData[len];
-				for (int i = 0; i < len; ++i) {
-					Context ctx = (Context) allPlayers[i];
-					EaglerPlayerInstance<PlayerObject> ctxPlayer = ctx.mgr.player;
-					UUID ctxUUID = ctxPlayer.getUniqueId();
-					userDatas[i] = new SPacketVoiceSignalGlobalEAG.UserData(ctxUUID.getMostSignificantBits(),
-							ctxUUID.getLeastSignificantBits(), ctxPlayer.getUsername());
-				}
-				GameMessagePacket packetToBroadcast = new SPacketVoiceSignalGlobalEAG(Arrays.asList(userDatas));
-				for (int i = 0; i < len; ++i) {
-					((Context) allPlayers[i]).mgr.player.sendEaglerMessage(packetToBroadcast);
-				}
+			if (!connectedPlayers.isEmpty()) {
+				scheduleGlobalListUpdate();
 			}
 			return true;
 		}
@@ -42,6 +42,7 @@ public class VoiceServiceLocal<PlayerObject> implements IVoiceServiceImpl<Player
 	private final Set<String> configServersEnabled;
 	private final IVoiceChannel globalChannel;
 	private final LoadingCache<String, IVoiceChannel> serverChannels;
+	private final VoiceSignalStats signalStats;
 	private Collection<ICEServerEntry> iceServers;
 	private String[] iceServersStr;
 
@@ -58,6 +59,8 @@ public class VoiceServiceLocal<PlayerObject> implements IVoiceServiceImpl<Player
 						return new ManagedChannel<>(VoiceServiceLocal.this);
 					}
 				}) : null;
+		int statsInterval = config.getSignalStatsLogInterval();
+		signalStats = statsInterval > 0 ? new VoiceSignalStats(server.logger(), statsInterval) : null;
 	}
 
 	@Override
@@ -95,6 +98,14 @@ public class VoiceServiceLocal<PlayerObject> implements IVoiceServiceImpl<Player
 		return server;
 	}
 
+	EaglerXServer<PlayerObject> getEaglerXServer() {
+		return server;
+	}
+
+	VoiceSignalStats getSignalStats() {
+		return signalStats;
+	}
+
 	@Override
 	public boolean isVoiceEnabled() {
 		return true;
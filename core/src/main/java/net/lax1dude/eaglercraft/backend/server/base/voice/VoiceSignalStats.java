@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.voice;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+import net.lax1dude.eaglercraft.backend.server.base.StatsReporter;
+import net.lax1dude.eaglercraft.backend.server.base.message.BroadcastPacket;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePacketOutputBuffer;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketVoiceSignalGlobalEAG;
+
+/**
+ * Counts the signalling packets sent to players in voice channels, sizes are
+ * the packet payloads and do not include the packet ID or any framing
+ */
+class VoiceSignalStats extends StatsReporter {
+
+	private static final VarHandle PACKETS_HANDLE;
+	private static final VarHandle BYTES_HANDLE;
+
+	static {
+		MethodHandles.Lookup l = MethodHandles.lookup();
+		try {
+			PACKETS_HANDLE = l.findVarHandle(VoiceSignalStats.class, "packets", long.class);
+			BYTES_HANDLE = l.findVarHandle(VoiceSignalStats.class, "bytes", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private long packets = 0l;
+	private long bytes = 0l;
+
+	VoiceSignalStats(IPlatformLogger logger, int reportIntervalSeconds) {
+		super(logger, reportIntervalSeconds);
+	}
+
+	void recordSent(GameMessagePacket packet, int count) {
+		PACKETS_HANDLE.getAndAdd(this, (long) count);
+		BYTES_HANDLE.getAndAdd(this, (long) payloadLength(packet) * count);
+		checkReport();
+	}
+
+	private static int payloadLength(GameMessagePacket packet) {
+		if (packet instanceof BroadcastPacket pkt) {
+			packet = pkt.getPacket();
+		}
+		if (packet instanceof SPacketVoiceSignalGlobalEAG pkt) {
+			// variable length, usernames are ASCII so each character is one byte
+			Collection<SPacketVoiceSignalGlobalEAG.UserData> users = pkt.users;
+			if (users == null || users.isEmpty()) {
+				return 1;
+			}
+			int len = GamePacketOutputBuffer.getVarIntSize(users.size()) + users.size() * 16;
+			for (SPacketVoiceSignalGlobalEAG.UserData dt : users) {
+				len += GamePacketOutputBuffer.getArrayMCSize(dt.username.length());
+			}
+			return len;
+		}
+		int len = packet.length();
+		return len > 0 ? len : 0;
+	}
+
+	@Override
+	protected void report(long elapsedSeconds) {
+		long p = (long) PACKETS_HANDLE.getAndSet(this, 0l);
+		long b = (long) BYTES_HANDLE.getAndSet(this, 0l);
+		if (p > 0l) {
+			logger.info("Voice service sent " + b + " bytes of signalling in " + p + " packets in the last "
+					+ elapsedSeconds + "s, average " + (elapsedSeconds > 0l ? b / elapsedSeconds : b)
+					+ " bytes per second");
+		}
+	}
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.webserver;
+
+import java.util.Collections;
+import java.util.List;
+
+import net.lax1dude.eaglercraft.backend.server.api.EnumRequestMethod;
+
+/**
+ * Immutable snapshot of a {@link RouteMap}, rebuilt whenever the registered
+ * routes change. Lookups are lock-free and match directly against the request
+ * path without tokenizing it.
+ */
+public class CompiledRouteMap<L, T> {
+
+	private static final char SEPARATOR = '/';
+
+	private final Node<L, T> rootNode;
+
+	CompiledRouteMap(Node<L, T> rootNode) {
+		this.rootNode = rootNode;
+	}
+
+	static class Node<L, T> {
+
+		private final String[] keys;
+		private final int[] hashes;
+		private final Node<L, T>[] children;
+		private final int mask;
+		private final Node<L, T> defaultChild;
+		private final boolean isDefaultChild;
+		private final Endpoint<L, T> endpoint;
+		private final Endpoint<L, T> endpointDir;
+
+		@SuppressWarnings("unchecked")
+		Node(String[] names, Node<L, T>[] nodes, Node<L, T> defaultChild, boolean isDefaultChild,
+				Endpoint<L, T> endpoint, Endpoint<L, T> endpointDir) {
+			int cnt = names.length;
+			if (cnt > 0) {
+				int size = Integer.highestOneBit(cnt) << 2;
+				this.keys = new String[size];
+				this.hashes = new int[size];
+				this.children = new Node[size];
+				this.mask = size - 1;
+				for (int i = 0; i < cnt; ++i) {
+					String key = names[i];
+					int h = key.hashCode();
+					int j = mix(h) & mask;
+					while (keys[j] != null) {
+						j = (j + 1) & mask;
+					}
+					keys[j] = key;
+					hashes[j] = h;
+					children[j] = nodes[i];
+				}
+			} else {
+				this.keys = null;
+				this.hashes = null;
+				this.children = null;
+				this.mask = 0;
+			}
+			this.defaultChild = defaultChild;
+			this.isDefaultChild = isDefaultChild;
+			this.endpoint = endpoint;
+			this.endpointDir = endpointDir;
+		}
+
+		private Node<L, T> getChild(CharSequence url, int start, int end, int h) {
+			String[] k = keys;
+			if (k != null) {
+				int len = end - start;
+				int j = mix(h) & mask;
+				String key;
+				while ((key = k[j]) != null) {
+					if (hashes[j] == h && key.length() == len && regionEquals(key, url, start, len)) {
+						return children[j];
+					}
+					j = (j + 1) & mask;
+				}
+			}
+			return null;
+		}
+
+	}
+
+	static class Endpoint<L, T> {
+
+		private final L[] listeners;
+		private final Methods<T>[] methods;
+
+		/**
+		 * @param listeners null if the endpoint applies to all listeners, in which
+		 *                  case methods must have a single element
+		 */
+		Endpoint(L[] listeners, Methods<T>[] methods) {
+			this.listeners = listeners;
+			this.methods = methods;
+		}
+
+		private Methods<T> getForListener(L listener) {
+			L[] ls = listeners;
+			if (ls == null) {
+				return methods[0];
+			}
+			// listener infos are singletons, there are only ever a handful of them
+			for (int i = 0; i < ls.length; ++i) {
+				if (ls[i] == listener) {
+					return methods[i];
+				}
+			}
+			return null;
+		}
+
+	}
+
+	static class Methods<T> {
+
+		private final T[] handlers;
+		private final boolean allMethod;
+		private final List<EnumRequestMethod> options;
+
+		Methods(T[] handlers, boolean allMethod, List<EnumRequestMethod> options) {
+			this.handlers = handlers;
+			this.allMethod = allMethod;
+			this.options = options;
+		}
+
+	}
+
+	public void get(CharSequence url, L listener, int methId, RouteMap.Result<T> result) {
+		result.result = null;
+		Methods<T> methods = resolve(url, listener, result);
+		if (methods != null) {
+			result.result = methods.handlers[methId];
+		}
+	}
+
+	public void getOptions(CharSequence url, L listener, RouteMap.Result<List<EnumRequestMethod>> result) {
+		result.result = null;
+		Methods<T> methods = resolve(url, listener, result);
+		if (methods != null) {
+			int len = url.length();
+			boolean dir = len > 0 && url.charAt(len - 1) == SEPARATOR;
+			if (methods.allMethod || dir == result.directory) {
+				result.result = methods.options;
+			} else {
+				result.result = Collections.emptyList();
+			}
+		}
+	}
+
+	/**
+	 * Finds the methods registered for the path and listener, falling back to the
+	 * directory or non-directory endpoint when the exact one is missing. Sets
+	 * result.directory to the kind of endpoint that matched.
+	 */
+	private Methods<T> resolve(CharSequence url, L listener, RouteMap.Result<?> result) {
+		int end = url.length();
+		int index = 0;
+		boolean dir = false;
+		if (end == 1 && url.charAt(0) == SEPARATOR) {
+			dir = true;
+			end = 0;
+		} else {
+			while (index < end && url.charAt(index) == SEPARATOR) {
+				++index;
+			}
+			while (end > 0 && url.charAt(end - 1) == SEPARATOR) {
+				dir = true;
+				--end;
+			}
+		}
+		Node<L, T> endpointNode = find(rootNode, url, index, end);
+		if (endpointNode == null) {
+			return null;
+		}
+		Endpoint<L, T> endpoint;
+		boolean isDir;
+		if (dir) {
+			endpoint = endpointNode.endpointDir;
+			if (endpoint == null) {
+				endpoint = endpointNode.endpoint;
+				isDir = false;
+			} else {
+				isDir = true;
+			}
+		} else {
+			endpoint = endpointNode.endpoint;
+			if (endpoint == null) {
+				endpoint = endpointNode.endpointDir;
+				isDir = true;
+			} else {
+				isDir = false;
+			}
+		}
+		if (endpoint == null) {
+			return null;
+		}
+		Methods<T> methods = endpoint.getForListener(listener);
+		if (methods != null) {
+			result.directory = isDir;
+		}
+		return methods;
+	}
+
+	private static <L, T> Node<L, T> find(Node<L, T> node, CharSequence url, int index, int end) {
+		if (index >= end) {
+			return node;
+		}
+		// hash the segment while searching for the next separator
+		int h = 0;
+		int i = index;
+		char c;
+		while (i < end && (c = url.charAt(i)) != SEPARATOR) {
+			h = 31 * h + c;
+			++i;
+		}
+		int next = i;
+		while (next < end && url.charAt(next) == SEPARATOR) {
+			++next;
+		}
+		Node<L, T> r = node.getChild(url, index, i, h);
+		if (r != null) {
+			return find(r, url, next, end);
+		}
+		if (node.defaultChild != null) {
+			r = find(node.defaultChild, url, next, end);
+			if (r != null) {
+				return r;
+			}
+		}
+		if (node.isDefaultChild) {
+			return node;
+		}
+		return null;
+	}
+
+	private static int mix(int h) {
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean regionEquals(String key, CharSequence url, int off, int len) {
+		for (int i = 0; i < len; ++i) {
+			if (key.charAt(i) != url.charAt(off + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
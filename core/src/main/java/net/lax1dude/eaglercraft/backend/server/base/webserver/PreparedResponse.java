@@ -33,6 +33,16 @@ public class PreparedResponse implements IPreparedResponse {
 		return this;
 	}
 
+	@Override
+	public int length() {
+		return buffer.readableBytes();
+	}
+
+	@Override
+	public IPreparedResponse retainedSlice(int index, int length) {
+		return new PreparedResponse(buffer.retainedSlice(buffer.readerIndex() + index, length));
+	}
+
 	@Override
 	public boolean release() {
 		return buffer.release();
@@ -34,6 +34,12 @@ public abstract class ResponseOrdering {
 
 		protected FullHttpResponse data;
 		protected boolean complete;
+		protected boolean sent;
+		protected boolean close;
+
+		public void setCloseAfter() {
+			close = true;
+		}
 
 		public void complete(FullHttpResponse response) {
 			if (complete) {
@@ -43,18 +49,27 @@ public abstract class ResponseOrdering {
 			data = response;
 			complete = true;
 			_notify();
+			if (dirty) {
+				dirty = false;
+				ResponseOrdering.this.flush();
+			}
 		}
 
 		private void _notify() {
 			if (complete) {
-				if (prev == null || prev.complete) {
+				if (prev == null || prev.sent) {
 					try {
 						if (data != null) {
-							ResponseOrdering.this.send(data);
+							ResponseOrdering.this.send(data, close);
+							dirty = true;
 						}
 					} finally {
 						data = null;
 						prev = null;
+						sent = true;
+						if (tail == this) {
+							tail = null;
+						}
 					}
 					if (next != null) {
 						next._notify();
@@ -66,12 +81,19 @@ public abstract class ResponseOrdering {
 	}
 
 	protected Slot tail;
+	protected boolean dirty;
 
 	public Slot push() {
 		return tail = new Slot();
 	}
 
-	protected abstract void send(FullHttpResponse data);
+	public boolean isEmpty() {
+		return tail == null;
+	}
+
+	protected abstract void send(FullHttpResponse data, boolean close);
+
+	protected abstract void flush();
 
 	public void release() {
 		Slot s = tail;
@@ -16,8 +16,7 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.webserver;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -395,7 +394,11 @@ public class RouteMap<L, T> {
 		}
 	}
 
-	public void get(Iterator<CharSequence> tokens, boolean dir, L listener, int methId, Result<T> result) {
+	/**
+	 * Walks the uncompiled tree, lookups at runtime go through {@link #compile()}.
+	 * Only kept as the baseline for RouteMatchBenchmark
+	 */
+	void get(Iterator<CharSequence> tokens, boolean dir, L listener, int methId, Result<T> result) {
 		RouteTreeNode<L, T> endpointNode = rootNode.find(tokens, dir);
 		if (endpointNode == null) {
 			result.result = null;
@@ -442,59 +445,72 @@ public class RouteMap<L, T> {
 			EnumRequestMethod.HEAD, EnumRequestMethod.PUT, EnumRequestMethod.DELETE, EnumRequestMethod.POST,
 			EnumRequestMethod.PATCH);
 
-	public void getOptions(Iterator<CharSequence> tokens, boolean dir, L listener,
-			Result<List<EnumRequestMethod>> result) {
-		RouteTreeNode<L, T> endpointNode = rootNode.find(tokens, dir);
-		if (endpointNode == null) {
-			result.result = null;
-			return;
-		}
-		IRouteEndpoint<L, T> endpoint;
-		boolean isDir;
-		if (dir) {
-			endpoint = endpointNode.endpointDir;
-			if (endpoint == null) {
-				endpoint = endpointNode.endpoint;
-				isDir = false;
-			} else {
-				isDir = true;
+	public CompiledRouteMap<L, T> compile() {
+		return new CompiledRouteMap<>(compileNode(rootNode));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <L, T> CompiledRouteMap.Node<L, T> compileNode(RouteTreeNode<L, T> node) {
+		String[] names;
+		CompiledRouteMap.Node<L, T>[] nodes;
+		if (node.children != null) {
+			int cnt = node.children.size();
+			names = new String[cnt];
+			nodes = new CompiledRouteMap.Node[cnt];
+			int i = 0;
+			for (Map.Entry<String, RouteTreeNode<L, T>> etr : node.children.entrySet()) {
+				names[i] = etr.getKey();
+				nodes[i] = compileNode(etr.getValue());
+				++i;
 			}
 		} else {
-			endpoint = endpointNode.endpoint;
-			if (endpoint == null) {
-				endpoint = endpointNode.endpointDir;
-				isDir = true;
-			} else {
-				isDir = false;
-			}
+			names = new String[0];
+			nodes = new CompiledRouteMap.Node[0];
 		}
+		return new CompiledRouteMap.Node<>(names, nodes,
+				node.defaultChild != null ? compileNode(node.defaultChild) : null, node.isDefaultChild,
+				compileEndpoint(node.endpoint), compileEndpoint(node.endpointDir));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <L, T> CompiledRouteMap.Endpoint<L, T> compileEndpoint(IRouteEndpoint<L, T> endpoint) {
 		if (endpoint == null) {
-			result.result = null;
-			return;
+			return null;
 		}
-		IRouteMethods<T> methods = endpoint.getForListener(listener);
-		if (methods == null) {
-			result.result = null;
-			return;
+		if (endpoint instanceof RouteEndpointAllListener<L, T> tmp) {
+			return new CompiledRouteMap.Endpoint<>(null,
+					new CompiledRouteMap.Methods[] { compileMethods(tmp.method) });
+		} else {
+			RouteEndpointPerListener<L, T> tmp = (RouteEndpointPerListener<L, T>) endpoint;
+			int cnt = tmp.entries.size();
+			L[] listeners = (L[]) new Object[cnt];
+			CompiledRouteMap.Methods<T>[] methods = new CompiledRouteMap.Methods[cnt];
+			int i = 0;
+			for (Map.Entry<L, IRouteMethods<T>> etr : tmp.entries.entrySet()) {
+				listeners[i] = etr.getKey();
+				methods[i] = compileMethods(etr.getValue());
+				++i;
+			}
+			return new CompiledRouteMap.Endpoint<>(listeners, methods);
 		}
-		result.directory = isDir;
-		if (methods instanceof RouteMethodPerMethod) {
-			if (dir == isDir) {
-				RouteMethodPerMethod<T> perMethod = (RouteMethodPerMethod<T>) methods;
-				List<EnumRequestMethod> meths = new ArrayList<>(numMeths);
-				Object[] objArr = perMethod.obj;
-				for (int i = 0, j = perMethod.count; i < numMeths && j > 0; ++i) {
-					if (objArr[i] != null) {
-						meths.add(EnumRequestMethod.fromId(i));
-						--j;
-					}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> CompiledRouteMap.Methods<T> compileMethods(IRouteMethods<T> methods) {
+		T[] handlers = (T[]) new Object[numMeths];
+		if (methods instanceof RouteMethodPerMethod<T> perMethod) {
+			ImmutableList.Builder<EnumRequestMethod> meths = ImmutableList.builder();
+			for (int i = 0; i < numMeths; ++i) {
+				T obj = perMethod.obj[i];
+				if (obj != null) {
+					handlers[i] = obj;
+					meths.add(EnumRequestMethod.fromId(i));
 				}
-				result.result = meths;
-			} else {
-				result.result = Collections.emptyList();
 			}
+			return new CompiledRouteMap.Methods<>(handlers, false, meths.build());
 		} else {
-			result.result = allMethods;
+			Arrays.fill(handlers, methods.getForMethod(-1));
+			return new CompiledRouteMap.Methods<>(handlers, true, allMethods);
 		}
 	}
 
@@ -96,7 +96,21 @@ public class RouteProcessor extends RouteMap.Result<Object> implements Iterator<
 		}
 	}
 
-	public <L, T> RouteMap.Result<T> find(CharSequence url, L listener, int method, RouteMap<L, T> routeMap) {
+	public <L, T> RouteMap.Result<T> find(CharSequence url, L listener, int method,
+			CompiledRouteMap<L, T> routeMap) {
+		RouteMap.Result<T> ret = (RouteMap.Result<T>) this;
+		if (method >= 6) {
+			this.result = null;
+			return ret;
+		}
+		routeMap.get(url, listener, method, ret);
+		return ret;
+	}
+
+	/**
+	 * Tokenizing lookup against the uncompiled tree, see RouteMatchBenchmark
+	 */
+	<L, T> RouteMap.Result<T> find(CharSequence url, L listener, int method, RouteMap<L, T> routeMap) {
 		this.result = null;
 		RouteMap.Result<T> ret = (RouteMap.Result<T>) this;
 		if (method >= 6) {
@@ -122,25 +136,9 @@ public class RouteProcessor extends RouteMap.Result<Object> implements Iterator<
 	}
 
 	public <L, T> RouteMap.Result<List<EnumRequestMethod>> options(CharSequence url, L listener,
-			RouteMap<L, T> routeMap) {
-		this.result = null;
+			CompiledRouteMap<L, T> routeMap) {
 		RouteMap.Result<List<EnumRequestMethod>> ret = (RouteMap.Result<List<EnumRequestMethod>>) (Object) this;
-		int len = url.length();
-		if (len == 0) {
-			routeMap.getOptions(NOP_ITERATOR, false, listener, ret);
-		} else if (len == 1 && url.charAt(0) == SEPARATOR) {
-			routeMap.getOptions(NOP_ITERATOR, true, listener, ret);
-		} else {
-			try {
-				this.url = url;
-				this.index = 0;
-				this.nextIndex = -2;
-				this.end = len;
-				routeMap.getOptions(this, adjustBounds(), listener, ret);
-			} finally {
-				this.url = null;
-			}
-		}
+		routeMap.getOptions(url, listener, ret);
 		return ret;
 	}
 
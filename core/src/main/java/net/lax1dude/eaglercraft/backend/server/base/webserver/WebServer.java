@@ -18,6 +18,7 @@ package net.lax1dude.eaglercraft.backend.server.base.webserver;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
@@ -46,8 +47,9 @@ public class WebServer implements IWebServer {
 	private final ReadWriteLock routeMapLock = new ReentrantReadWriteLock();
 	private final RouteMap<IEaglerListenerInfo, IRequestHandler> routeMap;
 	private final RouteProcessor registerProcessor = new RouteProcessor();
+	private volatile CompiledRouteMap<IEaglerListenerInfo, IRequestHandler> compiledRouteMap;
 	private final Map<Object, Map<RouteDesc, IRequestHandler>> owners = new IdentityHashMap<>();
-	private IRequestHandler handler404;
+	private volatile IRequestHandler handler404;
 	private Object handler404Owner;
 	private IRequestHandler handler429;
 	private Object handler429Owner;
@@ -60,6 +62,7 @@ public class WebServer implements IWebServer {
 		this.handler429 = this.default429 = new Default429(server);
 		this.handler500 = this.default500 = new Default500(server);
 		this.routeMap = new RouteMap<>();
+		this.compiledRouteMap = routeMap.compile();
 	}
 
 	public void refreshBuiltinPages() {
@@ -148,6 +151,7 @@ public class WebServer implements IWebServer {
 				map.put(route, requestHandler);
 			}
 		} finally {
+			compiledRouteMap = routeMap.compile();
 			routeMapLock.writeLock().unlock();
 		}
 	}
@@ -222,6 +226,7 @@ public class WebServer implements IWebServer {
 				}
 			}
 		} finally {
+			compiledRouteMap = routeMap.compile();
 			routeMapLock.writeLock().unlock();
 		}
 	}
@@ -280,6 +285,7 @@ public class WebServer implements IWebServer {
 				}
 			}
 		} finally {
+			compiledRouteMap = routeMap.compile();
 			routeMapLock.writeLock().unlock();
 		}
 	}
@@ -291,28 +297,18 @@ public class WebServer implements IWebServer {
 
 	public RouteMap.Result<IRequestHandler> resolveInternal(IEaglerListenerInfo listener, int method, CharSequence path,
 			RouteProcessor routeProcessor) {
-		routeMapLock.readLock().lock();
-		try {
-			RouteMap.Result<IRequestHandler> res = routeProcessor.find(path, listener, method, routeMap);
-			if (res.result != null) {
-				return res;
-			}
-			res.directory = isDir(path);
-			res.result = handler404;
+		RouteMap.Result<IRequestHandler> res = routeProcessor.find(path, listener, method, compiledRouteMap);
+		if (res.result != null) {
 			return res;
-		} finally {
-			routeMapLock.readLock().unlock();
 		}
+		res.directory = isDir(path);
+		res.result = handler404;
+		return res;
 	}
 
 	public RouteMap.Result<List<EnumRequestMethod>> optionsInternal(IEaglerListenerInfo listener, CharSequence path,
 			RouteProcessor routeProcessor) {
-		routeMapLock.readLock().lock();
-		try {
-			return routeProcessor.options(path, listener, routeMap);
-		} finally {
-			routeMapLock.readLock().unlock();
-		}
+		return routeProcessor.options(path, listener, compiledRouteMap);
 	}
 
 	private boolean isDir(CharSequence seq) {
@@ -374,6 +370,19 @@ public class WebServer implements IWebServer {
 		return new PreparedResponse(Unpooled.wrappedBuffer(data));
 	}
 
+	@Override
+	public IPreparedResponse prepareResponse(ByteBuffer data) {
+		if (data == null)
+			throw new NullPointerException("data");
+		if (data.isDirect()) {
+			return new PreparedResponse(Unpooled.wrappedBuffer(data.slice()));
+		} else {
+			ByteBuf buf = Unpooled.directBuffer(data.remaining());
+			buf.writeBytes(data.duplicate());
+			return new PreparedResponse(buf);
+		}
+	}
+
 	@Override
 	public IPreparedResponse prepareResponse(CharSequence data, Charset binaryCharset) {
 		if (data == null)
@@ -68,6 +68,10 @@ public class RateLimiterExclusions {
 	}
 
 	public static RateLimiterExclusions create(List<String> list, IPlatformLogger logger) {
+		return create(list, logger, "ratelimit exclusion");
+	}
+
+	public static RateLimiterExclusions create(List<String> list, IPlatformLogger logger, String type) {
 		List<Exclusion4> lst4 = new ArrayList<>();
 		List<Exclusion6> lst6 = new ArrayList<>();
 		for (String str : list) {
@@ -79,7 +83,7 @@ public class RateLimiterExclusions {
 					addr = InetAddresses.forString(str.substring(0, slashIdx));
 					subnet = Integer.parseInt(str.substring(slashIdx + 1));
 				} catch (IllegalArgumentException ex) {
-					logger.warn("Skipping invalid ratelimit exclusion: \"" + str + "\"", ex);
+					logger.warn("Skipping invalid " + type + ": \"" + str + "\"", ex);
 					continue;
 				}
 			} else {
@@ -103,7 +107,7 @@ public class RateLimiterExclusions {
 						| ((addrBytes[2] & 0xFF) << 8) | (addrBytes[3] & 0xFF);
 				lst4.add(new Exclusion4(addrInt, subnet != -1 ? subnet : 32));
 			} else {
-				logger.warn("Skipping unknown ratelimit address: \"" + addr + "\" (" + addr.getClass().getName() + ")");
+				logger.warn("Skipping unknown " + type + " address: \"" + addr + "\" (" + addr.getClass().getName() + ")");
 			}
 		}
 		Collections.sort(lst4, (a, b) -> a.subnet - b.subnet);
@@ -119,6 +123,10 @@ public class RateLimiterExclusions {
 		this.lst6 = lst6;
 	}
 
+	public boolean isEmpty() {
+		return lst4.isEmpty() && lst6.isEmpty();
+	}
+
 	public boolean testExclusion(InetAddress addr) {
 		if (addr instanceof Inet6Address addr2) {
 			return testExclusion6(addr2);
@@ -45,6 +45,15 @@ public class RateLimiterLocking extends AtomicInteger {
 		this.lockedTimer = -1l;
 	}
 
+	public boolean isLocked(Config conf) {
+		if (get() < conf.limit) {
+			return false;
+		}
+		synchronized (this) {
+			return lockedTimer != -1l && System.nanoTime() - lockedTimer <= conf.lockoutDuration;
+		}
+	}
+
 	public EnumRateLimitState rateLimit(Config conf) {
 		int limitVal = conf.limit;
 		if (incrementAndGet() >= limitVal) {
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fixed size, lock-free alternative to keeping a RateLimiterLocking per
+ * address in a cache. Addresses are packed into a long and stored in an
+ * open-addressed table of 8 slot buckets, each slot holds the key, the last
+ * access time, and one packed state word per limiter. When a bucket is full
+ * the least recently used slot in it is taken over. Updates that race with a
+ * slot being taken over may be lost, which is acceptable for ratelimiting.
+ */
+public class RateLimiterTable {
+
+	private static final VarHandle LONG_ARRAY_HANDLE = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private static final int BUCKET_SIZE = 8;
+	private static final int SLOT_STRIDE = 8;
+
+	public static final int MAX_LIMITERS = SLOT_STRIDE - 2;
+
+	// state word: | 41 bits time | 1 bit locked | 22 bits count |
+	private static final int COUNT_BITS = 22;
+	private static final long COUNT_MASK = (1l << COUNT_BITS) - 1l;
+	private static final long LOCKED_BIT = 1l << COUNT_BITS;
+	private static final int TIME_SHIFT = COUNT_BITS + 1;
+
+	// time is measured in units of 2^20 ns (about 1 ms)
+	private static final int TIME_UNIT_SHIFT = 20;
+
+	private final long[] table;
+	private final int slotCount;
+	private final int bucketMask;
+	private final long seed;
+	private final long startTime;
+
+	public RateLimiterTable(int minSlots) {
+		minSlots = Math.min(minSlots, 1 << 24);
+		int buckets = Integer.highestOneBit(Math.max((minSlots + BUCKET_SIZE - 1) / BUCKET_SIZE, 1));
+		if (buckets * BUCKET_SIZE < minSlots) {
+			buckets <<= 1;
+		}
+		this.slotCount = buckets * BUCKET_SIZE;
+		this.table = new long[slotCount * SLOT_STRIDE];
+		this.bucketMask = buckets - 1;
+		this.seed = ThreadLocalRandom.current().nextLong();
+		this.startTime = System.nanoTime();
+	}
+
+	public int getSlotCount() {
+		return slotCount;
+	}
+
+	private long now() {
+		return ((System.nanoTime() - startTime) >> TIME_UNIT_SHIFT) + 1l;
+	}
+
+	private static long mix(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDl;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53l;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * Packs the address into the key stored in its slot, the key is never 0
+	 */
+	public long packAddress(InetAddress address) {
+		if (address instanceof Inet4Address) {
+			// the hash code of an Inet4Address is the address itself
+			return 0x100000000l | (address.hashCode() & 0xFFFFFFFFl);
+		} else {
+			byte[] addr = address.getAddress();
+			long hi = 0l, lo = 0l;
+			for (int i = 0; i < 8; ++i) {
+				hi = (hi << 8) | (addr[i] & 0xFFl);
+			}
+			for (int i = 8; i < addr.length; ++i) {
+				lo = (lo << 8) | (addr[i] & 0xFFl);
+			}
+			return mix(mix(hi ^ seed) ^ lo) | Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Checks if a limiter of the address is currently locked out, without
+	 * counting a request or taking over a slot
+	 */
+	public boolean isLocked(InetAddress address, int limiter, RateLimiterLocking.Config conf) {
+		if (limiter < 0 || limiter >= MAX_LIMITERS) {
+			throw new IndexOutOfBoundsException(limiter);
+		}
+		long key = packAddress(address);
+		int start = ((int) mix(key ^ seed) & bucketMask) * BUCKET_SIZE;
+		long[] table = this.table;
+		for (int i = 0; i < BUCKET_SIZE; ++i) {
+			int idx = (start + i) * SLOT_STRIDE;
+			if ((long) LONG_ARRAY_HANDLE.getAcquire(table, idx) == key) {
+				long state = (long) LONG_ARRAY_HANDLE.getVolatile(table, idx + 2 + limiter);
+				return (state & LOCKED_BIT) != 0l
+						&& now() - (state >>> TIME_SHIFT) <= (conf.lockoutDuration >> TIME_UNIT_SHIFT);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the slot tracking the address, taking over the least recently used
+	 * slot in its bucket if the address is not in the table yet
+	 */
+	public int lookup(InetAddress address) {
+		return lookup(packAddress(address));
+	}
+
+	/**
+	 * Returns the slot tracking the packed address key, taking over the least
+	 * recently used slot in its bucket if the key is not in the table yet
+	 */
+	public int lookup(long key) {
+		int start = ((int) mix(key ^ seed) & bucketMask) * BUCKET_SIZE;
+		long now = now();
+		long[] table = this.table;
+		for (;;) {
+			int victim = -1;
+			long victimKey = 0l;
+			long victimTime = Long.MAX_VALUE;
+			for (int i = 0; i < BUCKET_SIZE; ++i) {
+				int slot = start + i;
+				int idx = slot * SLOT_STRIDE;
+				long k = (long) LONG_ARRAY_HANDLE.getAcquire(table, idx);
+				if (k == key) {
+					LONG_ARRAY_HANDLE.setOpaque(table, idx + 1, now);
+					return slot;
+				} else if (k == 0l) {
+					if (victimTime != 0l) {
+						victim = slot;
+						victimKey = 0l;
+						victimTime = 0l;
+					}
+				} else {
+					long t = (long) LONG_ARRAY_HANDLE.getOpaque(table, idx + 1);
+					if (t < victimTime) {
+						victim = slot;
+						victimKey = k;
+						victimTime = t;
+					}
+				}
+			}
+			int idx = victim * SLOT_STRIDE;
+			if (LONG_ARRAY_HANDLE.compareAndSet(table, idx, victimKey, key)) {
+				LONG_ARRAY_HANDLE.setOpaque(table, idx + 1, now);
+				for (int i = 2; i < SLOT_STRIDE; ++i) {
+					LONG_ARRAY_HANDLE.setVolatile(table, idx + i, 0l);
+				}
+				return victim;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the slot still belongs to the packed address key, slots can be
+	 * taken over by other addresses at any time
+	 */
+	public boolean isOwner(int slot, long key) {
+		return (long) LONG_ARRAY_HANDLE.getAcquire(table, slot * SLOT_STRIDE) == key;
+	}
+
+	public EnumRateLimitState rateLimit(int slot, int limiter, RateLimiterLocking.Config conf) {
+		if (limiter < 0 || limiter >= MAX_LIMITERS) {
+			throw new IndexOutOfBoundsException(limiter);
+		}
+		int idx = slot * SLOT_STRIDE + 2 + limiter;
+		long limit = Math.max(conf.limit, 1);
+		long period = Math.max(conf.period >> TIME_UNIT_SHIFT, 1l);
+		long lockout = conf.lockoutDuration >> TIME_UNIT_SHIFT;
+		long now = now();
+		long[] table = this.table;
+		LONG_ARRAY_HANDLE.setOpaque(table, slot * SLOT_STRIDE + 1, now);
+		for (;;) {
+			long state = (long) LONG_ARRAY_HANDLE.getVolatile(table, idx);
+			long count = state & COUNT_MASK;
+			long time = state >>> TIME_SHIFT;
+			long newState;
+			EnumRateLimitState ret;
+			if ((state & LOCKED_BIT) != 0l) {
+				if (now - time <= lockout) {
+					return EnumRateLimitState.LOCKED;
+				}
+				newState = now << TIME_SHIFT;
+				ret = EnumRateLimitState.OK;
+			} else {
+				long elapsed = now - time;
+				if (elapsed > 0l) {
+					long decayed = elapsed > Long.MAX_VALUE / limit ? COUNT_MASK : elapsed * limit / period;
+					if (decayed >= count) {
+						count = 0l;
+						time = now;
+					} else if (decayed > 0l) {
+						count -= decayed;
+						time += decayed * period / limit;
+					}
+				}
+				if (count < COUNT_MASK) {
+					++count;
+				}
+				if (count >= conf.limitLockout) {
+					newState = (now << TIME_SHIFT) | LOCKED_BIT | count;
+					ret = EnumRateLimitState.BLOCKED_LOCKED;
+				} else {
+					newState = (time << TIME_SHIFT) | count;
+					ret = count >= limit ? EnumRateLimitState.BLOCKED : EnumRateLimitState.OK;
+				}
+			}
+			if (LONG_ARRAY_HANDLE.compareAndSet(table, idx, state, newState)) {
+				return ret;
+			}
+		}
+	}
+
+}
@@ -17,9 +17,11 @@
 package net.lax1dude.eaglercraft.backend.eaglermotd.base;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
@@ -40,10 +42,14 @@ public class EaglerMOTD<PlayerObject> implements IEaglerMOTDImpl<PlayerObject> {
 	private EaglerMOTDConfiguration config;
 	private ITask motdUpdateTask;
 	private Collection<EaglerMOTDConnectionUpdater> activeConnections;
+	private final EaglerMOTDScheduler scheduler;
+	private final List<EaglerMOTDConnectionUpdater> dueConnections;
 
 	public EaglerMOTD(IEaglerMOTDPlatform<PlayerObject> platform) {
 		this.platform = platform;
 		this.activeConnections = new HashSet<>();
+		this.scheduler = new EaglerMOTDScheduler(8);
+		this.dueConnections = new ArrayList<>();
 	}
 
 	public IEaglerMOTDPlatform<PlayerObject> getPlatform() {
@@ -89,6 +95,11 @@ public class EaglerMOTD<PlayerObject> implements IEaglerMOTDImpl<PlayerObject> {
 		if (updater.execute()) {
 			synchronized (activeConnections) {
 				if (config.max_total_sockets > 0) {
+					if (activeConnections.size() >= config.max_total_sockets) {
+						// closed sockets stay in the set until their wheel bucket comes due,
+						// purge them first so they don't push out live connections
+						activeConnections.removeIf((c) -> !c.motd.isConnected());
+					}
 					while (activeConnections.size() >= config.max_total_sockets) {
 						Iterator<EaglerMOTDConnectionUpdater> itr = activeConnections.iterator();
 						if (itr.hasNext()) {
@@ -100,21 +111,25 @@ public class EaglerMOTD<PlayerObject> implements IEaglerMOTDImpl<PlayerObject> {
 				}
 				activeConnections.add(updater);
 			}
+			scheduler.schedule(updater);
 		}
 	}
 
 	public void updateMOTDs() {
-		EaglerMOTDConnectionUpdater[] conns;
-		synchronized (activeConnections) {
-			conns = activeConnections.toArray(new EaglerMOTDConnectionUpdater[activeConnections.size()]);
-		}
-		for (int i = 0; i < conns.length; ++i) {
-			EaglerMOTDConnectionUpdater up = conns[i];
-			if (!up.tick()) {
-				synchronized (activeConnections) {
-					activeConnections.remove(up);
+		List<EaglerMOTDConnectionUpdater> conns = dueConnections;
+		synchronized (conns) {
+			scheduler.advance(conns);
+			for (int i = 0, l = conns.size(); i < l; ++i) {
+				EaglerMOTDConnectionUpdater up = conns.get(i);
+				if (up.tick(up.scheduledDelay)) {
+					scheduler.schedule(up);
+				} else {
+					synchronized (activeConnections) {
+						activeConnections.remove(up);
+					}
 				}
 			}
+			conns.clear();
 		}
 	}
 
@@ -32,6 +32,9 @@ public class EaglerMOTDConnectionUpdater {
 	public int currentFrame = 0;
 	public int ageTimer = 0;
 
+	long dueTick;
+	int scheduledDelay;
+
 	public EaglerMOTDConnectionUpdater(EaglerMOTDConfiguration conf, IMOTDConnection motd) {
 		this.conf = conf;
 		this.motd = motd;
@@ -58,6 +61,39 @@ public class EaglerMOTDConnectionUpdater {
 		}
 	}
 
+	/**
+	 * Number of ticks until the next tick that would do anything other than
+	 * increment the timers, always at least 1
+	 */
+	public int ticksUntilDue() {
+		int ret = conf.close_socket_after + 1 - ageTimer;
+		int i = currentMessage.timeout - messageTimeTimer;
+		if (i < ret) {
+			ret = i;
+		}
+		if (currentMessage.interval > 0) {
+			i = currentMessage.interval - messageIntervalTimer;
+			if (i < ret) {
+				ret = i;
+			}
+		}
+		return ret > 1 ? ret : 1;
+	}
+
+	/**
+	 * Runs the given number of ticks at once, the ticks before the last one must
+	 * be ticks that ticksUntilDue said would only increment the timers
+	 */
+	public boolean tick(int ticks) {
+		if (ticks > 1) {
+			int skip = ticks - 1;
+			ageTimer += skip;
+			messageTimeTimer += skip;
+			messageIntervalTimer += skip;
+		}
+		return tick();
+	}
+
 	public boolean tick() {
 		ageTimer++;
 		if (!motd.isConnected()) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.eaglermotd.base;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing wheel of MOTD connections keyed by the tick their next frame change,
+ * message change or timeout is due, so idle sockets are not visited every tick
+ */
+public class EaglerMOTDScheduler {
+
+	private final List<EaglerMOTDConnectionUpdater>[] wheel;
+	private final int mask;
+	private long currentTick = 0l;
+
+	@SuppressWarnings("unchecked")
+	public EaglerMOTDScheduler(int wheelBits) {
+		int size = 1 << wheelBits;
+		this.wheel = new List[size];
+		for (int i = 0; i < size; ++i) {
+			this.wheel[i] = new ArrayList<>();
+		}
+		this.mask = size - 1;
+	}
+
+	public synchronized void schedule(EaglerMOTDConnectionUpdater updater) {
+		int delay = updater.ticksUntilDue();
+		updater.scheduledDelay = delay;
+		updater.dueTick = currentTick + delay;
+		wheel[(int) (updater.dueTick & mask)].add(updater);
+	}
+
+	/**
+	 * Advances the wheel by one tick and moves the connections that are due into
+	 * the output list
+	 */
+	public synchronized void advance(List<EaglerMOTDConnectionUpdater> output) {
+		long tick = ++currentTick;
+		List<EaglerMOTDConnectionUpdater> bucket = wheel[(int) (tick & mask)];
+		int j = 0;
+		for (int i = 0, l = bucket.size(); i < l; ++i) {
+			EaglerMOTDConnectionUpdater updater = bucket.get(i);
+			if (updater.dueTick <= tick) {
+				output.add(updater);
+			} else {
+				bucket.set(j++, updater);
+			}
+		}
+		int l = bucket.size();
+		if (j < l) {
+			bucket.subList(j, l).clear();
+		}
+	}
+
+	public synchronized int size() {
+		int ret = 0;
+		for (int i = 0; i < wheel.length; ++i) {
+			ret += wheel[i].size();
+		}
+		return ret;
+	}
+
+}
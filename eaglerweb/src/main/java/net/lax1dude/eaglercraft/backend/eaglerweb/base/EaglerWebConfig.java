@@ -89,8 +89,17 @@ public class EaglerWebConfig {
 
 		long memoryCacheExpiresAfter = obj.getAsJsonPrimitive("memory_cache_expires_after").getAsLong() * 1000l;
 		int memoryCacheMaxFiles = obj.getAsJsonPrimitive("memory_cache_max_files").getAsInt();
+		long memoryCacheMaxBytes = (obj.has("memory_cache_max_size_mb")
+				? obj.getAsJsonPrimitive("memory_cache_max_size_mb").getAsLong()
+				: 64l) * 1024l * 1024l;
+		long memoryCacheMmapThreshold = (obj.has("memory_cache_mmap_threshold_mb")
+				? obj.getAsJsonPrimitive("memory_cache_mmap_threshold_mb").getAsLong()
+				: 0l) * 1024l * 1024l;
 		int fileIOThreadCount = obj.getAsJsonPrimitive("file_io_thread_count").getAsInt();
 		boolean enableCORS = obj.getAsJsonPrimitive("enable_cors_support").getAsBoolean();
+		boolean enableGzip = !obj.has("enable_gzip") || obj.getAsJsonPrimitive("enable_gzip").getAsBoolean();
+		boolean enableFileWatcher = !obj.has("enable_file_watcher")
+				|| obj.getAsJsonPrimitive("enable_file_watcher").getAsBoolean();
 
 		for (Entry<String, JsonElement> etr : obj.getAsJsonObject("listeners").entrySet()) {
 			ConfigDataSettings setting = parseSettings(pluginDir, etr.getValue().getAsJsonObject());
@@ -111,7 +120,8 @@ public class EaglerWebConfig {
 			parseMIMEType(etr.getKey(), etr.getValue().getAsJsonObject(), mimeBuilder);
 		}
 
-		return new EaglerWebConfig(memoryCacheExpiresAfter, memoryCacheMaxFiles, fileIOThreadCount, enableCORS,
+		return new EaglerWebConfig(memoryCacheExpiresAfter, memoryCacheMaxFiles, memoryCacheMaxBytes,
+				memoryCacheMmapThreshold, fileIOThreadCount, enableCORS, enableGzip, enableFileWatcher,
 				settingsBuilder.build(), defaultSettings, mimeBuilder.build());
 	}
 
@@ -187,19 +197,28 @@ public class EaglerWebConfig {
 
 	private final long memoryCacheExpiresAfter;
 	private final int memoryCacheMaxFiles;
+	private final long memoryCacheMaxBytes;
+	private final long memoryCacheMmapThreshold;
 	private final int fileIOThreadCount;
 	private final boolean enableCORS;
+	private final boolean enableGzip;
+	private final boolean enableFileWatcher;
 	private final Map<String, ConfigDataSettings> settings;
 	private final ConfigDataSettings defaultSettings;
 	private final Map<String, ConfigDataMIMEType> mimetypes;
 
-	private EaglerWebConfig(long memoryCacheExpiresAfter, int memoryCacheMaxFiles, int fileIOThreadCount,
-			boolean enableCORS, Map<String, ConfigDataSettings> settings, ConfigDataSettings defaultSettings,
+	private EaglerWebConfig(long memoryCacheExpiresAfter, int memoryCacheMaxFiles, long memoryCacheMaxBytes,
+			long memoryCacheMmapThreshold, int fileIOThreadCount, boolean enableCORS, boolean enableGzip,
+			boolean enableFileWatcher, Map<String, ConfigDataSettings> settings, ConfigDataSettings defaultSettings,
 			Map<String, ConfigDataMIMEType> mimetypes) {
 		this.memoryCacheExpiresAfter = memoryCacheExpiresAfter;
 		this.memoryCacheMaxFiles = memoryCacheMaxFiles;
+		this.memoryCacheMaxBytes = memoryCacheMaxBytes;
+		this.memoryCacheMmapThreshold = memoryCacheMmapThreshold;
 		this.fileIOThreadCount = fileIOThreadCount;
 		this.enableCORS = enableCORS;
+		this.enableGzip = enableGzip;
+		this.enableFileWatcher = enableFileWatcher;
 		this.settings = settings;
 		this.defaultSettings = defaultSettings;
 		this.mimetypes = mimetypes;
@@ -213,6 +232,14 @@ public class EaglerWebConfig {
 		return memoryCacheMaxFiles;
 	}
 
+	public long getMemoryCacheMaxBytes() {
+		return memoryCacheMaxBytes;
+	}
+
+	public long getMemoryCacheMmapThreshold() {
+		return memoryCacheMmapThreshold;
+	}
+
 	public int getFileIOThreadCount() {
 		return fileIOThreadCount;
 	}
@@ -221,6 +248,14 @@ public class EaglerWebConfig {
 		return enableCORS;
 	}
 
+	public boolean getEnableGzip() {
+		return enableGzip;
+	}
+
+	public boolean getEnableFileWatcher() {
+		return enableFileWatcher;
+	}
+
 	public Map<String, ConfigDataSettings> getSettings() {
 		return settings;
 	}
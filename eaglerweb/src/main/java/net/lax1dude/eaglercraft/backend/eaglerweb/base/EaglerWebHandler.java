@@ -20,10 +20,14 @@ import java.io.File;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -41,6 +45,7 @@ import net.lax1dude.eaglercraft.backend.server.api.webserver.IRequestContext.ICo
 public class EaglerWebHandler {
 
 	private final ResponseCache responseCache;
+	private final IndexWatcher indexWatcher;
 	private final Map<IEaglerListenerInfo, ListenerContext> listeners;
 	private final ListenerContext defaultListener;
 	private final boolean enableCORS;
@@ -72,8 +77,9 @@ public class EaglerWebHandler {
 
 	public static EaglerWebHandler build(EaglerWeb<?> eaglerWeb) throws IOException {
 		EaglerWebConfig config = eaglerWeb.getConfig();
-		ResponseCacheBuilder cacheBuilder = new ResponseCacheBuilder(config.getMemoryCacheExpiresAfter(),
-				config.getMemoryCacheMaxFiles(), config.getFileIOThreadCount(), eaglerWeb.logger(), (f) -> {
+		ResponseCacheBuilder cacheBuilder = new ResponseCacheBuilder(eaglerWeb.getServer().getWebServer(),
+				config.getMemoryCacheMaxFiles(), config.getMemoryCacheMaxBytes(), config.getMemoryCacheMmapThreshold(),
+				config.getFileIOThreadCount(), eaglerWeb.logger(), config.getEnableGzip(), (f) -> {
 					String name = f.getName();
 					int i = name.lastIndexOf('.');
 					if (i != -1) {
@@ -99,19 +105,71 @@ public class EaglerWebHandler {
 				eaglerWeb.logger().error("Listener does not exist: " + etr.getKey());
 			}
 		}
-		return new EaglerWebHandler(cacheBuilder.build(), builder.build(), defaultListener, config.getEnableCORS(),
+		Map<IEaglerListenerInfo, ListenerContext> listeners = builder.build();
+		IndexWatcher indexWatcher = null;
+		if (config.getEnableFileWatcher()) {
+			try {
+				indexWatcher = new IndexWatcher(cacheBuilder, eaglerWeb.logger());
+				for (Map.Entry<File, IndexNodeFolder> etr : documentRoots.entrySet()) {
+					indexWatcher.watchRoot(etr.getKey(), etr.getValue());
+				}
+				if (defaultListener != null) {
+					watchPages(indexWatcher, defaultListener);
+				}
+				for (ListenerContext ctx : listeners.values()) {
+					watchPages(indexWatcher, ctx);
+				}
+			} catch (IOException | UnsupportedOperationException ex) {
+				eaglerWeb.logger().warn("Could not watch the document roots for changes, falling back to cache expiry",
+						ex);
+				if (indexWatcher != null) {
+					indexWatcher.close();
+					indexWatcher = null;
+				}
+			}
+		}
+		// the watcher invalidates changed files, so cached responses never need to expire,
+		// files are never mapped while watching because an in-flight response could
+		// otherwise see the new contents of a file that was overwritten in place
+		ResponseCache responseCache;
+		if (indexWatcher != null) {
+			if (config.getMemoryCacheMmapThreshold() > 0l) {
+				eaglerWeb.logger().info("Memory mapped files are disabled while the file watcher is enabled");
+			}
+			responseCache = cacheBuilder.build(0l, false);
+		} else {
+			responseCache = cacheBuilder.build(config.getMemoryCacheExpiresAfter(), true);
+		}
+		if (indexWatcher != null) {
+			indexWatcher.start(responseCache);
+		}
+		return new EaglerWebHandler(responseCache, indexWatcher, listeners, defaultListener, config.getEnableCORS(),
 				eaglerWeb.getDefaultHandlers(), counter[0]);
 	}
 
+	private static void watchPages(IndexWatcher indexWatcher, ListenerContext ctx) throws IOException {
+		if (ctx.page404 != null) {
+			indexWatcher.watchFile(ctx.page404.getFile());
+		}
+		if (ctx.page429 != null) {
+			indexWatcher.watchFile(ctx.page429.getFile());
+		}
+		if (ctx.page500 != null) {
+			indexWatcher.watchFile(ctx.page500.getFile());
+		}
+	}
+
 	private static ListenerContext buildContext(ConfigDataSettings settings, ResponseCacheBuilder cacheBuilder,
 			Map<File, IndexNodeFolder> documentRoots, int[] counter) throws IOException {
 		return new ListenerContext(index(documentRoots, settings.getRootFolder(), cacheBuilder, counter),
 				settings.getPageIndexNames(),
-				settings.getPage404NotFound() != null ? cacheBuilder.createEntry(settings.getPage404NotFound()) : null,
-				settings.getPage429RateLimit() != null ? cacheBuilder.createEntry(settings.getPage429RateLimit())
+				settings.getPage404NotFound() != null ? cacheBuilder.createPageEntry(settings.getPage404NotFound())
+						: null,
+				settings.getPage429RateLimit() != null
+						? cacheBuilder.createPageEntry(settings.getPage429RateLimit())
 						: null,
 				settings.getPage500InternalError() != null
-						? cacheBuilder.createEntry(settings.getPage500InternalError())
+						? cacheBuilder.createPageEntry(settings.getPage500InternalError())
 						: null,
 				settings.isEnableAutoIndex(),
 				settings.getDateFormat() != null ? new SimpleDateFormat(settings.getDateFormat()) : null);
@@ -152,9 +210,11 @@ public class EaglerWebHandler {
 		return ret;
 	}
 
-	private EaglerWebHandler(ResponseCache responseCache, Map<IEaglerListenerInfo, ListenerContext> listeners,
-			ListenerContext defaultListener, boolean enableCORS, DefaultHandlers defaults, int totalIndexed) {
+	private EaglerWebHandler(ResponseCache responseCache, IndexWatcher indexWatcher,
+			Map<IEaglerListenerInfo, ListenerContext> listeners, ListenerContext defaultListener, boolean enableCORS,
+			DefaultHandlers defaults, int totalIndexed) {
 		this.responseCache = responseCache;
+		this.indexWatcher = indexWatcher;
 		this.listeners = listeners;
 		this.defaultListener = defaultListener;
 		this.enableCORS = enableCORS;
@@ -212,31 +272,7 @@ public class EaglerWebHandler {
 			} else {
 				code = 200;
 			}
-			ResponseLoader loader = responseCache.loadResponse(cacheKey);
-			byte[] data = loader.tryGetResponse();
-			if (data != null) {
-				if (data == ResponseCache.ERROR) {
-					break eagler;
-				}
-				completeRequest(requestContext, code, cacheKey.getType(), data);
-			} else {
-				IContextPromise promise = requestContext.suspendContext();
-				ConfigDataMIMEType cacheKeyType = cacheKey.getType();
-				loader.loadResponse((data0) -> {
-					if (data0 != ResponseCache.ERROR) {
-						completeRequest(requestContext, code, cacheKeyType, data0);
-						promise.complete();
-					} else {
-						try {
-							defaults.handle404(requestContext);
-						} catch (Exception ex) {
-							promise.complete(ex);
-							return;
-						}
-						promise.complete();
-					}
-				});
-			}
+			sendCachedResponse(requestContext, cacheKey, code, defaults::handle404);
 			return;
 		}
 		defaults.handle404(requestContext);
@@ -244,31 +280,8 @@ public class EaglerWebHandler {
 
 	public void handle429(IRequestContext requestContext) {
 		ListenerContext ctx = getListenerContext(requestContext);
-		eagler: if (ctx != null && ctx.page429 != null) {
-			ResponseLoader loader = responseCache.loadResponse(ctx.page429);
-			byte[] data = loader.tryGetResponse();
-			if (data != null) {
-				if (data == ResponseCache.ERROR) {
-					break eagler;
-				}
-				completeRequest(requestContext, 429, ctx.page429.getType(), data);
-			} else {
-				IContextPromise promise = requestContext.suspendContext();
-				loader.loadResponse((data0) -> {
-					if (data0 != ResponseCache.ERROR) {
-						completeRequest(requestContext, 429, ctx.page429.getType(), data0);
-						promise.complete();
-					} else {
-						try {
-							defaults.handle429(requestContext);
-						} catch (Exception ex) {
-							promise.complete(ex);
-							return;
-						}
-						promise.complete();
-					}
-				});
-			}
+		if (ctx != null && ctx.page429 != null) {
+			sendCachedResponse(requestContext, ctx.page429, 429, defaults::handle429);
 			return;
 		}
 		defaults.handle429(requestContext);
@@ -276,50 +289,235 @@ public class EaglerWebHandler {
 
 	public void handle500(IRequestContext requestContext) {
 		ListenerContext ctx = getListenerContext(requestContext);
-		eagler: if (ctx != null && ctx.page500 != null) {
-			ResponseLoader loader = responseCache.loadResponse(ctx.page500);
-			byte[] data = loader.tryGetResponse();
-			if (data != null) {
-				if (data == ResponseCache.ERROR) {
-					break eagler;
-				}
-				completeRequest(requestContext, 500, ctx.page500.getType(), data);
-			} else {
-				IContextPromise promise = requestContext.suspendContext();
-				loader.loadResponse((data0) -> {
-					if (data0 != ResponseCache.ERROR) {
-						completeRequest(requestContext, 500, ctx.page500.getType(), data0);
-						promise.complete();
-					} else {
-						try {
-							defaults.handle500(requestContext);
-						} catch (Exception ex) {
-							promise.complete(ex);
-							return;
-						}
-						promise.complete();
-					}
-				});
-			}
+		if (ctx != null && ctx.page500 != null) {
+			sendCachedResponse(requestContext, ctx.page500, 500, defaults::handle500);
 			return;
 		}
 		defaults.handle500(requestContext);
 	}
 
+	private void sendCachedResponse(IRequestContext requestContext, ResponseCacheKey cacheKey, int code,
+			Consumer<IRequestContext> fallback) {
+		ResponseLoader loader = responseCache.loadResponse(cacheKey);
+		ResponseData data = loader.tryGetResponse();
+		if (data != null) {
+			if (data == ResponseCache.ERROR) {
+				fallback.accept(requestContext);
+				return;
+			}
+			if (completeRequest(requestContext, code, cacheKey.getType(), data)) {
+				return;
+			}
+			// evicted from the cache before it could be sent
+			loader = responseCache.loadResponse(cacheKey);
+		}
+		IContextPromise promise = requestContext.suspendContext();
+		ConfigDataMIMEType cacheKeyType = cacheKey.getType();
+		loader.loadResponse((data0) -> {
+			if (data0 == ResponseCache.ERROR || !completeRequest(requestContext, code, cacheKeyType, data0)) {
+				try {
+					fallback.accept(requestContext);
+				} catch (Exception ex) {
+					promise.complete(ex);
+					return;
+				}
+			}
+			promise.complete();
+		});
+	}
+
 	private void addCORSHeader(IRequestContext context) {
 		if (enableCORS) {
 			context.addResponseHeader("access-control-allow-origin", "*");
 		}
 	}
 
-	private void completeRequest(IRequestContext context, int code, ConfigDataMIMEType contentType, byte[] data) {
+	private boolean completeRequest(IRequestContext context, int code, ConfigDataMIMEType contentType,
+			ResponseData data) {
+		if (!data.acquire()) {
+			return false;
+		}
+		try {
+			completeRequest0(context, code, contentType, data);
+		} finally {
+			data.release();
+		}
+		return true;
+	}
+
+	private void completeRequest0(IRequestContext context, int code, ConfigDataMIMEType contentType,
+			ResponseData data) {
 		addCORSHeader(context);
 		if (contentType != null) {
 			context.addResponseHeader("content-type", contentType.getContentTypeHeader());
 			context.addResponseHeader("cache-control", contentType.getCacheControlHeader());
 		}
+		boolean gzip = false;
+		if (data.gzipResponse != null) {
+			context.addResponseHeader("vary", "accept-encoding");
+			gzip = acceptsGzip(context.getHeader("accept-encoding"));
+		}
+		if (code == 200) {
+			context.addResponseHeader("last-modified", data.lastModifiedHeader);
+			if (isNotModified(context, data)) {
+				context.addResponseHeader("etag", gzip ? data.gzipETag : data.eTag);
+				context.setResponseCode(304);
+				context.setResponseBodyEmpty();
+				return;
+			}
+			context.addResponseHeader("accept-ranges", "bytes");
+			String range = context.getHeader("range");
+			if (range != null && checkIfRange(context.getHeader("if-range"), data)) {
+				int len = data.length;
+				long r = parseRange(range, len);
+				if (r == RANGE_UNSATISFIABLE) {
+					context.addResponseHeader("content-range", "bytes */" + len);
+					context.setResponseCode(416);
+					context.setResponseBodyEmpty();
+					return;
+				} else if (r != RANGE_IGNORE) {
+					// ranges are always served from the uncompressed file
+					int start = (int) (r >>> 32);
+					int end = (int) r;
+					context.addResponseHeader("etag", data.eTag);
+					context.addResponseHeader("content-range", "bytes " + start + "-" + end + "/" + len);
+					context.setResponseCode(206);
+					context.setResponseBody(data.response.retainedSlice(start, end - start + 1));
+					return;
+				}
+			}
+			context.addResponseHeader("etag", gzip ? data.gzipETag : data.eTag);
+		}
 		context.setResponseCode(code);
-		context.setResponseBody(data);
+		if (gzip) {
+			context.addResponseHeader("content-encoding", "gzip");
+			context.setResponseBody(data.gzipResponse.retain());
+		} else {
+			context.setResponseBody(data.response.retain());
+		}
+	}
+
+	private static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		int i = 0, l = acceptEncoding.length();
+		while (i < l) {
+			int j = acceptEncoding.indexOf(',', i);
+			if (j == -1) {
+				j = l;
+			}
+			int k = acceptEncoding.indexOf(';', i);
+			if (k == -1 || k > j) {
+				k = j;
+			}
+			String coding = acceptEncoding.substring(i, k).trim();
+			if ("gzip".equalsIgnoreCase(coding) || "*".equals(coding)) {
+				return !isZeroQValue(acceptEncoding.substring(k, j));
+			}
+			i = j + 1;
+		}
+		return false;
+	}
+
+	private static boolean isZeroQValue(String params) {
+		int i = params.indexOf("q=");
+		if (i == -1) {
+			return false;
+		}
+		try {
+			return Double.parseDouble(params.substring(i + 2).trim()) <= 0.0;
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+
+	private static boolean isNotModified(IRequestContext context, ResponseData data) {
+		String ifNoneMatch = context.getHeader("if-none-match");
+		if (ifNoneMatch != null) {
+			for (String tag : ifNoneMatch.split(",")) {
+				tag = tag.trim();
+				if (tag.startsWith("W/")) {
+					tag = tag.substring(2);
+				}
+				if ("*".equals(tag) || tag.equals(data.eTag) || tag.equals(data.gzipETag)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		String ifModifiedSince = context.getHeader("if-modified-since");
+		if (ifModifiedSince != null) {
+			long time = parseHTTPDate(ifModifiedSince);
+			return time != -1l && data.lastModified / 1000l <= time / 1000l;
+		}
+		return false;
+	}
+
+	private static boolean checkIfRange(String ifRange, ResponseData data) {
+		if (ifRange == null) {
+			return true;
+		}
+		ifRange = ifRange.trim();
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+			return ifRange.equals(data.eTag);
+		}
+		long time = parseHTTPDate(ifRange);
+		return time != -1l && data.lastModified / 1000l == time / 1000l;
+	}
+
+	private static long parseHTTPDate(String str) {
+		try {
+			return ZonedDateTime.parse(str.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+		} catch (DateTimeParseException ex) {
+			return -1l;
+		}
+	}
+
+	private static final long RANGE_IGNORE = -1l;
+	private static final long RANGE_UNSATISFIABLE = -2l;
+
+	/**
+	 * Parses a single byte range, returns the first and last byte packed into a
+	 * long, multiple ranges are not supported and are ignored
+	 */
+	private static long parseRange(String range, int len) {
+		range = range.trim();
+		if (!range.startsWith("bytes=") || range.indexOf(',') != -1) {
+			return RANGE_IGNORE;
+		}
+		int i = range.indexOf('-', 6);
+		if (i == -1) {
+			return RANGE_IGNORE;
+		}
+		String first = range.substring(6, i).trim();
+		String last = range.substring(i + 1).trim();
+		long start, end;
+		try {
+			if (first.isEmpty()) {
+				if (last.isEmpty()) {
+					return RANGE_IGNORE;
+				}
+				long suffix = Long.parseLong(last);
+				if (suffix <= 0l || len == 0) {
+					return RANGE_UNSATISFIABLE;
+				}
+				start = Math.max(len - suffix, 0l);
+				end = len - 1;
+			} else {
+				start = Long.parseLong(first);
+				end = last.isEmpty() ? len - 1 : Math.min(Long.parseLong(last), len - 1);
+				if (start < 0l || (!last.isEmpty() && Long.parseLong(last) < start)) {
+					return RANGE_IGNORE;
+				}
+				if (start >= len) {
+					return RANGE_UNSATISFIABLE;
+				}
+			}
+		} catch (NumberFormatException ex) {
+			return RANGE_IGNORE;
+		}
+		return (start << 32) | end;
 	}
 
 	private static final List<EnumRequestMethod> allowMethods = ImmutableList.of(EnumRequestMethod.GET,
@@ -344,6 +542,9 @@ public class EaglerWebHandler {
 	}
 
 	public void release() {
+		if (indexWatcher != null) {
+			indexWatcher.close();
+		}
 		responseCache.dispose();
 	}
 
@@ -17,15 +17,18 @@
 package net.lax1dude.eaglercraft.backend.eaglerweb.base;
 
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import com.google.common.collect.ImmutableMap;
+
 class IndexNodeFolder extends IndexNode implements Iterable<IndexNode> {
 
-	private final Date dateObj;
+	private volatile Date dateObj;
 	private final String name;
-	private final Map<String, IndexNode> children;
+	private volatile Map<String, IndexNode> children;
 
 	protected IndexNodeFolder(long lastModified, String name, Map<String, IndexNode> children) {
 		this.dateObj = new Date(lastModified);
@@ -33,6 +36,30 @@ class IndexNodeFolder extends IndexNode implements Iterable<IndexNode> {
 		this.children = children;
 	}
 
+	// children are copy-on-write, only the file watcher thread modifies them
+
+	synchronized void putChild(String name, IndexNode node) {
+		node.parent = this;
+		Map<String, IndexNode> map = new HashMap<>(children);
+		map.put(name, node);
+		children = ImmutableMap.copyOf(map);
+	}
+
+	synchronized IndexNode removeChild(String name) {
+		Map<String, IndexNode> old = children;
+		if (!old.containsKey(name)) {
+			return null;
+		}
+		Map<String, IndexNode> map = new HashMap<>(old);
+		IndexNode ret = map.remove(name);
+		children = ImmutableMap.copyOf(map);
+		return ret;
+	}
+
+	void setLastModified(long lastModified) {
+		this.dateObj = new Date(lastModified);
+	}
+
 	@Override
 	IndexNode find(CharSequence charSeq) {
 		return children.get(charSeq);
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.eaglerweb.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableMap;
+
+import net.lax1dude.eaglercraft.backend.eaglerweb.adapter.IEaglerWebLogger;
+
+/**
+ * Keeps the document root indexes in sync with the filesystem and invalidates
+ * cached responses for files that change. A file that is rewritten in place can
+ * be read while it is only partly written, so deploys should write the new file
+ * under a temporary name and rename it over the old one.
+ */
+class IndexWatcher {
+
+	private static final long DEBOUNCE_MS = 250l;
+
+	private final ResponseCacheBuilder cacheBuilder;
+	private final IEaglerWebLogger logger;
+	private final WatchService watchService;
+	private final Map<WatchKey, List<WatchedDir>> watchedDirs = new HashMap<>();
+	private volatile ResponseCache responseCache;
+
+	private static class WatchedDir {
+
+		protected final File file;
+		protected final IndexNodeFolder folder;
+		protected final WatchedDir parent;
+		protected final Map<String, WatchedDir> subdirs = new HashMap<>();
+		protected WatchKey key;
+
+		protected WatchedDir(File file, IndexNodeFolder folder, WatchedDir parent) {
+			this.file = file;
+			this.folder = folder;
+			this.parent = parent;
+		}
+
+	}
+
+	IndexWatcher(ResponseCacheBuilder cacheBuilder, IEaglerWebLogger logger) throws IOException {
+		this.cacheBuilder = cacheBuilder;
+		this.logger = logger;
+		this.watchService = FileSystems.getDefault().newWatchService();
+	}
+
+	void watchRoot(File file, IndexNodeFolder root) throws IOException {
+		watchTree(new WatchedDir(file, root, null));
+	}
+
+	void watchFile(File file) throws IOException {
+		File dir = file.getParentFile();
+		if (dir == null || !dir.isDirectory()) {
+			return;
+		}
+		WatchKey key = register(dir);
+		List<WatchedDir> list = watchedDirs.computeIfAbsent(key, (k) -> new ArrayList<>(1));
+		if (list.isEmpty()) {
+			// not part of any document root, only invalidate the pages
+			WatchedDir watchedDir = new WatchedDir(dir, null, null);
+			watchedDir.key = key;
+			list.add(watchedDir);
+		}
+	}
+
+	private void watchTree(WatchedDir dir) throws IOException {
+		register(dir);
+		File[] files = dir.file.listFiles();
+		if (files == null) {
+			throw new IOException("Could not list directory: " + dir.file.getAbsolutePath());
+		}
+		for (File child : files) {
+			if (child.isDirectory()) {
+				String name = child.getName();
+				if (dir.folder.find(name) instanceof IndexNodeFolder folder) {
+					WatchedDir subdir = new WatchedDir(child, folder, dir);
+					dir.subdirs.put(name, subdir);
+					watchTree(subdir);
+				} else {
+					// empty folders are left out of the index, but still need to be watched
+					createDir(child, dir);
+				}
+			}
+		}
+	}
+
+	private WatchKey register(File dir) throws IOException {
+		return dir.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+	}
+
+	private void register(WatchedDir dir) throws IOException {
+		WatchKey key = register(dir.file);
+		dir.key = key;
+		watchedDirs.computeIfAbsent(key, (k) -> new ArrayList<>(1)).add(dir);
+	}
+
+	private void unregister(WatchedDir dir) {
+		for (WatchedDir subdir : dir.subdirs.values()) {
+			unregister(subdir);
+		}
+		dir.subdirs.clear();
+		List<WatchedDir> list = watchedDirs.get(dir.key);
+		if (list != null) {
+			list.remove(dir);
+			if (list.isEmpty()) {
+				watchedDirs.remove(dir.key);
+				dir.key.cancel();
+			}
+		}
+		for (IndexNode node : dir.folder) {
+			if (!node.isDirectory()) {
+				ResponseCacheKey key = node.getResponse(null);
+				cacheBuilder.removeEntry(key.getFile());
+				invalidate(key);
+			}
+		}
+	}
+
+	private WatchedDir createDir(File file, WatchedDir parent) throws IOException {
+		WatchedDir dir = new WatchedDir(file,
+				new IndexNodeFolder(file.lastModified(), file.getName(), ImmutableMap.of()), parent);
+		parent.subdirs.put(file.getName(), dir);
+		register(dir);
+		String[] names = file.list();
+		if (names == null) {
+			throw new IOException("Could not list directory: " + file.getAbsolutePath());
+		}
+		for (String name : names) {
+			update(dir, name);
+		}
+		attach(dir);
+		return dir;
+	}
+
+	void start(ResponseCache responseCache) {
+		this.responseCache = responseCache;
+		Thread thread = new Thread(this::run, "EaglerWeb File Watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	void close() {
+		try {
+			watchService.close();
+		} catch (IOException e) {
+		}
+	}
+
+	private void run() {
+		Set<WatchKey> pending = new LinkedHashSet<>();
+		try {
+			for (;;) {
+				// wait for the burst of events to settle, editors and copies touch files several times
+				pending.add(watchService.take());
+				WatchKey key;
+				while ((key = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+					pending.add(key);
+				}
+				for (WatchKey k : pending) {
+					List<WatchEvent<?>> events = k.pollEvents();
+					boolean valid = k.reset();
+					List<WatchedDir> dirs = watchedDirs.get(k);
+					if (dirs == null) {
+						continue;
+					}
+					for (WatchedDir dir : new ArrayList<>(dirs)) {
+						try {
+							handleEvents(dir, events);
+						} catch (Throwable ex) {
+							if (ex instanceof ThreadDeath exx) {
+								throw exx;
+							}
+							logger.error("Failed to update index for directory: " + dir.file.getAbsolutePath(), ex);
+						}
+					}
+					if (!valid) {
+						watchedDirs.remove(k);
+					}
+				}
+				pending.clear();
+			}
+		} catch (ClosedWatchServiceException | InterruptedException ex) {
+		}
+	}
+
+	private void handleEvents(WatchedDir dir, List<WatchEvent<?>> events) throws IOException {
+		Set<String> names = new LinkedHashSet<>();
+		for (WatchEvent<?> event : events) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				names = null;
+				break;
+			}
+			names.add(event.context().toString());
+		}
+		if (names == null) {
+			names = listNames(dir);
+		}
+		if (dir.folder == null) {
+			for (String name : names) {
+				ResponseCacheKey key = cacheBuilder.getEntry(new File(dir.file, name));
+				if (key != null) {
+					key.refresh();
+					invalidate(key);
+				}
+			}
+		} else {
+			for (String name : names) {
+				update(dir, name);
+			}
+			dir.folder.setLastModified(dir.file.lastModified());
+			attach(dir);
+		}
+	}
+
+	private Set<String> listNames(WatchedDir dir) {
+		Set<String> names = new LinkedHashSet<>();
+		String[] list = dir.file.list();
+		if (list != null) {
+			Collections.addAll(names, list);
+		}
+		if (dir.folder != null) {
+			for (IndexNode node : dir.folder) {
+				names.add(node.getName());
+			}
+			names.addAll(dir.subdirs.keySet());
+		}
+		return names;
+	}
+
+	private void update(WatchedDir dir, String name) throws IOException {
+		File file = new File(dir.file, name);
+		IndexNode node = dir.folder.find(name);
+		WatchedDir subdir = dir.subdirs.get(name);
+		if (file.isDirectory()) {
+			if (subdir == null) {
+				if (node != null) {
+					dir.folder.removeChild(name);
+					ResponseCacheKey key = node.getResponse(null);
+					cacheBuilder.removeEntry(key.getFile());
+					invalidate(key);
+				}
+				createDir(file, dir);
+			}
+		} else {
+			if (subdir != null) {
+				dir.subdirs.remove(name);
+				dir.folder.removeChild(name);
+				unregister(subdir);
+			}
+			if (file.isFile()) {
+				ResponseCacheKey key = cacheBuilder.createEntry(file);
+				key.refresh();
+				dir.folder.putChild(name, new IndexNodeFile(key));
+				invalidate(key);
+			} else if (node != null && !node.isDirectory()) {
+				dir.folder.removeChild(name);
+				ResponseCacheKey key = node.getResponse(null);
+				cacheBuilder.removeEntry(file);
+				key.refresh();
+				invalidate(key);
+			}
+		}
+	}
+
+	private void attach(WatchedDir dir) {
+		WatchedDir parent = dir.parent;
+		if (parent == null) {
+			return;
+		}
+		String name = dir.file.getName();
+		boolean attached = parent.folder.find(name) == dir.folder;
+		if (dir.folder.isEmpty()) {
+			if (attached) {
+				parent.folder.removeChild(name);
+				attach(parent);
+			}
+		} else if (!attached) {
+			parent.folder.putChild(name, dir.folder);
+			attach(parent);
+		}
+	}
+
+	private void invalidate(ResponseCacheKey key) {
+		ResponseCache cache = responseCache;
+		if (cache != null) {
+			cache.invalidate(key);
+		}
+	}
+
+}
@@ -22,6 +22,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -31,16 +35,20 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
 
 import net.lax1dude.eaglercraft.backend.eaglerweb.adapter.IEaglerWebLogger;
+import net.lax1dude.eaglercraft.backend.server.api.webserver.IWebServer;
 
 class ResponseCache {
 
-	static final byte[] ERROR = new byte[0];
+	static final ResponseData ERROR = new ResponseData(null, null, 0, 0l, 0);
 
 	class ResponseLoader {
 
@@ -49,30 +57,39 @@ class ResponseCache {
 		static {
 			try {
 				MethodHandles.Lookup l = MethodHandles.lookup();
-				RESULT_HANDLE = l.findVarHandle(ResponseLoader.class, "data", byte[].class);
+				RESULT_HANDLE = l.findVarHandle(ResponseLoader.class, "data", ResponseData.class);
 			} catch (ReflectiveOperationException e) {
 				throw new ExceptionInInitializerError(e);
 			}
 		}
 
 		private final ResponseCacheKey key;
-		private volatile byte[] data;
-		private List<Consumer<byte[]>> waitingCallbacks;
+		private final int weight;
+		private volatile ResponseData data;
+		private List<Consumer<ResponseData>> waitingCallbacks;
+		private boolean disposed;
 
 		protected ResponseLoader(ResponseCacheKey key) {
 			this.key = key;
+			long len = Math.max(key.getFile().length(), 1l);
+			if (enableGzip && len >= MIN_GZIP_SIZE) {
+				// the cache is weighed before the file is loaded, so reserve room for the
+				// largest gzip variant that would be kept (87.5% of the original)
+				len += len - (len >> 3);
+			}
+			this.weight = (int) Math.min(len, Integer.MAX_VALUE);
 		}
 
-		byte[] tryGetResponse() {
-			return (byte[]) RESULT_HANDLE.getAcquire(this);
+		ResponseData tryGetResponse() {
+			return (ResponseData) RESULT_HANDLE.getAcquire(this);
 		}
 
-		void loadResponse(Consumer<byte[]> consumer) {
-			byte[] data = (byte[]) RESULT_HANDLE.getAcquire(this);
+		void loadResponse(Consumer<ResponseData> consumer) {
+			ResponseData data = (ResponseData) RESULT_HANDLE.getAcquire(this);
 			if (data == null) {
 				eagler: {
 					synchronized (this) {
-						data = (byte[]) RESULT_HANDLE.getAcquire(this);
+						data = (ResponseData) RESULT_HANDLE.getAcquire(this);
 						if (data != null) {
 							break eagler;
 						}
@@ -88,18 +105,29 @@ class ResponseCache {
 						if (data0 == null) {
 							data0 = ERROR;
 						}
-						List<Consumer<byte[]>> cb;
+						List<Consumer<ResponseData>> cb;
+						boolean disp;
 						synchronized (this) {
-							if ((byte[]) RESULT_HANDLE.getAcquire(this) != null) {
+							if ((ResponseData) RESULT_HANDLE.getAcquire(this) != null) {
+								if (data0 != ERROR) {
+									data0.release();
+								}
 								return;
 							}
 							RESULT_HANDLE.setRelease(this, data0);
 							cb = waitingCallbacks;
 							waitingCallbacks = null;
+							disp = disposed;
 						}
-						if (cb != null) {
-							for (int i = 0, l = cb.size(); i < l; ++i) {
-								cb.get(i).accept(data0);
+						try {
+							if (cb != null) {
+								for (int i = 0, l = cb.size(); i < l; ++i) {
+									cb.get(i).accept(data0);
+								}
+							}
+						} finally {
+							if (disp && data0 != ERROR) {
+								data0.release();
 							}
 						}
 					});
@@ -109,17 +137,41 @@ class ResponseCache {
 			consumer.accept(data);
 		}
 
+		void dispose() {
+			ResponseData data;
+			synchronized (this) {
+				disposed = true;
+				data = (ResponseData) RESULT_HANDLE.getAcquire(this);
+			}
+			if (data != null && data != ERROR) {
+				data.release();
+			}
+		}
+
 	}
 
 	private static final int MAX_BUFFER_SIZE = 4 * 1024 * 1024;
+	private static final int MIN_GZIP_SIZE = 256;
+
+	private static final byte[] GZIP_HEADER = new byte[] { (byte) 0x1F, (byte) 0x8B, (byte) 8, (byte) 0, (byte) 0,
+			(byte) 0, (byte) 0, (byte) 0, (byte) 2, (byte) 0xFF };
 
 	private class ResponseLoaderContext {
 
 		protected final Thread thread;
 		protected byte[] loaderBuffer;
+		protected byte[] gzipBuffer;
+		protected final Deflater deflater;
+		protected final CRC32 crc32 = new CRC32();
 
 		protected ResponseLoaderContext(int i) {
 			loaderBuffer = new byte[1024 * 1024];
+			if (enableGzip) {
+				gzipBuffer = new byte[1024 * 1024];
+				deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+			} else {
+				deflater = null;
+			}
 			thread = new Thread(() -> {
 				for (;;) {
 					try {
@@ -135,13 +187,44 @@ class ResponseCache {
 						logger.error("Caught exception in worker thread #" + (i + 1), ex);
 					}
 				}
+				if (deflater != null) {
+					deflater.end();
+				}
 				disposeLatch.countDown();
 			}, "EaglerWeb IO Thread #" + (i + 1));
 			thread.setDaemon(true);
 			thread.start();
 		}
 
-		protected byte[] loadFileAsByte(File file) {
+		protected ResponseData loadFile(File file) {
+			long lastModified = file.lastModified();
+			ByteBuffer data;
+			if (mmapThreshold > 0l && file.length() >= mmapThreshold) {
+				data = mapFile(file);
+			} else {
+				data = loadFileAsByte(file);
+			}
+			if (data == null) {
+				return null;
+			}
+			crc32.reset();
+			crc32.update(data.duplicate());
+			int crc = (int) crc32.getValue();
+			int len = data.remaining();
+			byte[] gzip = null;
+			if (deflater != null && len >= MIN_GZIP_SIZE) {
+				gzip = compressGzip(data.duplicate(), len, crc);
+				if (gzip != null && gzip.length > len - (len >> 3)) {
+					// not worth it, less than 12.5% smaller
+					gzip = null;
+				}
+			}
+			// heap buffers are copied off-heap here, mapped files are wrapped
+			return new ResponseData(webServer.prepareResponse(data),
+					gzip != null ? webServer.prepareResponse(ByteBuffer.wrap(gzip)) : null, len, lastModified, crc);
+		}
+
+		protected ByteBuffer loadFileAsByte(File file) {
 			byte[] buf = loaderBuffer;
 			int len = buf.length;
 			int i, j = 0;
@@ -166,7 +249,58 @@ class ResponseCache {
 				logger.error("Could not load file: " + file.getAbsolutePath(), ex);
 				return null;
 			}
-			return Arrays.copyOf(buf, j);
+			return ByteBuffer.wrap(buf, 0, j);
+		}
+
+		protected ByteBuffer mapFile(File file) {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				long size = channel.size();
+				if (size > (Integer.MAX_VALUE >> 1)) {
+					throw new IOException("File is too large: " + file.getAbsolutePath());
+				}
+				return channel.map(MapMode.READ_ONLY, 0l, size);
+			} catch (IOException ex) {
+				logger.error("Could not map file: " + file.getAbsolutePath(), ex);
+				return null;
+			}
+		}
+
+		private byte[] compressGzip(ByteBuffer data, int dataLen, int crc) {
+			byte[] buf = gzipBuffer;
+			int len = buf.length;
+			System.arraycopy(GZIP_HEADER, 0, buf, 0, GZIP_HEADER.length);
+			int j = GZIP_HEADER.length;
+			Deflater def = deflater;
+			def.reset();
+			def.setInput(data);
+			def.finish();
+			while (!def.finished()) {
+				j += def.deflate(buf, j, len - j);
+				if (j >= len) {
+					if (len >= (Integer.MAX_VALUE >> 1)) {
+						logger.error("Compressed file is too large");
+						return null;
+					}
+					int newLen = (len << 1);
+					byte[] newBuf = new byte[newLen];
+					System.arraycopy(buf, 0, newBuf, 0, len);
+					buf = newBuf;
+					len = newLen;
+					if (newLen <= MAX_BUFFER_SIZE) {
+						gzipBuffer = buf;
+					}
+				}
+			}
+			byte[] ret = Arrays.copyOf(buf, j + 8);
+			ret[j] = (byte) crc;
+			ret[j + 1] = (byte) (crc >>> 8);
+			ret[j + 2] = (byte) (crc >>> 16);
+			ret[j + 3] = (byte) (crc >>> 24);
+			ret[j + 4] = (byte) dataLen;
+			ret[j + 5] = (byte) (dataLen >>> 8);
+			ret[j + 6] = (byte) (dataLen >>> 16);
+			ret[j + 7] = (byte) (dataLen >>> 24);
+			return ret;
 		}
 
 	}
@@ -178,21 +312,45 @@ class ResponseCache {
 	private static final ResponseLoaderRunnable TERMINATE = (ctx) -> {};
 
 	protected final LoadingCache<ResponseCacheKey, ResponseLoader> cache;
+	protected final IWebServer webServer;
 	protected final IEaglerWebLogger logger;
 	protected final ResponseLoaderContext[] threads;
 	protected final BlockingQueue<ResponseLoaderRunnable> queue = new LinkedBlockingQueue<>();
 	protected final CountDownLatch disposeLatch;
+	protected final boolean enableGzip;
+	protected final long mmapThreshold;
 
-	ResponseCache(long expiresAfter, int maxCacheFiles, int threadCount, IEaglerWebLogger loggerIn) {
+	ResponseCache(IWebServer webServer, long expiresAfter, int maxCacheFiles, long maxCacheBytes,
+			long mmapThreshold, int threadCount, IEaglerWebLogger loggerIn, boolean enableGzip) {
+		this.webServer = webServer;
 		logger = loggerIn;
-		cache = CacheBuilder.newBuilder().concurrencyLevel(8).expireAfterWrite(expiresAfter, TimeUnit.MILLISECONDS)
-				.initialCapacity(Math.min(256, maxCacheFiles)).maximumSize(maxCacheFiles)
-				.build(new CacheLoader<ResponseCacheKey, ResponseLoader>() {
-					@Override
-					public ResponseLoader load(ResponseCacheKey key) throws Exception {
-						return new ResponseLoader(key);
-					}
-				});
+		this.enableGzip = enableGzip;
+		this.mmapThreshold = mmapThreshold;
+		CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().initialCapacity(Math.min(256, maxCacheFiles));
+		if (expiresAfter > 0l) {
+			builder.expireAfterWrite(expiresAfter, TimeUnit.MILLISECONDS);
+		}
+		if (maxCacheBytes > 0l) {
+			// each segment gets an equal share of the weight budget and evicts anything
+			// heavier on insert, a single segment lets large files use the whole budget
+			builder.concurrencyLevel(1).maximumWeight(maxCacheBytes)
+					.weigher((ResponseCacheKey key, ResponseLoader value) -> {
+						return value.weight;
+					});
+		} else {
+			builder.concurrencyLevel(8).maximumSize(maxCacheFiles);
+		}
+		cache = builder.removalListener((RemovalNotification<ResponseCacheKey, ResponseLoader> notif) -> {
+			ResponseLoader loader = notif.getValue();
+			if (loader != null) {
+				loader.dispose();
+			}
+		}).build(new CacheLoader<ResponseCacheKey, ResponseLoader>() {
+			@Override
+			public ResponseLoader load(ResponseCacheKey key) throws Exception {
+				return new ResponseLoader(key);
+			}
+		});
 		disposeLatch = new CountDownLatch(threadCount);
 		threads = new ResponseLoaderContext[threadCount];
 	}
@@ -208,6 +366,10 @@ class ResponseCache {
 		}
 	}
 
+	void invalidate(ResponseCacheKey key) {
+		cache.invalidate(key);
+	}
+
 	ResponseCache start() {
 		for (int i = 0; i < threads.length; ++i) {
 			threads[i] = new ResponseLoaderContext(i);
@@ -215,9 +377,9 @@ class ResponseCache {
 		return this;
 	}
 
-	protected void loadFileAsync(File file, Consumer<byte[]> callback) {
+	protected void loadFileAsync(File file, Consumer<ResponseData> callback) {
 		ResponseLoaderRunnable runnable = (ctx) -> {
-			callback.accept(ctx.loadFileAsByte(file));
+			callback.accept(ctx.loadFile(file));
 		};
 		queue.add(runnable);
 	}
@@ -230,6 +392,7 @@ class ResponseCache {
 			disposeLatch.await();
 		} catch (InterruptedException e) {
 		}
+		cache.invalidateAll();
 	}
 
 }
@@ -18,22 +18,38 @@ package net.lax1dude.eaglercraft.backend.eaglerweb.base;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 import net.lax1dude.eaglercraft.backend.eaglerweb.adapter.IEaglerWebLogger;
 import net.lax1dude.eaglercraft.backend.eaglerweb.base.EaglerWebConfig.ConfigDataMIMEType;
+import net.lax1dude.eaglercraft.backend.server.api.webserver.IWebServer;
 
 class ResponseCacheBuilder {
 
-	private final ResponseCache cache;
+	private final IWebServer webServer;
+	private final int maxCacheFiles;
+	private final long maxCacheBytes;
+	private final long mmapThreshold;
+	private final int threadCount;
+	private final IEaglerWebLogger logger;
+	private final boolean enableGzip;
 	private final Map<File, ResponseCacheKey> map = new HashMap<>();
+	private final Set<File> pages = new HashSet<>();
 	private final Function<File, ConfigDataMIMEType> typeMapper;
 	private final Function<File, ResponseCacheKey> factory;
 
-	ResponseCacheBuilder(long expiresAfter, int maxCacheFiles, int threadCount, IEaglerWebLogger loggerIn,
-			Function<File, ConfigDataMIMEType> mimes) {
-		cache = new ResponseCache(expiresAfter, maxCacheFiles, threadCount, loggerIn);
+	ResponseCacheBuilder(IWebServer webServer, int maxCacheFiles, long maxCacheBytes, long mmapThreshold,
+			int threadCount, IEaglerWebLogger loggerIn, boolean enableGzip, Function<File, ConfigDataMIMEType> mimes) {
+		this.webServer = webServer;
+		this.maxCacheFiles = maxCacheFiles;
+		this.maxCacheBytes = maxCacheBytes;
+		this.mmapThreshold = mmapThreshold;
+		this.threadCount = threadCount;
+		this.logger = loggerIn;
+		this.enableGzip = enableGzip;
 		typeMapper = mimes;
 		factory = (f) -> {
 			return new ResponseCacheKey(f, typeMapper.apply(f));
@@ -44,8 +60,25 @@ class ResponseCacheBuilder {
 		return map.computeIfAbsent(file, factory);
 	}
 
-	ResponseCache build() {
-		return cache.start();
+	ResponseCacheKey createPageEntry(File file) {
+		pages.add(file);
+		return createEntry(file);
+	}
+
+	ResponseCacheKey getEntry(File file) {
+		return map.get(file);
+	}
+
+	void removeEntry(File file) {
+		// error pages keep their key, the listener holds on to it for as long as it runs
+		if (!pages.contains(file)) {
+			map.remove(file);
+		}
+	}
+
+	ResponseCache build(long expiresAfter, boolean allowMmap) {
+		return new ResponseCache(webServer, expiresAfter, maxCacheFiles, maxCacheBytes, allowMmap ? mmapThreshold : 0l,
+				threadCount, logger, enableGzip).start();
 	}
 
 }
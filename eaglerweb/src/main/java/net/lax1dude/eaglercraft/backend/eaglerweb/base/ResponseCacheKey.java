@@ -23,7 +23,7 @@ import net.lax1dude.eaglercraft.backend.eaglerweb.base.EaglerWebConfig.ConfigDat
 class ResponseCacheKey {
 
 	private final File file;
-	private final long lastModified;
+	private volatile long lastModified;
 	private final ConfigDataMIMEType type;
 
 	ResponseCacheKey(File file, ConfigDataMIMEType type) {
@@ -40,6 +40,10 @@ class ResponseCacheKey {
 		return lastModified;
 	}
 
+	void refresh() {
+		this.lastModified = file.lastModified();
+	}
+
 	ConfigDataMIMEType getType() {
 		return type;
 	}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.eaglerweb.base;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import net.lax1dude.eaglercraft.backend.server.api.webserver.IPreparedResponse;
+
+class ResponseData {
+
+	static final DateTimeFormatter HTTP_DATE_FORMAT = DateTimeFormatter
+			.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+	private static final VarHandle REF_CNT_HANDLE;
+
+	static {
+		try {
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			REF_CNT_HANDLE = l.findVarHandle(ResponseData.class, "refCnt", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	final IPreparedResponse response;
+	final IPreparedResponse gzipResponse;
+	final int length;
+	final long lastModified;
+	final String lastModifiedHeader;
+	final String eTag;
+	final String gzipETag;
+
+	private int refCnt = 1;
+
+	ResponseData(IPreparedResponse response, IPreparedResponse gzipResponse, int length, long lastModified,
+			int crc) {
+		this.response = response;
+		this.gzipResponse = gzipResponse;
+		this.length = length;
+		this.lastModified = lastModified;
+		this.lastModifiedHeader = HTTP_DATE_FORMAT.format(Instant.ofEpochMilli(lastModified));
+		String tag = Integer.toHexString(length) + "-" + Integer.toHexString(crc);
+		this.eTag = "\"" + tag + "\"";
+		this.gzipETag = gzipResponse != null ? "\"" + tag + "-gz\"" : null;
+	}
+
+	/**
+	 * Fails if the data was already evicted from the cache and released, the
+	 * buffers must be retained before calling release again
+	 */
+	boolean acquire() {
+		int i;
+		do {
+			i = (int) REF_CNT_HANDLE.getVolatile(this);
+			if (i <= 0) {
+				return false;
+			}
+		} while (!REF_CNT_HANDLE.compareAndSet(this, i, i + 1));
+		return true;
+	}
+
+	void release() {
+		if ((int) REF_CNT_HANDLE.getAndAdd(this, -1) == 1) {
+			if (response != null) {
+				response.release();
+			}
+			if (gzipResponse != null) {
+				gzipResponse.release();
+			}
+		}
+	}
+
+}
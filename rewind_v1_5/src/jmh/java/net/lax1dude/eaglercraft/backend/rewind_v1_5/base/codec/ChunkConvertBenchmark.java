@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025 lax1dude, ayunami2000. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Compares the per-block convertType2Legacy switch that convertChunk2Legacy
+ * used to run with the LEGACY_BLOCK_TYPES lookup table, on a full 16 section
+ * chunk with sky light and biomes, run with gradlew :rewind_v1_5:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkConvertBenchmark {
+
+	private static final int BITMAP = 0xFFFF;
+	private static final int SECTIONS = 16;
+	private static final int DATA_LEN = SECTIONS * (8192 + 2048 + 2048) + 256;
+
+	private ByteBuf input;
+	private ByteBuf output;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(0x1337l);
+		input = Unpooled.buffer(DATA_LEN);
+		for (int i = 0; i < SECTIONS * 4096; ++i) {
+			// mostly stone and air with a spread of the other 1.8 blocks
+			int r = random.nextInt(100);
+			int type = r < 50 ? 1 : (r < 80 ? 0 : random.nextInt(198));
+			input.writeShortLE((type << 4) | random.nextInt(16));
+		}
+		byte[] tail = new byte[DATA_LEN - SECTIONS * 8192];
+		random.nextBytes(tail);
+		input.writeBytes(tail);
+		output = Unpooled.buffer(DATA_LEN);
+		ByteBuf expected = Unpooled.buffer(DATA_LEN);
+		switchConvert(BITMAP, DATA_LEN, input.readerIndex(0), expected);
+		tableConvert();
+		if (!ByteBufUtil.equals(expected, output)) {
+			throw new IllegalStateException("Lookup table output does not match the switch");
+		}
+		expected.release();
+	}
+
+	@Benchmark
+	public ByteBuf switchConvert() {
+		output.clear();
+		switchConvert(BITMAP, DATA_LEN, input.readerIndex(0), output);
+		return output;
+	}
+
+	@Benchmark
+	public ByteBuf tableConvert() {
+		output.clear();
+		BufferUtils.convertChunk2Legacy(BITMAP, DATA_LEN, input.readerIndex(0), output);
+		return output;
+	}
+
+	/**
+	 * The little endian path of convertChunk2Legacy before the lookup table
+	 */
+	private static void switchConvert(int bitmap, int data18len, ByteBuf data18, ByteBuf bb) {
+		int absInd = data18.readerIndex();
+		int absWInd = bb.writerIndex();
+		int count = Integer.bitCount(bitmap);
+		int guh1 = 8192 * count;
+		int guh = data18len - guh1;
+		int guh2 = count * (4096 + 2048);
+		int count2 = 8192 * count;
+		int count3 = 4096 * count;
+		bb.ensureWritable(guh2 + guh);
+
+		for (int i = 0; i < count2; i += 4) {
+			int state = data18.getIntLE(absInd + i);
+			bb.setShortLE(absWInd + (i >> 1), BufferUtils.convertType2Legacy((state >>> 4) & 0xFFF)
+					| (BufferUtils.convertType2Legacy(state >>> 20) << 8));
+			bb.setByte(absWInd + count3 + (i >> 2), (byte) ((state & 0xF) | (((state >>> 16) & 0xF) << 4)));
+		}
+
+		if (guh == 256 && data18.readableBytes() - (absInd + guh1) < 256) {
+			bb.setZero(absWInd + guh2, 256);
+			data18.skipBytes(data18len - 256);
+		} else {
+			data18.getBytes(absInd + guh1, bb, absWInd + guh2, guh);
+			data18.skipBytes(data18len);
+		}
+		bb.writerIndex(absWInd + guh2 + guh);
+	}
+
+}
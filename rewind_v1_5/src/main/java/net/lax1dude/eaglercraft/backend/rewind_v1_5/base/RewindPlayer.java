@@ -26,6 +26,7 @@ import java.util.zip.Inflater;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.adapter.IRewindLogger;
+import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec.ItemNBTCache;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.zstream.HackedBufferedInputStream;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.zstream.HackedBufferedOutputStream;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.zstream.HackedDataOutputStream;
@@ -63,6 +64,7 @@ public class RewindPlayer<PlayerObject> {
 	private DataInputStream ungzipperStreamOuter;
 	private ReusableGZIPOutputStream gzipperStream;
 	private DataOutputStream gzipperStreamOuter;
+	private ItemNBTCache itemNBTCache;
 
 	private final IntSet enchWindows;
 
@@ -170,6 +172,13 @@ public class RewindPlayer<PlayerObject> {
 		return this.gzipperStreamOuter;
 	}
 
+	public ItemNBTCache getItemNBTCache() {
+		if (this.itemNBTCache == null && RewindProtocol.ITEM_CACHE_SIZE_KB > 0) {
+			this.itemNBTCache = new ItemNBTCache(RewindProtocol.ITEM_CACHE_SIZE_KB * 1024);
+		}
+		return this.itemNBTCache;
+	}
+
 	public IntSet getEnchWindows() {
 		return this.enchWindows;
 	}
@@ -21,6 +21,8 @@ import java.util.UUID;
 
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.adapter.IRewindLogger;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.adapter.IRewindPlatform;
+import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec.ChunkConversionCache;
+import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec.ItemNBTCache;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec.RewindChannelHandler;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec.RewindHandshakeCodec;
 import net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec.RewindMessageHandler;
@@ -37,12 +39,22 @@ public class RewindProtocol<PlayerObject> implements IEaglerXRewindProtocol<Play
 
 	public static final UUID BRAND_EAGLERXREWIND_1_5_2 = UUID.fromString("65f7ac16-3354-4dfa-bd07-624922fd7962");
 
+	public static final int CHUNK_CACHE_SIZE_MB = Integer.getInteger("eaglerxrewind.chunkCacheSizeMB", 32);
+	public static final int ITEM_CACHE_SIZE_KB = Integer.getInteger("eaglerxrewind.itemCacheSizeKB", 64);
+	public static final int SHARED_ITEM_CACHE_SIZE_KB = Integer.getInteger("eaglerxrewind.sharedItemCacheSizeKB", 0);
+
 	private final IRewindPlatform<PlayerObject> platform;
+	private final ChunkConversionCache chunkCache;
+	private final ItemNBTCache sharedItemCache;
 
 	private IEaglerXServerAPI<PlayerObject> server;
 
 	public RewindProtocol(IRewindPlatform<PlayerObject> platform) {
 		this.platform = platform;
+		this.chunkCache = CHUNK_CACHE_SIZE_MB > 0 ? new ChunkConversionCache(CHUNK_CACHE_SIZE_MB * 1024l * 1024l)
+				: null;
+		this.sharedItemCache = SHARED_ITEM_CACHE_SIZE_KB > 0 ? new ItemNBTCache(SHARED_ITEM_CACHE_SIZE_KB * 1024)
+				: null;
 	}
 
 	public IRewindPlatform<PlayerObject> getPlatform() {
@@ -57,6 +69,14 @@ public class RewindProtocol<PlayerObject> implements IEaglerXRewindProtocol<Play
 		return platform.logger();
 	}
 
+	public ChunkConversionCache getChunkCache() {
+		return chunkCache;
+	}
+
+	public ItemNBTCache getSharedItemNBTCache() {
+		return sharedItemCache;
+	}
+
 	@Override
 	public void handleRegistered(IEaglerXServerAPI<PlayerObject> server) {
 		// On startup
@@ -69,6 +89,18 @@ public class RewindProtocol<PlayerObject> implements IEaglerXRewindProtocol<Play
 	public void handleUnregistered(IEaglerXServerAPI<PlayerObject> server) {
 		// On shutdown
 		server.getBrandService().unregisterBrand(BRAND_EAGLERXREWIND_1_5_2);
+		if (chunkCache != null) {
+			long hits = chunkCache.getHits();
+			long total = hits + chunkCache.getMisses();
+			if (total > 0l) {
+				logger().info("Chunk conversion cache: " + hits + " hits out of " + total + " chunks ("
+						+ Math.round(chunkCache.getHitRate() * 100.0f) + "% hit rate)");
+			}
+			chunkCache.clear();
+		}
+		if (sharedItemCache != null) {
+			sharedItemCache.clear();
+		}
 		logger().info("EaglerXRewind protocol for Eaglercraft 1.5.2 has been unregistered");
 	}
 
@@ -31,6 +31,12 @@ public class BufferUtils {
 	public static final boolean CHARSEQ_SUPPORT;
 	public static final boolean LITTLE_ENDIAN_SUPPORT;
 
+	/**
+	 * Legacy block type for every 12 bit 1.8 block type, metadata is never
+	 * remapped so the chunk converter only needs to look up the type
+	 */
+	private static final byte[] LEGACY_BLOCK_TYPES;
+
 	static {
 		boolean b = false;
 		try {
@@ -46,6 +52,11 @@ public class BufferUtils {
 		} catch (ReflectiveOperationException ex) {
 		}
 		LITTLE_ENDIAN_SUPPORT = b;
+		byte[] types = new byte[4096];
+		for (int i = 0; i < 4096; ++i) {
+			types[i] = (byte) convertType2Legacy(i);
+		}
+		LEGACY_BLOCK_TYPES = types;
 	}
 
 	public static CharSequence readCharSequence(ByteBuf buffer, int len, Charset charset) {
@@ -361,7 +372,33 @@ public class BufferUtils {
 			bb.writeShort(-1);
 			return;
 		}
-		buffer.readerIndex(buffer.readerIndex() - 1);
+		int start = buffer.readerIndex() - 1;
+		buffer.readerIndex(start);
+
+		ItemNBTCache localCache = context.getItemNBTCache();
+		ItemNBTCache sharedCache = context.getRewind().getSharedItemNBTCache();
+		ItemNBTCache.Key key = null;
+		int end = -1;
+		if (localCache != null || sharedCache != null) {
+			end = findNBTEnd(buffer, start);
+			if (end != -1) {
+				key = new ItemNBTCache.Key(buffer, start, end - start);
+				byte[] legacy = localCache != null ? localCache.get(key) : null;
+				if (legacy == null && sharedCache != null) {
+					legacy = sharedCache.get(key);
+					if (legacy != null && localCache != null) {
+						localCache.put(key, legacy);
+					}
+				}
+				if (legacy != null) {
+					bb.writeShort(legacy.length);
+					bb.writeBytes(legacy);
+					buffer.readerIndex(end);
+					return;
+				}
+			}
+		}
+
 		int wi = bb.writerIndex() + 2;
 		bb.ensureWritable(2);
 		bb.writerIndex(wi);
@@ -377,6 +414,118 @@ public class BufferUtils {
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
+
+		if (key != null && buffer.readerIndex() == end) {
+			byte[] legacy = new byte[bb.writerIndex() - wi];
+			bb.getBytes(wi, legacy);
+			if (localCache != null) {
+				localCache.put(key, legacy);
+			}
+			if (sharedCache != null) {
+				sharedCache.put(key, legacy);
+			}
+		}
+	}
+
+	/**
+	 * Walks a named NBT tag without decoding it, returns the index after the end
+	 * of the tag or -1 if the tag is malformed or truncated
+	 */
+	public static int findNBTEnd(ByteBuf buffer, int index) {
+		int limit = buffer.writerIndex();
+		if (index + 3 > limit) {
+			return -1;
+		}
+		int type = buffer.getUnsignedByte(index);
+		if (type == 0) {
+			return index + 1;
+		}
+		index += 3 + buffer.getUnsignedShort(index + 1);
+		if (index > limit) {
+			return -1;
+		}
+		return findNBTPayloadEnd(buffer, index, limit, type, 0);
+	}
+
+	private static int findNBTPayloadEnd(ByteBuf buffer, int index, int limit, int type, int depth) {
+		int len;
+		switch (type) {
+		case 1:
+			index += 1;
+			break;
+		case 2:
+			index += 2;
+			break;
+		case 3:
+		case 5:
+			index += 4;
+			break;
+		case 4:
+		case 6:
+			index += 8;
+			break;
+		case 7:
+		case 11:
+		case 12:
+			if (index + 4 > limit) {
+				return -1;
+			}
+			len = buffer.getInt(index);
+			if (len < 0) {
+				return -1;
+			}
+			long arrEnd = index + 4l + (long) len * (type == 7 ? 1 : (type == 11 ? 4 : 8));
+			if (arrEnd > limit) {
+				return -1;
+			}
+			index = (int) arrEnd;
+			break;
+		case 8:
+			if (index + 2 > limit) {
+				return -1;
+			}
+			index += 2 + buffer.getUnsignedShort(index);
+			break;
+		case 9:
+			if (index + 5 > limit || depth >= 512) {
+				return -1;
+			}
+			int listType = buffer.getUnsignedByte(index);
+			len = buffer.getInt(index + 1);
+			index += 5;
+			if (len > 0 && listType == 0) {
+				return -1;
+			}
+			for (int i = 0; i < len && index != -1 && index <= limit; ++i) {
+				index = findNBTPayloadEnd(buffer, index, limit, listType, depth + 1);
+			}
+			break;
+		case 10:
+			if (depth >= 512) {
+				return -1;
+			}
+			while (true) {
+				if (index >= limit) {
+					return -1;
+				}
+				int tagType = buffer.getUnsignedByte(index++);
+				if (tagType == 0) {
+					break;
+				}
+				if (index + 2 > limit) {
+					return -1;
+				}
+				index += 2 + buffer.getUnsignedShort(index);
+				index = findNBTPayloadEnd(buffer, index, limit, tagType, depth + 1);
+				if (index == -1 || index > limit) {
+					return -1;
+				}
+			}
+			break;
+		default:
+			return -1;
+		}
+		return index > limit ? -1 : index;
 	}
 
 	public static void convertLegacyNBT(ByteBuf buffer, ByteBuf bb, RewindPlayer<?> context) {
@@ -417,19 +566,24 @@ public class BufferUtils {
 		int count3 = 4096 * count;
 		bb.ensureWritable(guh2 + guh);
 
+		byte[] typeMap = LEGACY_BLOCK_TYPES;
 		if (LITTLE_ENDIAN_SUPPORT) {
-			for (int i = 0; i < count2; i += 4) {
-				int state = data18.getIntLE(absInd + i);
-				bb.setShortLE(absWInd + (i >> 1),
-						convertType2Legacy((state >>> 4) & 0xFFF) | (convertType2Legacy(state >>> 20) << 8));
-				bb.setByte(absWInd + count3 + (i >> 2), (byte) ((state & 0xF) | (((state >>> 16) & 0xF) << 4)));
+			for (int i = 0; i < count2; i += 8) {
+				long states = data18.getLongLE(absInd + i);
+				int stateA = (int) states;
+				int stateB = (int) (states >>> 32);
+				bb.setIntLE(absWInd + (i >> 1), (typeMap[(stateA >>> 4) & 0xFFF] & 0xFF)
+						| ((typeMap[stateA >>> 20] & 0xFF) << 8) | ((typeMap[(stateB >>> 4) & 0xFFF] & 0xFF) << 16)
+						| (typeMap[stateB >>> 20] << 24));
+				bb.setShortLE(absWInd + count3 + (i >> 2), (stateA & 0xF) | ((stateA >>> 12) & 0xF0)
+						| ((stateB & 0xF) << 8) | ((stateB >>> 4) & 0xF000));
 			}
 		} else {
 			for (int i = 0; i < count2; i += 4) {
 				int stateA = data18.getUnsignedByte(absInd + i) | (data18.getUnsignedByte(absInd + i + 1) << 8);
 				int stateB = data18.getUnsignedByte(absInd + i + 2) | (data18.getUnsignedByte(absInd + i + 3) << 8);
-				bb.setByte(absWInd + (i >> 1), convertType2Legacy(stateA >> 4));
-				bb.setByte(absWInd + (i >> 1) + 1, convertType2Legacy(stateB >> 4));
+				bb.setByte(absWInd + (i >> 1), typeMap[stateA >> 4]);
+				bb.setByte(absWInd + (i >> 1) + 1, typeMap[stateB >> 4]);
 				bb.setByte(absWInd + count3 + (i >> 2), (byte) ((stateA & 0xF) | ((stateB & 0xF) << 4)));
 			}
 		}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025 lax1dude, ayunami2000. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Shared cache of converted 1.5 chunk payloads, so the same 1.8 chunk sent to
+ * several rewind players is only converted once. Entries are keyed by a hash
+ * of the 1.8 payload and verified against the original bytes before use.
+ */
+public class ChunkConversionCache {
+
+	public static final int MIN_CACHE_SIZE = 1024;
+
+	private static final VarHandle HITS_HANDLE;
+	private static final VarHandle MISSES_HANDLE;
+
+	static {
+		MethodHandles.Lookup l = MethodHandles.lookup();
+		try {
+			HITS_HANDLE = l.findVarHandle(ChunkConversionCache.class, "hits", long.class);
+			MISSES_HANDLE = l.findVarHandle(ChunkConversionCache.class, "misses", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static class Entry {
+
+		protected final int flags;
+		protected final byte[] data18;
+		protected final byte[] legacy;
+
+		protected Entry(int flags, byte[] data18, byte[] legacy) {
+			this.flags = flags;
+			this.data18 = data18;
+			this.legacy = legacy;
+		}
+
+		protected int weight() {
+			return data18.length + legacy.length + 64;
+		}
+
+	}
+
+	private final long maxBytes;
+	private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private long totalBytes = 0l;
+
+	private long hits = 0l;
+	private long misses = 0l;
+
+	public ChunkConversionCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	public void convertChunk2Legacy(int bitmap, boolean skyLight, int data18len, ByteBuf data18, ByteBuf bb) {
+		int absInd = data18.readerIndex();
+		int guh1 = 8192 * Integer.bitCount(bitmap);
+		if (data18len < MIN_CACHE_SIZE || data18.readableBytes() < data18len || (data18len - guh1 == 256
+				&& data18.readableBytes() - (absInd + guh1) < 256)) {
+			BufferUtils.convertChunk2Legacy(bitmap, data18len, data18, bb);
+			return;
+		}
+		int flags = bitmap | (skyLight ? 0x10000 : 0) | (((data18len - guh1) & 256) << 9);
+		long key = hash(data18, absInd, data18len) ^ ((long) flags * 0x9E3779B97F4A7C15l);
+		Entry e;
+		synchronized (entries) {
+			e = entries.get(key);
+		}
+		if (e != null && e.flags == flags && e.data18.length == data18len
+				&& ByteBufUtil.equals(Unpooled.wrappedBuffer(e.data18), 0, data18, absInd, data18len)) {
+			HITS_HANDLE.getAndAdd(this, 1l);
+			bb.writeBytes(e.legacy);
+			data18.skipBytes(data18len);
+			return;
+		}
+		MISSES_HANDLE.getAndAdd(this, 1l);
+		int absWInd = bb.writerIndex();
+		BufferUtils.convertChunk2Legacy(bitmap, data18len, data18, bb);
+		byte[] data18Copy = new byte[data18len];
+		data18.getBytes(absInd, data18Copy);
+		byte[] legacy = new byte[bb.writerIndex() - absWInd];
+		bb.getBytes(absWInd, legacy);
+		put(key, new Entry(flags, data18Copy, legacy));
+	}
+
+	private void put(long key, Entry e) {
+		int weight = e.weight();
+		if (weight > (maxBytes >> 2)) {
+			return;
+		}
+		synchronized (entries) {
+			Entry old = entries.put(key, e);
+			if (old != null) {
+				totalBytes -= old.weight();
+			}
+			totalBytes += weight;
+			if (totalBytes > maxBytes) {
+				Iterator<Entry> itr = entries.values().iterator();
+				while (totalBytes > maxBytes && itr.hasNext()) {
+					totalBytes -= itr.next().weight();
+					itr.remove();
+				}
+			}
+		}
+	}
+
+	private static long hash(ByteBuf buf, int idx, int len) {
+		long h = 0xCBF29CE484222325l ^ len;
+		int end = idx + (len & ~7);
+		while (idx < end) {
+			h = Long.rotateLeft(h ^ (buf.getLong(idx) * 0xC2B2AE3D27D4EB4Fl), 31) * 0x9E3779B97F4A7C15l;
+			idx += 8;
+		}
+		end += len & 7;
+		while (idx < end) {
+			h = (h ^ buf.getUnsignedByte(idx++)) * 0x100000001B3l;
+		}
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDl;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	public long getHits() {
+		return (long) HITS_HANDLE.getOpaque(this);
+	}
+
+	public long getMisses() {
+		return (long) MISSES_HANDLE.getOpaque(this);
+	}
+
+	public float getHitRate() {
+		long h = getHits();
+		long total = h + getMisses();
+		return total > 0l ? (float) h / total : 0.0f;
+	}
+
+	public long getSizeBytes() {
+		synchronized (entries) {
+			return totalBytes;
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			totalBytes = 0l;
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025 lax1dude, ayunami2000. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rewind_v1_5.base.codec;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * LRU of converted item NBT, maps the raw 1.8 NBT bytes to the finished 1.5
+ * gzip blob (without the length prefix)
+ */
+public class ItemNBTCache {
+
+	public static final class Key {
+
+		private final byte[] data;
+		private final int hash;
+
+		public Key(ByteBuf buf, int index, int len) {
+			this.data = new byte[len];
+			buf.getBytes(index, data);
+			this.hash = Arrays.hashCode(data);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return this == obj || ((obj instanceof Key other) && hash == other.hash && Arrays.equals(data, other.data));
+		}
+
+	}
+
+	private final int maxBytes;
+	private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private int totalBytes = 0;
+
+	public ItemNBTCache(int maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	public synchronized byte[] get(Key key) {
+		return entries.get(key);
+	}
+
+	public synchronized void put(Key key, byte[] legacy) {
+		int weight = weight(key, legacy);
+		if (weight > (maxBytes >> 2)) {
+			return;
+		}
+		byte[] old = entries.put(key, legacy);
+		if (old != null) {
+			totalBytes -= weight(key, old);
+		}
+		totalBytes += weight;
+		if (totalBytes > maxBytes) {
+			Iterator<Map.Entry<Key, byte[]>> itr = entries.entrySet().iterator();
+			while (totalBytes > maxBytes && itr.hasNext()) {
+				Map.Entry<Key, byte[]> etr = itr.next();
+				totalBytes -= weight(etr.getKey(), etr.getValue());
+				itr.remove();
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		totalBytes = 0;
+	}
+
+	private static int weight(Key key, byte[] legacy) {
+		return key.data.length + legacy.length + 64;
+	}
+
+}
@@ -553,7 +553,7 @@ public class RewindPacketEncoder<PlayerObject> extends RewindChannelHandler.Enco
 		if (OLD_CHUNK_FORMAT) {
 			ByteBuf tmp = alloc.buffer(size);
 			try {
-				BufferUtils.convertChunk2Legacy(chunkPbm, size, in, tmp);
+				convertChunk2Legacy(chunkPbm, playerDimension == 0, size, in, tmp);
 				int notDeflateLen = BufferUtils.sizeEstimateNotDeflated(size);
 				bb.ensureWritable(notDeflateLen);
 				BufferUtils.notDeflate(tmp, bb, player().getNotDeflater());
@@ -561,7 +561,7 @@ public class RewindPacketEncoder<PlayerObject> extends RewindChannelHandler.Enco
 				tmp.release();
 			}
 		} else {
-			BufferUtils.convertChunk2Legacy(chunkPbm, size, in, bb);
+			convertChunk2Legacy(chunkPbm, playerDimension == 0, size, in, bb);
 		}
 		bb.setInt(aaaa, chunkX);
 		aaaa += 4;
@@ -581,6 +581,15 @@ public class RewindPacketEncoder<PlayerObject> extends RewindChannelHandler.Enco
 		// aaaa += 4;
 	}
 
+	private void convertChunk2Legacy(int bitmap, boolean skyLight, int data18len, ByteBuf data18, ByteBuf bb) {
+		ChunkConversionCache cache = rewind().getChunkCache();
+		if (cache != null) {
+			cache.convertChunk2Legacy(bitmap, skyLight, data18len, data18, bb);
+		} else {
+			BufferUtils.convertChunk2Legacy(bitmap, data18len, data18, bb);
+		}
+	}
+
 	private void handleMultiBlockChange(ByteBuf in, ByteBuf bb) {
 		bb.writeByte(0x34);
 		int mbcX = in.readInt();
@@ -662,7 +671,7 @@ public class RewindPacketEncoder<PlayerObject> extends RewindChannelHandler.Enco
 			ByteBuf tmp = alloc.buffer(size);
 			try {
 				for (int ii = 0; ii < mcbCcc; ++ii) {
-					BufferUtils.convertChunk2Legacy(tmpInts[ii + b], tmpInts[ii + c], in, tmp);
+					convertChunk2Legacy(tmpInts[ii + b], mcbSkyLightSent, tmpInts[ii + c], in, tmp);
 				}
 				int notDeflateLen = BufferUtils.sizeEstimateNotDeflated(size);
 				bb.ensureWritable(notDeflateLen);
@@ -675,7 +684,7 @@ public class RewindPacketEncoder<PlayerObject> extends RewindChannelHandler.Enco
 			for (int ii = 0; ii < mcbCcc; ++ii) {
 				c = tmpInts[ii + b];
 				int chunkSize = BufferUtils.calcChunkDataSize(Integer.bitCount(c), mcbSkyLightSent, true);
-				BufferUtils.convertChunk2Legacy(c, chunkSize, in, bb);
+				convertChunk2Legacy(c, mcbSkyLightSent, chunkSize, in, bb);
 			}
 		}
 		bb.setShort(aaaa, mcbCcc);
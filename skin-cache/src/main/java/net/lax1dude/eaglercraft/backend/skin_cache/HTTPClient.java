@@ -22,11 +22,15 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -39,24 +43,34 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 
 public class HTTPClient implements IHTTPClient {
 
 	public static final int MAX_REDIRECTS = 8;
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 8;
+	public static final int DEFAULT_KEEP_ALIVE_SECONDS = 30;
 
 	private static class RedirectTracker {
 		private int redirects = 0;
@@ -67,30 +81,144 @@ public class HTTPClient implements IHTTPClient {
 		}
 	}
 
-	private class NettyHttpChannelFutureListener implements ChannelFutureListener {
+	private static class PendingRequest {
 
-		protected final String method;
 		protected final URI requestURI;
 		protected final Consumer<Response> responseCallback;
+		protected final RedirectTracker redirectTracker;
+		protected boolean retried = false;
 
-		protected NettyHttpChannelFutureListener(String method, URI requestURI, Consumer<Response> responseCallback) {
-			this.method = method;
+		protected PendingRequest(URI requestURI, Consumer<Response> responseCallback,
+				RedirectTracker redirectTracker) {
 			this.requestURI = requestURI;
 			this.responseCallback = responseCallback;
+			this.redirectTracker = redirectTracker;
+		}
+
+	}
+
+	public static class PoolStats {
+
+		public final int hosts;
+		public final int idleConnections;
+		public final int inFlight;
+		public final int queued;
+		public final long hits;
+		public final long opens;
+		public final long idleEvictions;
+
+		protected PoolStats(int hosts, int idleConnections, int inFlight, int queued, long hits, long opens,
+				long idleEvictions) {
+			this.hosts = hosts;
+			this.idleConnections = idleConnections;
+			this.inFlight = inFlight;
+			this.queued = queued;
+			this.hits = hits;
+			this.opens = opens;
+			this.idleEvictions = idleEvictions;
+		}
+
+	}
+
+	private class HostPool {
+
+		protected final String host;
+		protected final int port;
+		protected final boolean ssl;
+		protected final ArrayDeque<Channel> idleChannels = new ArrayDeque<>();
+		protected final ArrayDeque<PendingRequest> waitingRequests = new ArrayDeque<>();
+		protected int inFlight = 0;
+		protected long hits = 0l;
+		protected long opens = 0l;
+		protected long idleEvictions = 0l;
+
+		protected HostPool(String host, int port, boolean ssl) {
+			this.host = host;
+			this.port = port;
+			this.ssl = ssl;
+		}
+
+		protected void submit(PendingRequest request) {
+			Channel ch;
+			synchronized (this) {
+				if (inFlight >= maxConnectionsPerHost) {
+					waitingRequests.add(request);
+					return;
+				}
+				++inFlight;
+				ch = idleChannels.pollFirst();
+				if (ch != null) {
+					++hits;
+				} else {
+					++opens;
+				}
+			}
+			if (ch != null) {
+				dispatch(this, ch, request, true);
+			} else {
+				connect(this, request);
+			}
+		}
+
+		protected void release(Channel ch) {
+			PendingRequest next;
+			Channel nextChannel = null;
+			synchronized (this) {
+				next = waitingRequests.pollFirst();
+				if (next == null) {
+					--inFlight;
+					if (ch != null) {
+						idleChannels.addFirst(ch);
+					}
+					return;
+				}
+				if (ch != null) {
+					nextChannel = ch;
+					++hits;
+				} else {
+					nextChannel = idleChannels.pollFirst();
+					if (nextChannel != null) {
+						++hits;
+					} else {
+						++opens;
+					}
+				}
+			}
+			if (nextChannel != null) {
+				dispatch(this, nextChannel, next, true);
+			} else {
+				connect(this, next);
+			}
+		}
+
+		protected void removeIdle(Channel ch) {
+			synchronized (this) {
+				if (idleChannels.remove(ch)) {
+					++idleEvictions;
+				}
+			}
+		}
+
+	}
+
+	private class NettyHttpChannelFutureListener implements ChannelFutureListener {
+
+		protected final HostPool pool;
+		protected final PendingRequest request;
+
+		protected NettyHttpChannelFutureListener(HostPool pool, PendingRequest request) {
+			this.pool = pool;
+			this.request = request;
 		}
 
 		@Override
 		public void operationComplete(ChannelFuture future) throws Exception {
 			if (future.isSuccess()) {
-				String path = requestURI.getRawPath()
-						+ ((requestURI.getRawQuery() == null) ? "" : ("?" + requestURI.getRawQuery()));
-				HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.valueOf(method), path);
-				request.headers().set(HttpHeaderNames.HOST, requestURI.getHost());
-				request.headers().set(HttpHeaderNames.USER_AGENT, userAgent);
-				future.channel().writeAndFlush(request);
+				dispatch(pool, future.channel(), request, false);
 			} else {
-				addressCache.invalidate(requestURI.getHost());
-				responseCallback.accept(new Response(new IOException("Connection failed")));
+				addressCache.invalidate(pool.host);
+				pool.release(null);
+				request.responseCallback.accept(new Response(new IOException("Connection failed")));
 			}
 		}
 
@@ -98,79 +226,86 @@ public class HTTPClient implements IHTTPClient {
 
 	private class NettyHttpChannelInitializer extends ChannelInitializer<Channel> {
 
-		protected final Consumer<Response> responseCallback;
-		protected final RedirectTracker redirectTracker;
-		protected final boolean ssl;
-		protected final String host;
-		protected final int port;
+		protected final HostPool pool;
 
-		protected NettyHttpChannelInitializer(Consumer<Response> responseCallback, RedirectTracker redirectTracker,
-				boolean ssl, String host, int port) {
-			this.responseCallback = responseCallback;
-			this.redirectTracker = redirectTracker;
-			this.ssl = ssl;
-			this.host = host;
-			this.port = port;
+		protected NettyHttpChannelInitializer(HostPool pool) {
+			this.pool = pool;
 		}
 
 		@Override
 		protected void initChannel(Channel ch) throws Exception {
-			ch.pipeline().addLast("timeout", new ReadTimeoutHandler(5L, TimeUnit.SECONDS));
-			if (this.ssl) {
-				SSLEngine engine = SslContextBuilder.forClient().build().newEngine(ch.alloc(), host, port);
+			ch.pipeline().addLast("idle", new IdleStateHandler(0, 0, keepAliveSeconds, TimeUnit.SECONDS));
+			if (pool.ssl) {
+				SSLEngine engine = getSslContext().newEngine(ch.alloc(), pool.host, pool.port);
 				ch.pipeline().addLast("ssl", new SslHandler(engine));
 			}
 
 			ch.pipeline().addLast("http", new HttpClientCodec());
-			ch.pipeline().addLast("handler", new NettyHttpResponseHandler(responseCallback, redirectTracker));
+			ch.pipeline().addLast("handler", new NettyHttpResponseHandler(pool));
+			ch.closeFuture().addListener((future) -> {
+				pool.removeIdle(ch);
+			});
 		}
 
 	}
 
 	private class NettyHttpResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
 
-		protected final Consumer<Response> responseCallback;
-		protected final RedirectTracker redirectTracker;
+		protected final HostPool pool;
+		protected PendingRequest request = null;
+		protected boolean reused = false;
+		protected boolean keepAlive = false;
 		protected int responseCode = -1;
 		protected ByteBuf buffer = null;
 
-		protected NettyHttpResponseHandler(Consumer<Response> responseCallback, RedirectTracker redirectTracker) {
-			this.responseCallback = responseCallback;
-			this.redirectTracker = redirectTracker;
+		protected NettyHttpResponseHandler(HostPool pool) {
+			this.pool = pool;
+		}
+
+		protected void begin(ChannelHandlerContext ctx, PendingRequest request, boolean reused) {
+			this.request = request;
+			this.reused = reused;
+			this.keepAlive = false;
+			this.responseCode = -1;
+			ctx.pipeline().addFirst("timeout", new ReadTimeoutHandler(5L, TimeUnit.SECONDS));
 		}
 
 		@Override
 		protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Exception {
+			if (request == null) {
+				return;
+			}
 			if (msg instanceof HttpResponse response) {
 				responseCode = response.status().code();
+				keepAlive = HttpUtil.isKeepAlive(response);
 				if (responseCode == 301 || responseCode == 302 || responseCode == 303 || responseCode == 307
 						|| responseCode == 308) {
-					ctx.channel().pipeline().remove(this);
-					ctx.channel().close();
+					PendingRequest req = finish(ctx, false);
+					pool.release(null);
 					if (responseCode == 303) {
-						redirectTracker.method = "GET";
+						req.redirectTracker.method = "GET";
 					}
-					redirect(response);
-					return;
-				} else if (responseCode == 204) {
-					this.done(ctx);
+					redirect(req, response);
 					return;
 				}
 			}
 			if (msg instanceof HttpContent content) {
-				if (buffer == null) {
-					buffer = ctx.alloc().buffer();
+				if (responseCode != 204) {
+					if (buffer == null) {
+						buffer = ctx.alloc().buffer();
+					}
+					this.buffer.writeBytes(content.content());
 				}
-				this.buffer.writeBytes(content.content());
 				if (msg instanceof LastHttpContent) {
 					this.done(ctx);
 				}
 			}
 		}
 
-		private void redirect(HttpResponse response) {
+		private void redirect(PendingRequest req, HttpResponse response) {
+			RedirectTracker redirectTracker = req.redirectTracker;
 			if (++redirectTracker.redirects >= MAX_REDIRECTS) {
-				responseCallback.accept(new Response(new IllegalStateException("Too many redirects!")));
+				req.responseCallback.accept(new Response(new IllegalStateException("Too many redirects!")));
 			} else {
 				CharSequence target = response.headers().get(HttpHeaderNames.LOCATION);
 				if (target != null) {
@@ -178,42 +313,152 @@ public class HTTPClient implements IHTTPClient {
 					try {
 						uri = new URI(target.toString());
 					} catch (URISyntaxException ex) {
-						responseCallback.accept(new Response(
+						req.responseCallback.accept(new Response(
 								new IllegalStateException("Invalid redirect address in 3xx response!", ex)));
 						return;
 					}
-					asyncRequest(uri, responseCallback, redirectTracker);
+					asyncRequest(uri, req.responseCallback, redirectTracker);
 				} else {
-					responseCallback.accept(
+					req.responseCallback.accept(
 							new Response(new IllegalStateException("Missing redirect address in 3xx response!")));
 				}
 			}
 		}
 
+		@Override
+		public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+			if (evt instanceof IdleStateEvent evt2 && evt2.state() == IdleState.ALL_IDLE) {
+				if (request == null) {
+					ctx.channel().close();
+				}
+				return;
+			}
+			super.userEventTriggered(ctx, evt);
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+			if (request != null) {
+				fail(ctx, new IOException("Connection closed"));
+			}
+			super.channelInactive(ctx);
+		}
+
 		@Override
 		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-			responseCallback.accept(new Response(cause));
+			if (request != null) {
+				fail(ctx, cause);
+			} else {
+				ctx.channel().close();
+			}
+		}
+
+		private void fail(ChannelHandlerContext ctx, Throwable cause) {
+			boolean retry = reused && responseCode == -1 && !request.retried;
+			PendingRequest req = finish(ctx, false);
+			if (retry) {
+				// keep-alive connection was closed by the remote host before we noticed
+				req.retried = true;
+				synchronized (pool) {
+					++pool.opens;
+				}
+				connect(pool, req);
+			} else {
+				pool.release(null);
+				req.responseCallback.accept(new Response(cause));
+			}
 		}
 
 		private void done(ChannelHandlerContext ctx) {
+			boolean reuse = keepAlive && ctx.channel().isActive();
+			// take the body first, finish releases whatever is left in the buffer
+			ByteBuf buf = buffer;
+			buffer = null;
+			PendingRequest req = finish(ctx, reuse);
 			try {
-				responseCallback.accept(new Response(responseCode, redirectTracker.redirects > 0, buffer));
+				req.responseCallback.accept(new Response(responseCode, req.redirectTracker.redirects > 0, buf));
 			} finally {
-				ctx.channel().pipeline().remove(this);
+				if (reuse) {
+					pool.release(ctx.channel());
+				} else {
+					pool.release(null);
+				}
+			}
+		}
+
+		private PendingRequest finish(ChannelHandlerContext ctx, boolean reuse) {
+			PendingRequest req = request;
+			request = null;
+			ChannelPipeline pipeline = ctx.pipeline();
+			if (pipeline.get("timeout") != null) {
+				pipeline.remove("timeout");
+			}
+			if (!reuse) {
+				if (buffer != null) {
+					buffer.release();
+					buffer = null;
+				}
 				ctx.channel().close();
 			}
+			return req;
 		}
 
 	}
 
 	private final Cache<String, InetAddress> addressCache = CacheBuilder.newBuilder()
 			.expireAfterWrite(15L, TimeUnit.MINUTES).build();
+	private final Map<String, HostPool> hostPools = new ConcurrentHashMap<>();
 	private final Supplier<Bootstrap> bootstrapper;
 	private final String userAgent;
+	private final int maxConnectionsPerHost;
+	private final int keepAliveSeconds;
+	private volatile SslContext sslContext;
 
 	public HTTPClient(Supplier<Bootstrap> bootstrapper, String userAgent) {
+		this(bootstrapper, userAgent, DEFAULT_MAX_CONNECTIONS_PER_HOST, DEFAULT_KEEP_ALIVE_SECONDS);
+	}
+
+	public HTTPClient(Supplier<Bootstrap> bootstrapper, String userAgent, int maxConnectionsPerHost,
+			int keepAliveSeconds) {
 		this.bootstrapper = bootstrapper;
 		this.userAgent = userAgent;
+		this.maxConnectionsPerHost = Math.max(maxConnectionsPerHost, 1);
+		this.keepAliveSeconds = Math.max(keepAliveSeconds, 1);
+	}
+
+	private SslContext getSslContext() throws SSLException {
+		SslContext ctx = sslContext;
+		if (ctx == null) {
+			synchronized (this) {
+				ctx = sslContext;
+				if (ctx == null) {
+					sslContext = ctx = SslContextBuilder.forClient().build();
+				}
+			}
+		}
+		return ctx;
+	}
+
+	public PoolStats getPoolStats() {
+		int hosts = 0;
+		int idle = 0;
+		int inFlight = 0;
+		int queued = 0;
+		long hits = 0l;
+		long opens = 0l;
+		long idleEvictions = 0l;
+		for (HostPool pool : hostPools.values()) {
+			synchronized (pool) {
+				++hosts;
+				idle += pool.idleChannels.size();
+				inFlight += pool.inFlight;
+				queued += pool.waitingRequests.size();
+				hits += pool.hits;
+				opens += pool.opens;
+				idleEvictions += pool.idleEvictions;
+			}
+		}
+		return new PoolStats(hosts, idle, inFlight, queued, hits, opens, idleEvictions);
 	}
 
 	public void asyncRequest(String method, URI uri, Consumer<Response> responseCallback) {
@@ -242,21 +487,64 @@ public class HTTPClient implements IHTTPClient {
 		}
 
 		String host = uri.getHost();
+		final int port2 = port;
+		final boolean ssl2 = ssl;
+		HostPool pool = hostPools.computeIfAbsent(scheme + "://" + host + ":" + port,
+				(k) -> new HostPool(host, port2, ssl2));
+		pool.submit(new PendingRequest(uri, responseCallback, redirectTracker));
+	}
+
+	private void connect(HostPool pool, PendingRequest request) {
+		String host = pool.host;
 		InetAddress inetHost = addressCache.getIfPresent(host);
 		if (inetHost == null) {
 			try {
 				inetHost = InetAddress.getByName(host);
 			} catch (UnknownHostException ex) {
-				responseCallback.accept(new Response(ex));
+				pool.release(null);
+				request.responseCallback.accept(new Response(ex));
 				return;
 			}
 			addressCache.put(host, inetHost);
 		}
-		InetSocketAddress addr = new InetSocketAddress(inetHost, port);
-		bootstrapper.get().handler(new NettyHttpChannelInitializer(responseCallback, redirectTracker, ssl, host, port))
+		InetSocketAddress addr = new InetSocketAddress(inetHost, pool.port);
+		bootstrapper.get().handler(new NettyHttpChannelInitializer(pool))
 				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000).option(ChannelOption.TCP_NODELAY, true)
-				.remoteAddress(addr).connect()
-				.addListener(new NettyHttpChannelFutureListener(redirectTracker.method, uri, responseCallback));
+				.remoteAddress(addr).connect().addListener(new NettyHttpChannelFutureListener(pool, request));
+	}
+
+	private void dispatch(HostPool pool, Channel ch, PendingRequest request, boolean reused) {
+		EventLoop eventLoop = ch.eventLoop();
+		if (eventLoop.inEventLoop()) {
+			dispatch0(pool, ch, request, reused);
+		} else {
+			eventLoop.execute(() -> {
+				dispatch0(pool, ch, request, reused);
+			});
+		}
+	}
+
+	private void dispatch0(HostPool pool, Channel ch, PendingRequest request, boolean reused) {
+		ChannelHandlerContext ctx = ch.pipeline().context("handler");
+		if (ctx == null || !ch.isActive()) {
+			// idle connection went away before it could be reused, open a new one
+			ch.close();
+			synchronized (pool) {
+				++pool.opens;
+			}
+			connect(pool, request);
+			return;
+		}
+		((NettyHttpResponseHandler) ctx.handler()).begin(ctx, request, reused);
+		URI requestURI = request.requestURI;
+		String path = requestURI.getRawPath()
+				+ ((requestURI.getRawQuery() == null) ? "" : ("?" + requestURI.getRawQuery()));
+		HttpRequest req = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+				HttpMethod.valueOf(request.redirectTracker.method), path);
+		req.headers().set(HttpHeaderNames.HOST, pool.host);
+		req.headers().set(HttpHeaderNames.USER_AGENT, userAgent);
+		req.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+		ch.writeAndFlush(req);
 	}
 
-}
\ No newline at end of file
+}
@@ -20,6 +20,43 @@ import java.util.function.Consumer;
 
 public interface ISkinCacheDatastore {
 
+	public static class WriteStats {
+
+		public final long totalStored;
+		public final long totalBatches;
+		public final int pendingWrites;
+		public final float storesPerSecond;
+
+		public WriteStats(long totalStored, long totalBatches, int pendingWrites, float storesPerSecond) {
+			this.totalStored = totalStored;
+			this.totalBatches = totalBatches;
+			this.pendingWrites = pendingWrites;
+			this.storesPerSecond = storesPerSecond;
+		}
+
+	}
+
+	public static class CleanupStats {
+
+		public final boolean inProgress;
+		public final int lastPassDeleted;
+		public final int lastPassSteps;
+		public final long lastPassActiveMillis;
+		public final long lastPassLongestStepMillis;
+		public final long lastPassElapsedMillis;
+
+		public CleanupStats(boolean inProgress, int lastPassDeleted, int lastPassSteps, long lastPassActiveMillis,
+				long lastPassLongestStepMillis, long lastPassElapsedMillis) {
+			this.inProgress = inProgress;
+			this.lastPassDeleted = lastPassDeleted;
+			this.lastPassSteps = lastPassSteps;
+			this.lastPassActiveMillis = lastPassActiveMillis;
+			this.lastPassLongestStepMillis = lastPassLongestStepMillis;
+			this.lastPassElapsedMillis = lastPassElapsedMillis;
+		}
+
+	}
+
 	void loadSkin(String skinURL, Consumer<byte[]> callback);
 
 	void loadCape(String capeURL, Consumer<byte[]> callback);
@@ -36,4 +73,8 @@ public interface ISkinCacheDatastore {
 
 	int getTotalStoredCapes();
 
+	WriteStats getWriteStats();
+
+	CleanupStats getCleanupStats();
+
 }
\ No newline at end of file
@@ -21,8 +21,13 @@ import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
@@ -38,11 +43,18 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 
 	public static final int SKIN_LENGTH = 12288;
 	public static final int CAPE_LENGTH = 1173;
+	public static final int MAX_WRITE_BATCH = 256;
+	public static final int CLEANUP_CHUNK_SIZE = 1000;
 
 	protected final ILoggerAdapter logger;
 	protected final SkinCacheDatastoreThreadEnv[] threads;
+	protected final SkinCacheDatastoreThreadEnv writerThread;
 	protected final BlockingQueue<SkinCacheDatastoreRunnable> databaseQueue = new LinkedBlockingQueue<>();
+	protected final BlockingQueue<PendingStore> writeQueue = new LinkedBlockingQueue<>();
+	protected final ConcurrentMap<String, byte[]> pendingSkins = new ConcurrentHashMap<>();
+	protected final ConcurrentMap<String, byte[]> pendingCapes = new ConcurrentHashMap<>();
 	protected final Connection conn;
+	protected final List<Connection> readConnections;
 	protected final CountDownLatch disposeLatch;
 
 	protected long lastCleanup = 0l;
@@ -53,6 +65,22 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 	protected final SkinCacheTable skin;
 	protected final SkinCacheTable cape;
 
+	protected volatile long totalStored = 0l;
+	protected volatile long totalBatches = 0l;
+	protected volatile float storesPerSecond = 0.0f;
+	protected long rateWindowStart = 0l;
+	protected long rateWindowCount = 0l;
+
+	protected volatile boolean cleanupRunning = false;
+	protected long cleanupStart = 0l;
+	protected long cleanupExpiry = 0l;
+	protected boolean cleanupSkinsDone = false;
+	protected boolean cleanupCapesDone = false;
+	protected int cleanupSteps = 0;
+	protected long cleanupActiveMillis = 0l;
+	protected long cleanupLongestStep = 0l;
+	protected volatile CleanupStats lastCleanupStats = new CleanupStats(false, 0, 0, 0l, 0l, 0l);
+
 	private class SkinCacheDatastoreThreadEnv {
 
 		protected final Thread thread;
@@ -63,37 +91,45 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 		protected final Inflater inflater;
 		protected final MessageDigest sha1Digest;
 
-		protected SkinCacheDatastoreThreadEnv(int i, int compressionLevel, Connection conn) throws SQLException {
+		protected SkinCacheDatastoreThreadEnv(int i, int compressionLevel, Connection conn, boolean writer)
+				throws SQLException {
 			skinEnv = skin.createThreadEnv(conn);
 			capeEnv = cape.createThreadEnv(conn);
 			compressionTmp = new byte[65535];
-			deflater = compressionLevel > 0 ? new Deflater(compressionLevel) : null;
-			inflater = compressionLevel > 0 ? new Inflater() : null;
+			deflater = compressionLevel > 0 && writer ? new Deflater(compressionLevel) : null;
+			inflater = compressionLevel > 0 && (!writer || threads.length == 0) ? new Inflater() : null;
 			try {
 				sha1Digest = MessageDigest.getInstance("SHA-1");
 			} catch (NoSuchAlgorithmException ex) {
 				throw new RuntimeException("This JRE does not support SHA-1!", ex);
 			}
-			thread = new Thread(() -> {
-				for (;;) {
-					try {
-						SkinCacheDatastoreRunnable runnable = databaseQueue.take();
-						if (runnable == TERMINATE) {
-							break;
-						}
-						runnable.run(this);
-					} catch (Throwable ex) {
-						if (ex instanceof ThreadDeath exx) {
-							throw exx;
+			if (writer) {
+				thread = new Thread(() -> {
+					runWriter(this, conn);
+					dispose();
+					disposeLatch.countDown();
+				}, "SkinCacheDatastore Writer Thread");
+			} else {
+				thread = new Thread(() -> {
+					for (;;) {
+						try {
+							SkinCacheDatastoreRunnable runnable = databaseQueue.take();
+							if (runnable == TERMINATE) {
+								break;
+							}
+							runnable.run(this);
+						} catch (Throwable ex) {
+							if (ex instanceof ThreadDeath exx) {
+								throw exx;
+							}
+							logger.error("Caught exception in worker thread #" + (i + 1), ex);
 						}
-						logger.error("Caught exception in worker thread #" + (i + 1), ex);
 					}
-				}
-				dispose();
-				disposeLatch.countDown();
-			}, "SkinCacheDatastore Thread #" + (i + 1));
+					dispose();
+					disposeLatch.countDown();
+				}, "SkinCacheDatastore Thread #" + (i + 1));
+			}
 			thread.setDaemon(true);
-			thread.start();
 		}
 
 		public void dispose() {
@@ -115,29 +151,128 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 
 	private static final SkinCacheDatastoreRunnable TERMINATE = (env) -> {};
 
+	private static class PendingStore {
+
+		protected final SkinCacheTable table;
+		protected final String textureURL;
+		protected final byte[] textureData;
+
+		protected PendingStore(SkinCacheTable table, String textureURL, byte[] textureData) {
+			this.table = table;
+			this.textureURL = textureURL;
+			this.textureData = textureData;
+		}
+
+	}
+
+	private static class PendingLoad extends PendingStore {
+
+		protected final SkinCacheDatastoreRunnable runnable;
+
+		protected PendingLoad(SkinCacheDatastoreRunnable runnable) {
+			super(null, null, null);
+			this.runnable = runnable;
+		}
+
+	}
+
+	private static final PendingStore TERMINATE_WRITER = new PendingStore(null, null, null);
+	private static final PendingStore CLEANUP = new PendingStore(null, null, null);
+
 	public SkinCacheDatastore(Connection conn, int threadCount, int keepObjectsDays, int maxObjects,
 			int compressionLevel, boolean sqliteCompatible, ILoggerAdapter logger) throws SQLException {
+		this(conn, null, threadCount, keepObjectsDays, maxObjects, compressionLevel, sqliteCompatible, logger);
+	}
+
+	/**
+	 * The connection passed as conn is used for creating tables and for all
+	 * writes, readConnFactory opens one read-only connection per worker thread or
+	 * can be null to run loads on the writer thread, for databases such as SQLite
+	 * :memory: that can't be opened twice
+	 */
+	public SkinCacheDatastore(Connection conn, ISQLConnectionFactory readConnFactory, int threadCount,
+			int keepObjectsDays, int maxObjects, int compressionLevel, boolean sqliteCompatible, ILoggerAdapter logger)
+			throws SQLException {
 		this.conn = conn;
 		this.keepObjectsDays = keepObjectsDays;
 		this.maxObjects = maxObjects;
 		this.sqliteCompatible = sqliteCompatible;
 		this.logger = logger;
+		if (sqliteCompatible) {
+			configureSQLite(conn, true);
+		}
 		skin = new SkinCacheTable("eagler_skins", conn, sqliteCompatible, logger);
 		cape = new SkinCacheTable("eagler_capes", conn, sqliteCompatible, logger);
-		disposeLatch = new CountDownLatch(threadCount);
+		if (readConnFactory == null) {
+			threadCount = 0;
+		}
+		readConnections = new ArrayList<>(threadCount);
+		disposeLatch = new CountDownLatch(threadCount + 1);
 		threads = new SkinCacheDatastoreThreadEnv[threadCount];
+		try {
+			for (int i = 0; i < threadCount; ++i) {
+				Connection readConn = readConnFactory.openConnection();
+				readConnections.add(readConn);
+				if (sqliteCompatible) {
+					configureSQLite(readConn, false);
+				}
+				try {
+					readConn.setReadOnly(true);
+				} catch (SQLException ex) {
+					// not supported by all drivers after the connection is opened
+				}
+				threads[i] = new SkinCacheDatastoreThreadEnv(i, compressionLevel, readConn, false);
+			}
+			writerThread = new SkinCacheDatastoreThreadEnv(-1, compressionLevel, conn, true);
+		} catch (SQLException ex) {
+			for (int i = 0; i < threadCount; ++i) {
+				if (threads[i] != null) {
+					threads[i].dispose();
+				}
+			}
+			closeReadConnections();
+			throw ex;
+		}
 		for (int i = 0; i < threadCount; ++i) {
-			threads[i] = new SkinCacheDatastoreThreadEnv(i, compressionLevel, conn);
+			threads[i].thread.start();
+		}
+		writerThread.thread.start();
+	}
+
+	private void configureSQLite(Connection conn, boolean primary) {
+		try (Statement stmt = conn.createStatement()) {
+			stmt.execute("PRAGMA busy_timeout = 5000");
+			if (primary) {
+				// WAL allows readers to run concurrently with the writer
+				stmt.execute("PRAGMA journal_mode = WAL");
+				stmt.execute("PRAGMA synchronous = NORMAL");
+			}
+		} catch (SQLException ex) {
+			logger.warn("Could not configure SQLite connection: " + ex);
 		}
 	}
 
 	private void execute(SkinCacheDatastoreRunnable runnable) {
-		databaseQueue.add(runnable);
+		if (threads.length > 0) {
+			databaseQueue.add(runnable);
+		} else {
+			writeQueue.add(new PendingLoad(runnable));
+		}
+	}
+
+	private ConcurrentMap<String, byte[]> pendingMap(SkinCacheTable table) {
+		return table == skin ? pendingSkins : pendingCapes;
 	}
 
 	@Override
 	public void loadSkin(String skinURL, Consumer<byte[]> callback) {
 		execute((env) -> {
+			// stores are only removed from the pending map after they are committed
+			byte[] pending = pendingSkins.get(skinURL);
+			if (pending != null) {
+				callback.accept(pending);
+				return;
+			}
 			byte[] result;
 			try {
 				result = skin.loadSkin(env.skinEnv, skinURL);
@@ -165,6 +300,11 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 	@Override
 	public void loadCape(String capeURL, Consumer<byte[]> callback) {
 		execute((env) -> {
+			byte[] pending = pendingCapes.get(capeURL);
+			if (pending != null) {
+				callback.accept(pending);
+				return;
+			}
 			byte[] result;
 			try {
 				result = cape.loadSkin(env.capeEnv, capeURL);
@@ -207,13 +347,8 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 		if (data.length != SKIN_LENGTH) {
 			throw new IllegalArgumentException("Skin length is not " + SKIN_LENGTH + " bytes!");
 		}
-		execute((env) -> {
-			try {
-				skin.storeSkin(env.skinEnv, skinURL, sha1Digest(env, data), compressSkin(env, data));
-			} catch (IllegalStateException | SQLException e) {
-				logger.error("Skin \"" + skinURL + "\" could not be stored in the database!", e);
-			}
-		});
+		pendingSkins.put(skinURL, data);
+		writeQueue.add(new PendingStore(skin, skinURL, data));
 	}
 
 	@Override
@@ -221,13 +356,133 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 		if (data.length != CAPE_LENGTH) {
 			throw new IllegalArgumentException("Cape length is not " + CAPE_LENGTH + " bytes!");
 		}
-		execute((env) -> {
+		pendingCapes.put(capeURL, data);
+		writeQueue.add(new PendingStore(cape, capeURL, data));
+	}
+
+	private void runWriter(SkinCacheDatastoreThreadEnv env, Connection conn) {
+		try {
+			conn.setAutoCommit(false);
+		} catch (SQLException ex) {
+			logger.error("Could not disable auto-commit, skins will be written without batching!", ex);
+		}
+		List<PendingStore> batch = new ArrayList<>(MAX_WRITE_BATCH);
+		List<PendingLoad> loads = new ArrayList<>();
+		boolean terminate = false;
+		while (!terminate) {
+			boolean cleanup = false;
 			try {
-				cape.storeSkin(env.capeEnv, capeURL, sha1Digest(env, data), compressSkin(env, data));
-			} catch (IllegalStateException | SQLException e) {
-				logger.error("Cape \"" + capeURL + "\" could not be stored in the database!", e);
+				batch.add(writeQueue.take());
+				writeQueue.drainTo(batch, MAX_WRITE_BATCH - 1);
+				int cnt = 0;
+				for (int i = 0, l = batch.size(); i < l; ++i) {
+					PendingStore store = batch.get(i);
+					if (store == TERMINATE_WRITER) {
+						terminate = true;
+					} else if (store == CLEANUP) {
+						cleanup = true;
+					} else if (store instanceof PendingLoad load) {
+						loads.add(load);
+					} else {
+						try {
+							store.table.addStoreBatch(store.table == skin ? env.skinEnv : env.capeEnv,
+									store.textureURL, sha1Digest(env, store.textureData),
+									compressSkin(env, store.textureData));
+							++cnt;
+						} catch (IllegalStateException | SQLException ex) {
+							logger.error("Texture \"" + store.textureURL + "\" could not be stored in the database!",
+									ex);
+						}
+					}
+				}
+				if (cnt > 0) {
+					try {
+						skin.executeStoreBatch(env.skinEnv);
+						cape.executeStoreBatch(env.capeEnv);
+						commit(conn);
+						recordBatch(cnt);
+					} catch (SQLException ex) {
+						logger.error("Could not store " + cnt + " textures in the database!", ex);
+						rollback(conn);
+						skin.clearStoreBatch(env.skinEnv);
+						cape.clearStoreBatch(env.capeEnv);
+					}
+				}
+			} catch (Throwable ex) {
+				if (ex instanceof ThreadDeath exx) {
+					throw exx;
+				}
+				logger.error("Caught exception in writer thread", ex);
+			} finally {
+				for (int i = 0, l = batch.size(); i < l; ++i) {
+					PendingStore store = batch.get(i);
+					if (store.table != null) {
+						pendingMap(store.table).remove(store.textureURL, store.textureData);
+					}
+				}
+				batch.clear();
 			}
-		});
+			for (int i = 0, l = loads.size(); i < l; ++i) {
+				try {
+					loads.get(i).runnable.run(env);
+				} catch (Throwable ex) {
+					if (ex instanceof ThreadDeath exx) {
+						throw exx;
+					}
+					logger.error("Caught exception in writer thread", ex);
+				}
+			}
+			loads.clear();
+			if (cleanup && !terminate) {
+				try {
+					if (!runCleanupStep()) {
+						// interleave the remaining chunks with any queued writes
+						writeQueue.add(CLEANUP);
+					}
+					commit(conn);
+				} catch (SQLException ex) {
+					logger.error("Could not clean up skin cache!", ex);
+					rollback(conn);
+					cleanupStart = 0l;
+					cleanupRunning = false;
+				}
+			}
+		}
+		try {
+			conn.setAutoCommit(true);
+		} catch (SQLException ex) {
+		}
+	}
+
+	private static void commit(Connection conn) throws SQLException {
+		if (!conn.getAutoCommit()) {
+			conn.commit();
+		}
+	}
+
+	private static void rollback(Connection conn) {
+		try {
+			if (!conn.getAutoCommit()) {
+				conn.rollback();
+			}
+		} catch (SQLException ex) {
+		}
+	}
+
+	private void recordBatch(int cnt) {
+		totalStored += cnt;
+		++totalBatches;
+		long millis = SteadyTime.millis();
+		if (rateWindowStart == 0l) {
+			rateWindowStart = millis;
+		}
+		rateWindowCount += cnt;
+		long elapsed = millis - rateWindowStart;
+		if (elapsed >= 10000l) {
+			storesPerSecond = rateWindowCount * 1000.0f / elapsed;
+			rateWindowStart = millis;
+			rateWindowCount = 0l;
+		}
 	}
 
 	private byte[] compressSkin(SkinCacheDatastoreThreadEnv env, byte[] data) {
@@ -254,19 +509,53 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 		long millisSteady = SteadyTime.millis();
 		if (millisSteady - lastCleanup > (600l * 1000l)) {
 			lastCleanup = millisSteady;
-			try {
-				runCleanup();
-			} catch (SQLException ex) {
-				logger.error("Could not clean up skin cache!", ex);
+			if (!cleanupRunning) {
+				cleanupRunning = true;
+				writeQueue.add(CLEANUP);
 			}
 		}
 	}
 
-	private synchronized void runCleanup() throws SQLException {
-		long millis = System.currentTimeMillis();
-		long expiry = millis - keepObjectsDays * 86400000l;
-		skin.runCleanup(maxObjects, expiry);
-		cape.runCleanup(maxObjects, expiry);
+	private synchronized boolean runCleanupStep() throws SQLException {
+		long stepStart = SteadyTime.millis();
+		if (cleanupStart == 0l) {
+			cleanupStart = stepStart;
+			cleanupExpiry = System.currentTimeMillis() - keepObjectsDays * 86400000l;
+			cleanupSkinsDone = false;
+			cleanupCapesDone = false;
+			cleanupSteps = 0;
+			cleanupActiveMillis = 0l;
+			cleanupLongestStep = 0l;
+			skin.beginCleanup();
+			cape.beginCleanup();
+		}
+		if (!cleanupSkinsDone) {
+			cleanupSkinsDone = skin.runCleanupStep(maxObjects, cleanupExpiry, CLEANUP_CHUNK_SIZE);
+		}
+		if (!cleanupCapesDone) {
+			cleanupCapesDone = cape.runCleanupStep(maxObjects, cleanupExpiry, CLEANUP_CHUNK_SIZE);
+		}
+		long stepEnd = SteadyTime.millis();
+		long stepTime = stepEnd - stepStart;
+		++cleanupSteps;
+		cleanupActiveMillis += stepTime;
+		if (stepTime > cleanupLongestStep) {
+			cleanupLongestStep = stepTime;
+		}
+		if (cleanupSkinsDone && cleanupCapesDone) {
+			int deleted = skin.getCleanupDeleted() + cape.getCleanupDeleted();
+			lastCleanupStats = new CleanupStats(false, deleted, cleanupSteps, cleanupActiveMillis, cleanupLongestStep,
+					stepEnd - cleanupStart);
+			if (deleted > 0) {
+				logger.info("Skin cache cleanup deleted " + deleted + " textures in " + cleanupSteps + " steps ("
+						+ cleanupActiveMillis + "ms total, longest step " + cleanupLongestStep + "ms)");
+			}
+			cleanupStart = 0l;
+			cleanupRunning = false;
+			return true;
+		} else {
+			return false;
+		}
 	}
 
 	@Override
@@ -274,12 +563,24 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 		for (int i = 0; i < threads.length; ++i) {
 			databaseQueue.add(TERMINATE);
 		}
+		writeQueue.add(TERMINATE_WRITER);
 		try {
 			disposeLatch.await();
 		} catch (InterruptedException e) {
 		}
 		skin.dispose();
 		cape.dispose();
+		closeReadConnections();
+	}
+
+	private void closeReadConnections() {
+		for (int i = 0, l = readConnections.size(); i < l; ++i) {
+			try {
+				readConnections.get(i).close();
+			} catch (SQLException e) {
+			}
+		}
+		readConnections.clear();
 	}
 
 	static void disposeStmt(PreparedStatement stmt) {
@@ -301,4 +602,19 @@ public class SkinCacheDatastore implements ISkinCacheDatastore {
 		return cape.countSkins();
 	}
 
-}
\ No newline at end of file
+	@Override
+	public WriteStats getWriteStats() {
+		return new WriteStats(totalStored, totalBatches, pendingSkins.size() + pendingCapes.size(), storesPerSecond);
+	}
+
+	@Override
+	public CleanupStats getCleanupStats() {
+		CleanupStats stats = lastCleanupStats;
+		if (cleanupRunning != stats.inProgress) {
+			stats = new CleanupStats(cleanupRunning, stats.lastPassDeleted, stats.lastPassSteps,
+					stats.lastPassActiveMillis, stats.lastPassLongestStepMillis, stats.lastPassElapsedMillis);
+		}
+		return stats;
+	}
+
+}
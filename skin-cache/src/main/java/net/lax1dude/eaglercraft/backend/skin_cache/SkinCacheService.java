@@ -31,6 +31,7 @@ import com.google.common.cache.LoadingCache;
 
 import net.lax1dude.eaglercraft.backend.util.ConcurrentLazyLoader;
 import net.lax1dude.eaglercraft.backend.util.ILoggerAdapter;
+import net.lax1dude.eaglercraft.backend.util.TextureInterner;
 
 public class SkinCacheService implements ISkinCacheService {
 
@@ -59,12 +60,12 @@ public class SkinCacheService implements ISkinCacheService {
 		protected void loadImpl(Consumer<byte[]> callback) {
 			datastore.loadSkin(key, (data) -> {
 				if (data != null) {
-					callback.accept(data);
+					callback.accept(TextureInterner.intern(data));
 				} else {
 					downloader.downloadSkin(key, (ddata) -> {
 						if (ddata != null) {
 							datastore.storeSkin(key, ddata);
-							callback.accept(ddata);
+							callback.accept(TextureInterner.intern(ddata));
 						} else {
 							long millis = System.nanoTime() / 1000000l;
 							failedSkinLookupsLock.writeLock().lock();
@@ -99,12 +100,12 @@ public class SkinCacheService implements ISkinCacheService {
 		protected void loadImpl(Consumer<byte[]> callback) {
 			datastore.loadCape(key, (data) -> {
 				if (data != null) {
-					callback.accept(data);
+					callback.accept(TextureInterner.intern(data));
 				} else {
 					downloader.downloadCape(key, (ddata) -> {
 						if (ddata != null) {
 							datastore.storeCape(key, ddata);
-							callback.accept(ddata);
+							callback.accept(TextureInterner.intern(ddata));
 						} else {
 							long millis = System.nanoTime() / 1000000l;
 							failedCapeLookupsLock.writeLock().lock();
@@ -32,6 +32,7 @@ class SkinCacheTable {
 		protected final PreparedStatement statementLoad;
 		protected final PreparedStatement statementStore;
 		protected final PreparedStatement statementStoreIndex;
+		protected int pendingBatch = 0;
 
 		protected SkinCacheTableThreadEnv(Connection conn) throws SQLException {
 			statementLoad = conn.prepareStatement("SELECT " + name + "_objects.TextureData " + "FROM " + name
@@ -65,16 +66,14 @@ class SkinCacheTable {
 	protected final ILoggerAdapter logger;
 
 	protected final PreparedStatement statementCount;
+	protected final PreparedStatement statementDeleteExpiredIndices;
+	protected final PreparedStatement statementDeleteExpiredObjects;
+	protected final PreparedStatement statementDeleteOldIndices;
+	protected final PreparedStatement statementDeleteOldObjects;
 
-	// for sqlite databases
-	protected final PreparedStatement statementSQLiteListExpired;
-	protected final PreparedStatement statementSQLiteListOld;
-	protected final PreparedStatement statementSQLiteDeleteObject;
-	protected final PreparedStatement statementSQLiteDeleteIndex;
-
-	// for non-sqlite databases
-	protected final PreparedStatement statementDeleteExpired;
-	protected final PreparedStatement statementDeleteOld;
+	protected boolean cleanupExpiredDone = false;
+	protected int cleanupQuotaRemaining = -1;
+	protected int cleanupDeleted = 0;
 
 	SkinCacheTable(String name, Connection conn, boolean sqlite, ILoggerAdapter logger) throws SQLException {
 		this.name = name;
@@ -93,6 +92,8 @@ class SkinCacheTable {
 			}
 			stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + name + "_hash_index " + "ON " + name
 					+ "_objects (TextureHash)");
+			stmt.execute("CREATE INDEX IF NOT EXISTS " + name + "_time_index " + "ON " + name
+					+ "_objects (TextureTime)");
 			if (sqlite) {
 				stmt.execute("CREATE TABLE IF NOT EXISTS " + name + "_indices (" + "TextureURL VARCHAR(256) NOT NULL,"
 						+ "TextureData INTEGER NOT NULL," + "PRIMARY KEY(TextureURL))");
@@ -104,28 +105,20 @@ class SkinCacheTable {
 					"CREATE INDEX IF NOT EXISTS " + name + "_indices_index " + "ON " + name + "_indices (TextureData)");
 		}
 		this.statementCount = conn.prepareStatement("SELECT COUNT(*) AS total_skins FROM " + name + "_objects");
-		if (sqlite) {
-			statementSQLiteListExpired = conn
-					.prepareStatement("SELECT TextureID FROM " + name + "_objects WHERE textureTime < ?");
-			statementSQLiteListOld = conn
-					.prepareStatement("SELECT TextureID FROM " + name + "_objects ORDER BY TextureTime ASC LIMIT ?");
-			statementSQLiteDeleteObject = conn.prepareStatement("DELETE FROM " + name + "_objects WHERE TextureID = ?");
-			statementSQLiteDeleteIndex = conn
-					.prepareStatement("DELETE FROM " + name + "_indices WHERE TextureData = ?");
-			statementDeleteExpired = null;
-			statementDeleteOld = null;
-		} else {
-			statementSQLiteListExpired = null;
-			statementSQLiteListOld = null;
-			statementSQLiteDeleteObject = null;
-			statementSQLiteDeleteIndex = null;
-			statementDeleteExpired = conn.prepareStatement("DELETE o, i FROM " + name + "_objects o " + "JOIN " + name
-					+ "_indices i ON o.TextureID = i.TextureData " + "WHERE o.textureTime < ?");
-			statementDeleteOld = conn.prepareStatement("DELETE o, i FROM " + name + "_objects o " + "JOIN " + name
-					+ "_indices i ON o.TextureID = i.TextureData " + "WHERE o.TextureID IN" + "(SELECT TextureID FROM "
-					+ "(SELECT TextureID FROM " + name + "_objects " + "ORDER BY TextureTime ASC LIMIT ?)"
-					+ " AS eagler)");
-		}
+		// the extra derived table is required for MySQL to allow LIMIT and to
+		// select from the table being deleted from, SQLite accepts it as well
+		String selectExpired = "SELECT TextureID FROM (SELECT TextureID FROM " + name + "_objects "
+				+ "WHERE TextureTime < ? ORDER BY TextureTime ASC, TextureID ASC LIMIT ?) AS eagler";
+		String selectOld = "SELECT TextureID FROM (SELECT TextureID FROM " + name + "_objects "
+				+ "ORDER BY TextureTime ASC, TextureID ASC LIMIT ?) AS eagler";
+		statementDeleteExpiredIndices = conn.prepareStatement(
+				"DELETE FROM " + name + "_indices WHERE TextureData IN (" + selectExpired + ")");
+		statementDeleteExpiredObjects = conn.prepareStatement(
+				"DELETE FROM " + name + "_objects WHERE TextureID IN (" + selectExpired + ")");
+		statementDeleteOldIndices = conn
+				.prepareStatement("DELETE FROM " + name + "_indices WHERE TextureData IN (" + selectOld + ")");
+		statementDeleteOldObjects = conn
+				.prepareStatement("DELETE FROM " + name + "_objects WHERE TextureID IN (" + selectOld + ")");
 	}
 
 	SkinCacheTableThreadEnv createThreadEnv(Connection conn) throws SQLException {
@@ -144,63 +137,94 @@ class SkinCacheTable {
 		return result;
 	}
 
-	void storeSkin(SkinCacheTableThreadEnv env, String skinURL, byte[] hash, byte[] data) throws SQLException {
+	void addStoreBatch(SkinCacheTableThreadEnv env, String skinURL, byte[] hash, byte[] data) throws SQLException {
 		PreparedStatement stmt = env.statementStore;
 		stmt.setDate(1, new Date(System.currentTimeMillis()));
 		stmt.setBytes(2, hash);
 		stmt.setBytes(3, data);
-		stmt.executeUpdate();
+		stmt.addBatch();
 		stmt = env.statementStoreIndex;
 		stmt.setString(1, skinURL);
 		stmt.setBytes(2, hash);
-		stmt.executeUpdate();
+		stmt.addBatch();
+		++env.pendingBatch;
 	}
 
-	void runCleanup(int maxObjects, long expiryObjectsMillis) throws SQLException {
-		Date expiryObjects = new Date(expiryObjectsMillis);
-		if (sqlite) {
-			statementSQLiteListExpired.setDate(1, expiryObjects);
-			try (ResultSet resultSet = statementSQLiteListExpired.executeQuery()) {
-				while (resultSet.next()) {
-					int id = resultSet.getInt(1);
-					statementSQLiteDeleteObject.setInt(1, id);
-					statementSQLiteDeleteObject.executeUpdate();
-					statementSQLiteDeleteIndex.setInt(1, id);
-					statementSQLiteDeleteIndex.executeUpdate();
-				}
-			}
-		} else {
-			statementDeleteExpired.setDate(1, expiryObjects);
-			statementDeleteExpired.executeUpdate();
+	void executeStoreBatch(SkinCacheTableThreadEnv env) throws SQLException {
+		if (env.pendingBatch > 0) {
+			env.pendingBatch = 0;
+			env.statementStore.executeBatch();
+			env.statementStoreIndex.executeBatch();
 		}
-		int totalSkins;
-		try (ResultSet set = statementCount.executeQuery()) {
-			if (set.next()) {
-				totalSkins = set.getInt(1);
-			} else {
-				throw new SQLException("Empty ResultSet recieved when checking \"" + name + "_objects\" row count");
+	}
+
+	void clearStoreBatch(SkinCacheTableThreadEnv env) {
+		env.pendingBatch = 0;
+		try {
+			env.statementStore.clearBatch();
+			env.statementStoreIndex.clearBatch();
+		} catch (SQLException ex) {
+		}
+	}
+
+	void beginCleanup() {
+		cleanupExpiredDone = false;
+		cleanupQuotaRemaining = -1;
+		cleanupDeleted = 0;
+	}
+
+	/**
+	 * Deletes at most chunkSize objects, returns true once nothing is left to
+	 * delete in the current cleanup pass
+	 */
+	boolean runCleanupStep(int maxObjects, long expiryObjectsMillis, int chunkSize) throws SQLException {
+		if (!cleanupExpiredDone) {
+			Date expiryObjects = new Date(expiryObjectsMillis);
+			statementDeleteExpiredIndices.setDate(1, expiryObjects);
+			statementDeleteExpiredIndices.setInt(2, chunkSize);
+			statementDeleteExpiredIndices.executeUpdate();
+			statementDeleteExpiredObjects.setDate(1, expiryObjects);
+			statementDeleteExpiredObjects.setInt(2, chunkSize);
+			int cnt = statementDeleteExpiredObjects.executeUpdate();
+			cleanupDeleted += cnt;
+			if (cnt >= chunkSize) {
+				return false;
 			}
+			cleanupExpiredDone = true;
 		}
-		if (totalSkins > maxObjects) {
-			int deleteCount = totalSkins - maxObjects + (maxObjects >> 3);
-			logger.warn(name + " object cache has passed " + maxObjects + " skins in size (" + totalSkins
-					+ "), deleting " + deleteCount + " skins from the cache to free space");
-			if (sqlite) {
-				statementSQLiteListOld.setInt(1, deleteCount);
-				try (ResultSet resultSet = statementSQLiteListOld.executeQuery()) {
-					while (resultSet.next()) {
-						int id = resultSet.getInt(1);
-						statementSQLiteDeleteObject.setInt(1, id);
-						statementSQLiteDeleteObject.executeUpdate();
-						statementSQLiteDeleteIndex.setInt(1, id);
-						statementSQLiteDeleteIndex.executeUpdate();
-					}
+		if (cleanupQuotaRemaining == -1) {
+			int totalSkins;
+			try (ResultSet set = statementCount.executeQuery()) {
+				if (set.next()) {
+					totalSkins = set.getInt(1);
+				} else {
+					throw new SQLException("Empty ResultSet recieved when checking \"" + name + "_objects\" row count");
 				}
+			}
+			if (totalSkins > maxObjects) {
+				int deleteCount = totalSkins - maxObjects + (maxObjects >> 3);
+				logger.warn(name + " object cache has passed " + maxObjects + " skins in size (" + totalSkins
+						+ "), deleting " + deleteCount + " skins from the cache to free space");
+				cleanupQuotaRemaining = deleteCount;
 			} else {
-				statementDeleteOld.setInt(1, deleteCount);
-				statementDeleteOld.executeUpdate();
+				cleanupQuotaRemaining = 0;
 			}
 		}
+		if (cleanupQuotaRemaining > 0) {
+			int limit = Math.min(cleanupQuotaRemaining, chunkSize);
+			statementDeleteOldIndices.setInt(1, limit);
+			statementDeleteOldIndices.executeUpdate();
+			statementDeleteOldObjects.setInt(1, limit);
+			int cnt = statementDeleteOldObjects.executeUpdate();
+			cleanupDeleted += cnt;
+			cleanupQuotaRemaining = cnt > 0 ? cleanupQuotaRemaining - cnt : 0;
+			return cleanupQuotaRemaining <= 0;
+		}
+		return true;
+	}
+
+	int getCleanupDeleted() {
+		return cleanupDeleted;
 	}
 
 	int countSkins() {
@@ -218,12 +242,10 @@ class SkinCacheTable {
 
 	void dispose() {
 		SkinCacheDatastore.disposeStmt(statementCount);
-		SkinCacheDatastore.disposeStmt(statementSQLiteListExpired);
-		SkinCacheDatastore.disposeStmt(statementSQLiteListOld);
-		SkinCacheDatastore.disposeStmt(statementSQLiteDeleteObject);
-		SkinCacheDatastore.disposeStmt(statementSQLiteDeleteIndex);
-		SkinCacheDatastore.disposeStmt(statementDeleteExpired);
-		SkinCacheDatastore.disposeStmt(statementDeleteOld);
+		SkinCacheDatastore.disposeStmt(statementDeleteExpiredIndices);
+		SkinCacheDatastore.disposeStmt(statementDeleteExpiredObjects);
+		SkinCacheDatastore.disposeStmt(statementDeleteOldIndices);
+		SkinCacheDatastore.disposeStmt(statementDeleteOldObjects);
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Dedupes texture data by content so players using the same skin or cape share
+ * one array, entries are weakly referenced and disappear once no skin object
+ * references the array anymore. Arrays passed to intern must never be modified
+ * afterwards.
+ */
+public class TextureInterner {
+
+	private static final VarHandle BYTES_SAVED_HANDLE;
+	private static final VarHandle HITS_HANDLE;
+
+	static {
+		try {
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			BYTES_SAVED_HANDLE = l.findStaticVarHandle(TextureInterner.class, "bytesSaved", long.class);
+			HITS_HANDLE = l.findStaticVarHandle(TextureInterner.class, "hits", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static final ConcurrentMap<Long, byte[]> textures = CacheBuilder.newBuilder().weakValues()
+			.concurrencyLevel(16).<Long, byte[]>build().asMap();
+
+	private static long bytesSaved = 0l;
+	private static long hits = 0l;
+
+	public static byte[] intern(byte[] data) {
+		if (data == null) {
+			return null;
+		}
+		byte[] existing = textures.putIfAbsent(hash(data), data);
+		if (existing == null || existing == data) {
+			return data;
+		}
+		if (Arrays.equals(existing, data)) {
+			BYTES_SAVED_HANDLE.getAndAdd(data.length);
+			HITS_HANDLE.getAndAdd(1l);
+			return existing;
+		}
+		// hash collision, leave this one alone
+		return data;
+	}
+
+	private static long hash(byte[] data) {
+		long h = 0xCBF29CE484222325l;
+		for (int i = 0; i < data.length; ++i) {
+			h ^= (data[i] & 0xFF);
+			h *= 0x100000001B3l;
+		}
+		return h ^ ((long) data.length << 48);
+	}
+
+	/**
+	 * Total number of bytes that did not need to be kept because an identical
+	 * texture was already interned
+	 */
+	public static long getBytesSaved() {
+		return (long) BYTES_SAVED_HANDLE.getAcquire();
+	}
+
+	public static long getHits() {
+		return (long) HITS_HANDLE.getAcquire();
+	}
+
+	public static int getTotalTextures() {
+		return textures.size();
+	}
+
+}
@@ -18,10 +18,12 @@ package net.lax1dude.eaglercraft.backend.supervisor;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.SocketAddress;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -30,6 +32,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -48,7 +51,10 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoopGroup;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import net.lax1dude.eaglercraft.backend.skin_cache.HTTPClient;
+import net.lax1dude.eaglercraft.backend.skin_cache.ISQLConnectionFactory;
 import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheDatastore;
 import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheDownloader;
 import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheService;
@@ -83,6 +89,7 @@ public class EaglerXSupervisorServer implements Runnable {
 	private final EaglerXSupervisorConfig config = new EaglerXSupervisorConfig();
 
 	private EventLoopGroup eventLoopGroup;
+	private HashedWheelTimer timeoutTimer;
 
 	private final Collection<Channel> listeningChannels = new LinkedList<>();
 
@@ -121,6 +128,8 @@ public class EaglerXSupervisorServer implements Runnable {
 		}
 
 		eventLoopGroup = PipelineFactory.createEventLoopGroup();
+		timeoutTimer = new HashedWheelTimer(new DefaultThreadFactory("Supervisor Timeout Loop", true), 250l,
+				TimeUnit.MILLISECONDS, 512);
 
 		if (config.isDownloadVanillaSkins()) {
 			logger.info("Starting skin cache...");
@@ -141,9 +150,16 @@ public class EaglerXSupervisorServer implements Runnable {
 				skinJDBCConnection = EaglerDrivers.connectToDatabase(config.getSkinCacheDBURI(),
 						config.getSQLDriverClass(), config.getSQLDriverPath(), new Properties(), new File("."),
 						LoggerSv.getLogger("EaglerDrivers"));
-				datastore = new SkinCacheDatastore(skinJDBCConnection, threads, config.getDatabaseKeepObjectsDays(),
-						config.getDatabaseMaxObjects(), config.getDatabaseCompressionLevel(),
-						config.getSkinCacheDBSQLiteCompatible(), LoggerSv.getLogger("SkinCacheDatastore"));
+				ISQLConnectionFactory readConnFactory = null;
+				if (!config.getSkinCacheDBURI().contains(":memory:")) {
+					readConnFactory = () -> EaglerDrivers.connectToDatabase(config.getSkinCacheDBURI(),
+							config.getSQLDriverClass(), config.getSQLDriverPath(), new Properties(), new File("."),
+							LoggerSv.getLogger("EaglerDrivers"));
+				}
+				datastore = new SkinCacheDatastore(skinJDBCConnection, readConnFactory, threads,
+						config.getDatabaseKeepObjectsDays(), config.getDatabaseMaxObjects(),
+						config.getDatabaseCompressionLevel(), config.getSkinCacheDBSQLiteCompatible(),
+						LoggerSv.getLogger("SkinCacheDatastore"));
 				logger.info("Connected to database: '{}'", config.getSkinCacheDBURI());
 			} catch (SQLException ex) {
 				logger.info("Failed to connect to database!", ex);
@@ -163,52 +179,27 @@ public class EaglerXSupervisorServer implements Runnable {
 
 		logger.info("Starting listeners...");
 
-		eventLoopGroup = PipelineFactory.createEventLoopGroup();
+		List<ChannelFuture> serverFutures = PipelineFactory.bindListener(eventLoopGroup, config.getListenAddress(),
+				PipelineFactory.getServerChildInitializer(this, config.getReadTimeout()));
+		List<ChannelFuture> statusFutures;
+		if (config.isEnableStatus()) {
+			statusRendererHTML = new StatusRendererHTML(this);
+			statusFutures = PipelineFactory.bindListener(eventLoopGroup, config.getListenStatusAddress(),
+					PipelineFactory.getStatusChildInitializer(this, config.getReadTimeout()));
+		} else {
+			statusFutures = Collections.emptyList();
+		}
 
-		CountDownLatch cnt = new CountDownLatch(2);
+		CountDownLatch cnt = new CountDownLatch(serverFutures.size() + statusFutures.size());
 		AtomicBoolean issues = new AtomicBoolean(false);
 
-		PipelineFactory
-				.bindListener(eventLoopGroup, config.getListenAddress(),
-						PipelineFactory.getServerChildInitializer(this, config.getReadTimeout()))
-				.addListener((future) -> {
-					if (future.isSuccess()) {
-						synchronized (listeningChannels) {
-							logger.info("Supervisor server is listening on: {}", config.getListenAddress());
-							listeningChannels.add(((ChannelFuture) future).channel());
-						}
-					} else {
-						synchronized (listeningChannels) {
-							logger.error("Could not bind port: {}", config.getListenAddress());
-							logger.error("Reason: {}", future.cause().toString());
-						}
-						issues.set(true);
-					}
-					cnt.countDown();
-				});
+		for (int i = 0, l = serverFutures.size(); i < l; ++i) {
+			addListener(serverFutures.get(i), "Supervisor server", config.getListenAddress(), i == 0, cnt, issues);
+		}
 
-		if (config.isEnableStatus()) {
-			statusRendererHTML = new StatusRendererHTML(this);
-			PipelineFactory
-					.bindListener(eventLoopGroup, config.getListenStatusAddress(),
-							PipelineFactory.getStatusChildInitializer(this, config.getReadTimeout()))
-					.addListener((future) -> {
-						if (future.isSuccess()) {
-							synchronized (listeningChannels) {
-								logger.info("Status HTTP server is listening on: {}", config.getListenStatusAddress());
-								listeningChannels.add(((ChannelFuture) future).channel());
-							}
-						} else {
-							synchronized (listeningChannels) {
-								logger.error("Could not bind port: {}", config.getListenStatusAddress());
-								logger.error("Reason: {}", future.cause().toString());
-							}
-							issues.set(true);
-						}
-						cnt.countDown();
-					});
-		} else {
-			cnt.countDown();
+		for (int i = 0, l = statusFutures.size(); i < l; ++i) {
+			addListener(statusFutures.get(i), "Status HTTP server", config.getListenStatusAddress(), i == 0, cnt,
+					issues);
 		}
 
 		try {
@@ -266,6 +257,7 @@ public class EaglerXSupervisorServer implements Runnable {
 			eventLoopGroup.shutdownGracefully().await();
 		} catch (InterruptedException e) {
 		}
+		timeoutTimer.stop();
 
 		logger.info("Server Stopped!");
 	}
@@ -280,6 +272,27 @@ public class EaglerXSupervisorServer implements Runnable {
 		}
 	}
 
+	private void addListener(ChannelFuture bindFuture, String name, SocketAddress address, boolean log,
+			CountDownLatch cnt, AtomicBoolean issues) {
+		bindFuture.addListener((future) -> {
+			if (future.isSuccess()) {
+				synchronized (listeningChannels) {
+					if (log) {
+						logger.info("{} is listening on: {}", name, address);
+					}
+					listeningChannels.add(((ChannelFuture) future).channel());
+				}
+			} else {
+				synchronized (listeningChannels) {
+					logger.error("Could not bind port: {}", address);
+					logger.error("Reason: {}", future.cause().toString());
+				}
+				issues.set(true);
+			}
+			cnt.countDown();
+		});
+	}
+
 	public void stopListeners() {
 		List<Channel> ch;
 		synchronized (listeningChannels) {
@@ -527,6 +540,18 @@ public class EaglerXSupervisorServer implements Runnable {
 		return skinCache;
 	}
 
+	public ISkinCacheDatastore getSkinDatastore() {
+		return datastore;
+	}
+
+	public HashedWheelTimer getTimeoutTimer() {
+		return timeoutTimer;
+	}
+
+	public HTTPClient getSkinHTTPClient() {
+		return skinHTTPClient;
+	}
+
 	public StatusRendererHTML getStatusRendererHTML() {
 		return statusRendererHTML;
 	}
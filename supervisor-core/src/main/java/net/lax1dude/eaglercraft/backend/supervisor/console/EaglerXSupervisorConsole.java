@@ -28,6 +28,8 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.lax1dude.eaglercraft.backend.skin_cache.HTTPClient;
+import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheDatastore;
 import net.lax1dude.eaglercraft.backend.supervisor.EaglerXSupervisorServer;
 import net.lax1dude.eaglercraft.backend.supervisor.server.SupervisorClientInstance;
 import net.lax1dude.eaglercraft.backend.supervisor.server.player.PlayerCapeData;
@@ -35,6 +37,7 @@ import net.lax1dude.eaglercraft.backend.supervisor.server.player.PlayerSkinData;
 import net.lax1dude.eaglercraft.backend.supervisor.server.player.SupervisorPlayerInstance;
 import net.lax1dude.eaglercraft.backend.supervisor.status.ClientBrandUUIDHelper;
 import net.lax1dude.eaglercraft.backend.supervisor.status.SkinCacheStatus;
+import net.lax1dude.eaglercraft.backend.util.TextureInterner;
 
 public class EaglerXSupervisorConsole implements Runnable {
 
@@ -175,6 +178,43 @@ public class EaglerXSupervisorConsole implements Runnable {
 				tbl.print((str) -> {
 					logger.info("{}", str);
 				});
+				logger.info("Deduplicated Textures: {} duplicates, {} bytes saved, {} unique textures in memory",
+						TextureInterner.getHits(), TextureInterner.getBytesSaved(), TextureInterner.getTotalTextures());
+				ISkinCacheDatastore datastore = svr.getSkinDatastore();
+				if (datastore != null) {
+					ISkinCacheDatastore.WriteStats stats = datastore.getWriteStats();
+					logger.info("Database Writes: {} textures in {} batches, {} pending, {} textures/sec",
+							stats.totalStored, stats.totalBatches, stats.pendingWrites,
+							String.format("%.1f", stats.storesPerSecond));
+					ISkinCacheDatastore.CleanupStats cleanupStats = datastore.getCleanupStats();
+					logger.info("Database Cleanup: {}last pass deleted {} textures in {} steps, {}ms total, "
+							+ "longest step {}ms, {}ms elapsed", cleanupStats.inProgress ? "in progress, " : "",
+							cleanupStats.lastPassDeleted, cleanupStats.lastPassSteps, cleanupStats.lastPassActiveMillis,
+							cleanupStats.lastPassLongestStepMillis, cleanupStats.lastPassElapsedMillis);
+				}
+			}
+		});
+		registerCommand(new ConsoleCommand("http", "Lists statistics about the skin download HTTP client") {
+			@Override
+			public void handleCommand(Logger logger, String command, String args) {
+				HTTPClient client = svr.getSkinHTTPClient();
+				if (client == null) {
+					logger.info("Skin downloads are disabled");
+					return;
+				}
+				HTTPClient.PoolStats stats = client.getPoolStats();
+				TableRenderer tbl = new TableRenderer();
+				tbl.pushRow("Statistic", "Value");
+				tbl.pushRow("Hosts", stats.hosts);
+				tbl.pushRow("Idle Connections", stats.idleConnections);
+				tbl.pushRow("Requests In Flight", stats.inFlight);
+				tbl.pushRow("Requests Queued", stats.queued);
+				tbl.pushRow("Pool Hits", stats.hits);
+				tbl.pushRow("Connections Opened", stats.opens);
+				tbl.pushRow("Idle Evictions", stats.idleEvictions);
+				tbl.print((str) -> {
+					logger.info("{}", str);
+				});
 			}
 		});
 	}
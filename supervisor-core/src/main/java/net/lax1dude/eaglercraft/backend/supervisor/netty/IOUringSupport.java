@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.netty;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ThreadFactory;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.socket.SocketChannel;
+
+class IOUringSupport {
+
+	private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+	private static final Constructor<? extends EventLoopGroup> eventLoopGroupCtor;
+	private static final Class<? extends SocketChannel> socketChannel;
+	private static final Class<? extends ServerChannel> serverSocketChannel;
+	private static final ChannelOption<Boolean> reusePortOption;
+	private static final boolean available;
+
+	static {
+		Constructor<? extends EventLoopGroup> ctor = null;
+		Class<? extends SocketChannel> sock = null;
+		Class<? extends ServerChannel> serverSock = null;
+		ChannelOption<Boolean> reusePort = null;
+		boolean avail = false;
+		try {
+			Class<?> clazz = Class.forName(PACKAGE + "IOUring");
+			if ((Boolean) clazz.getMethod("isAvailable").invoke(null)) {
+				ctor = Class.forName(PACKAGE + "IOUringEventLoopGroup").asSubclass(EventLoopGroup.class)
+						.getConstructor(int.class, ThreadFactory.class);
+				sock = Class.forName(PACKAGE + "IOUringSocketChannel").asSubclass(SocketChannel.class);
+				serverSock = Class.forName(PACKAGE + "IOUringServerSocketChannel").asSubclass(ServerChannel.class);
+				reusePort = getOption(Class.forName(PACKAGE + "IOUringChannelOption"), "SO_REUSEPORT");
+				avail = true;
+			}
+		} catch (ReflectiveOperationException | LinkageError | ClassCastException ex) {
+		}
+		eventLoopGroupCtor = ctor;
+		socketChannel = sock;
+		serverSocketChannel = serverSock;
+		reusePortOption = reusePort;
+		available = avail;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ChannelOption<Boolean> getOption(Class<?> clazz, String name) throws ReflectiveOperationException {
+		return (ChannelOption<Boolean>) clazz.getField(name).get(null);
+	}
+
+	static boolean isAvailable() {
+		return available;
+	}
+
+	static EventLoopGroup createEventLoopGroup(int threads, ThreadFactory factory) {
+		try {
+			return eventLoopGroupCtor.newInstance(threads, factory);
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException("Could not create io_uring event loop group", ex);
+		}
+	}
+
+	static Class<? extends SocketChannel> getSocketChannel() {
+		return socketChannel;
+	}
+
+	static Class<? extends ServerChannel> getServerSocketChannel() {
+		return serverSocketChannel;
+	}
+
+	static ChannelOption<Boolean> getReusePortOption() {
+		return reusePortOption;
+	}
+
+}
@@ -20,6 +20,8 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ThreadFactory;
 
 import org.slf4j.Logger;
@@ -39,6 +41,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerDomainSocketChannel;
@@ -77,7 +80,9 @@ public class PipelineFactory {
 
 	private static boolean enableEpoll = false;
 	private static boolean enableKQueue = false;
+	private static boolean enableIOUring = false;
 	private static int threadPoolSize = 0;
+	private static int reusePortAcceptors = 1;
 
 	public static final WriteBufferWaterMark MARK = new WriteBufferWaterMark(524288, 1048576);
 
@@ -93,6 +98,14 @@ public class PipelineFactory {
 				logger.warn("Invalid thread pool size: {}", ts);
 			}
 		}
+		String ra = System.getProperty("eaglerxsupervisor.reusePortAcceptors");
+		if (ra != null) {
+			try {
+				reusePortAcceptors = Math.max(Integer.parseInt(ra), 1);
+			} catch (NumberFormatException ex) {
+				logger.warn("Invalid SO_REUSEPORT acceptor count: {}", ra);
+			}
+		}
 		if (!PlatformDependent.isWindows()) {
 			if (Boolean.parseBoolean(System.getProperty("eaglerxsupervisor.kqueue", "true"))) {
 				if (enableKQueue = KQueue.isAvailable()) {
@@ -108,6 +121,25 @@ public class PipelineFactory {
 					logger.warn("Tried to enable epoll, but it is not available!", Epoll.unavailabilityCause());
 				}
 			}
+			if (enableEpoll && Boolean.parseBoolean(System.getProperty("eaglerxsupervisor.iouring", "true"))) {
+				// io_uring is only available through the netty incubator transport, which is not
+				// bundled, it is used automatically if the server owner adds it to the classpath
+				if (enableIOUring = IOUringSupport.isAvailable()) {
+					logger.info("Enabled io_uring support");
+				} else if (System.getProperty("eaglerxsupervisor.iouring") != null) {
+					logger.warn("Tried to enable io_uring, but it is not available!");
+				}
+			}
+			if (reusePortAcceptors > 1) {
+				if (enableEpoll) {
+					logger.info("Using {} SO_REUSEPORT acceptors per listener", reusePortAcceptors);
+				} else {
+					logger.warn("SO_REUSEPORT acceptors require epoll, only 1 acceptor will be used");
+					reusePortAcceptors = 1;
+				}
+			}
+		} else {
+			reusePortAcceptors = 1;
 		}
 	}
 
@@ -115,6 +147,8 @@ public class PipelineFactory {
 		ThreadFactory factory = (new ThreadFactoryBuilder()).setNameFormat("Supervisor IO Thread #%1$d").build();
 		if (enableKQueue) {
 			return new KQueueEventLoopGroup(threadPoolSize, factory);
+		} else if (enableIOUring) {
+			return IOUringSupport.createEventLoopGroup(threadPoolSize, factory);
 		} else if (enableEpoll) {
 			return new EpollEventLoopGroup(threadPoolSize, factory);
 		} else {
@@ -161,12 +195,26 @@ public class PipelineFactory {
 		};
 	}
 
-	public static ChannelFuture bindListener(EventLoopGroup eventLoopGroup, SocketAddress address,
+	public static List<ChannelFuture> bindListener(EventLoopGroup eventLoopGroup, SocketAddress address,
 			ChannelInitializer<Channel> initializer) {
-		return (new ServerBootstrap()).option(ChannelOption.SO_REUSEADDR, true)
+		ServerBootstrap bootstrap = (new ServerBootstrap()).option(ChannelOption.SO_REUSEADDR, true)
 				.childOption(ChannelOption.TCP_NODELAY, true).channel(PipelineFactory.getServerChannel(address))
 				.group(eventLoopGroup).attr(PipelineFactory.LOCAL_ADDRESS, address).localAddress(address)
-				.childHandler(initializer).bind();
+				.childHandler(initializer);
+		int acceptors = (address instanceof InetSocketAddress) ? reusePortAcceptors : 1;
+		if (acceptors > 1) {
+			// each bind registers a separate listening socket on the next event loop,
+			// the kernel then load balances incoming connections between them
+			bootstrap.option(enableIOUring ? IOUringSupport.getReusePortOption() : EpollChannelOption.SO_REUSEPORT,
+					true);
+			List<ChannelFuture> ret = new ArrayList<>(acceptors);
+			for (int i = 0; i < acceptors; ++i) {
+				ret.add(bootstrap.bind());
+			}
+			return ret;
+		} else {
+			return List.of(bootstrap.bind());
+		}
 	}
 
 	public static Class<? extends Channel> getClientChannel(SocketAddress address) {
@@ -174,9 +222,15 @@ public class PipelineFactory {
 			if (!enableEpoll) {
 				throw new IllegalStateException("Epoll required to have UNIX sockets");
 			}
+			if (enableIOUring) {
+				throw new IllegalStateException("UNIX sockets are not supported with io_uring, "
+						+ "add -Deaglerxsupervisor.iouring=false to use them");
+			}
 			return EpollDomainSocketChannel.class;
 		} else if (enableKQueue) {
 			return KQueueSocketChannel.class;
+		} else if (enableIOUring) {
+			return IOUringSupport.getSocketChannel();
 		} else if (enableEpoll) {
 			return EpollSocketChannel.class;
 		} else {
@@ -189,9 +243,15 @@ public class PipelineFactory {
 			if (!enableEpoll) {
 				throw new IllegalStateException("Epoll required to have UNIX sockets");
 			}
+			if (enableIOUring) {
+				throw new IllegalStateException("UNIX sockets are not supported with io_uring, "
+						+ "add -Deaglerxsupervisor.iouring=false to use them");
+			}
 			return EpollServerDomainSocketChannel.class;
 		} else if (enableKQueue) {
 			return KQueueServerSocketChannel.class;
+		} else if (enableIOUring) {
+			return IOUringSupport.getServerSocketChannel();
 		} else if (enableEpoll) {
 			return EpollServerSocketChannel.class;
 		} else {
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.UUID;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.Timeout;
 import net.lax1dude.eaglercraft.backend.supervisor.server.TimeoutLoop.IExpirable;
 
 abstract class RPCPending implements IExpirable {
@@ -31,6 +32,7 @@ abstract class RPCPending implements IExpirable {
 	protected final long timeout;
 	protected final UUID key;
 	protected Map<UUID, RPCPending> map;
+	protected volatile Timeout expiryTask;
 
 	protected RPCPending(UUID key, long timeout) {
 		this.key = key;
@@ -49,6 +51,14 @@ abstract class RPCPending implements IExpirable {
 		}
 	}
 
+	void cancelExpiry() {
+		Timeout t = expiryTask;
+		if (t != null) {
+			expiryTask = null;
+			t.cancel();
+		}
+	}
+
 	protected abstract void onSuccess(ByteBuf dataBuffer);
 
 	protected abstract void onFailure(int type);
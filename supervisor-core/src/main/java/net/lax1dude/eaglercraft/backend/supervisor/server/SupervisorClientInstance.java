@@ -32,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.Timeout;
 import net.lax1dude.eaglercraft.backend.supervisor.EaglerXSupervisorServer;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
@@ -94,7 +95,7 @@ public class SupervisorClientInstance {
 		this.nodeId = nodeId;
 		this.server = server;
 		this.handler = handler;
-		this.timeout = new TimeoutLoop(handler.getChannel().eventLoop(), 250l * 1000000l);
+		this.timeout = new TimeoutLoop(handler.getChannel().eventLoop(), server.getTimeoutTimer());
 	}
 
 	public int getNodeId() {
@@ -155,6 +156,7 @@ public class SupervisorClientInstance {
 	}
 
 	public void handleDisconnected() {
+		timeout.cancelAll();
 		try {
 			List<UUID> expired = new ArrayList<>(pendingRPC.size());
 			pendingRPC.forEach((uuid, proc) -> {
@@ -163,6 +165,7 @@ public class SupervisorClientInstance {
 			for (int i = 0, l = expired.size(); i < l; ++i) {
 				RPCPending cb = pendingRPC.remove(expired.get(i));
 				if (cb != null) {
+					cb.cancelExpiry();
 					cb.onFailure(RPCPending.FAILURE_HANGUP);
 				}
 			}
@@ -246,7 +249,9 @@ public class SupervisorClientInstance {
 			try {
 				callback.map = pendingRPC;
 				pendingRPC.put(callback.key, callback);
-				if (timeout.addFuture(callback)) {
+				Timeout expiryTask = timeout.addFuture(callback);
+				if (expiryTask != null) {
+					callback.expiryTask = expiryTask;
 					handler.channelWrite(
 							new SPacketSvRPCExecute(callback.key, sourceNodeId, procNameLen, dataBuffer.retain()));
 				}
@@ -275,6 +280,7 @@ public class SupervisorClientInstance {
 	void onRPCResultSuccess(UUID requestUUID, ByteBuf dataBuffer) {
 		RPCPending pending = pendingRPC.remove(requestUUID);
 		if (pending != null) {
+			pending.cancelExpiry();
 			pending.onSuccess(dataBuffer);
 		} else {
 			logger.warn("Received RPC success for unknown/expired request {}", requestUUID);
@@ -284,6 +290,7 @@ public class SupervisorClientInstance {
 	void onRPCResultFail(UUID requestUUID) {
 		RPCPending pending = pendingRPC.remove(requestUUID);
 		if (pending != null) {
+			pending.cancelExpiry();
 			pending.onFailure(RPCPending.FAILURE_PROCEDURE);
 		} else {
 			logger.warn("Received RPC failure for unknown/expired request {}", requestUUID);
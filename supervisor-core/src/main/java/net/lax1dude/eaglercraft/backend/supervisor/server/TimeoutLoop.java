@@ -16,14 +16,23 @@
 
 package net.lax1dude.eaglercraft.backend.supervisor.server;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.EventLoop;
-
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+
+/**
+ * Expirables are placed on the server's shared timing wheel, cancel the
+ * returned timeout when one completes so it is never visited again. Expiry
+ * is handed back to the client's event loop.
+ * 
+ * The wheel belongs to the server, cancelAll only removes this client's
+ * entries from it.
+ */
 public class TimeoutLoop {
 
 	public interface IExpirable {
@@ -34,65 +43,95 @@ public class TimeoutLoop {
 
 	}
 
-	private class TimeoutEvent implements Runnable {
+	private final EventLoop scheduler;
+	private final Timer timer;
+	private final Set<Entry> pending = ConcurrentHashMap.newKeySet();
+	private volatile boolean cancelled = false;
 
-		protected final Long key;
+	private class Entry implements TimerTask, Timeout {
 
-		// The timeoutEvents ConcurrentMap compute method will synchronize this
-		protected final List<IExpirable> queue = new ArrayList<>();
+		private final IExpirable future;
+		private volatile Timeout handle;
 
-		protected TimeoutEvent(Long key) {
-			this.key = key;
+		private Entry(IExpirable future) {
+			this.future = future;
 		}
 
 		@Override
-		public void run() {
-			if (timeoutEvents.remove(key) != null) {
-				for (int i = 0, l = queue.size(); i < l; ++i) {
-					queue.get(i).expire();
-				}
+		public void run(Timeout timeout) {
+			if (pending.remove(this) && !cancelled) {
+				scheduler.execute(() -> {
+					if (!cancelled) {
+						future.expire();
+					}
+				});
 			}
 		}
 
-	}
+		@Override
+		public Timer timer() {
+			return timer;
+		}
 
-	private final Map<Long, TimeoutEvent> timeoutEvents = new HashMap<>(128);
+		@Override
+		public TimerTask task() {
+			return this;
+		}
 
-	private final EventLoop scheduler;
-	private final long resolution;
+		@Override
+		public boolean isExpired() {
+			Timeout t = handle;
+			return t != null && t.isExpired();
+		}
 
-	public TimeoutLoop(EventLoop scheduler, long resolution) {
+		@Override
+		public boolean isCancelled() {
+			Timeout t = handle;
+			return t != null && t.isCancelled();
+		}
+
+		@Override
+		public boolean cancel() {
+			if (pending.remove(this)) {
+				Timeout t = handle;
+				return t == null || t.cancel();
+			}
+			return false;
+		}
+
+	}
+
+	public TimeoutLoop(EventLoop scheduler, Timer timer) {
 		this.scheduler = scheduler;
-		this.resolution = resolution;
+		this.timer = timer;
 	}
 
-	public boolean addFuture(IExpirable future) {
+	public Timeout addFuture(IExpirable future) {
 		return addFuture(System.nanoTime(), future);
 	}
 
-	public boolean addFuture(long now, IExpirable future) {
+	public Timeout addFuture(long now, IExpirable future) {
 		long expires = future.expiresAt();
-		if (now >= expires) {
+		if (now >= expires || cancelled) {
 			future.expire();
-			return false;
+			return null;
 		}
-		long bucket = (expires + (resolution - 1)) / resolution;
-		Long bucketKey = bucket;
-		TimeoutEvent te = timeoutEvents.get(bucketKey);
-		if (te == null) {
-			te = new TimeoutEvent(bucketKey);
-			te.queue.add(future);
-			timeoutEvents.put(bucketKey, te);
-			long l = bucket * resolution - now;
-			scheduler.schedule(te, l > 0l ? l : 0l, TimeUnit.NANOSECONDS);
-		} else {
-			te.queue.add(future);
+		Entry entry = new Entry(future);
+		pending.add(entry);
+		Timeout timeout = timer.newTimeout(entry, expires - now, TimeUnit.NANOSECONDS);
+		entry.handle = timeout;
+		if (!pending.contains(entry)) {
+			// Raced with cancelAll
+			timeout.cancel();
 		}
-		return true;
+		return entry;
 	}
 
 	public void cancelAll() {
-		timeoutEvents.clear();
+		cancelled = true;
+		for (Entry entry : pending) {
+			entry.cancel();
+		}
 	}
 
 }
@@ -22,6 +22,7 @@ import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisor
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherCapeCustom;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherCapeError;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherCapePreset;
+import net.lax1dude.eaglercraft.backend.util.TextureInterner;
 
 public abstract class PlayerCapeData {
 
@@ -70,7 +71,7 @@ public abstract class PlayerCapeData {
 	}
 
 	public static PlayerCapeData create(byte[] customSkin) {
-		return new Custom(customSkin);
+		return new Custom(TextureInterner.intern(customSkin));
 	}
 
 	public abstract EaglerSupervisorPacket makeResponse(UUID playerUUID);
@@ -22,6 +22,7 @@ import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisor
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherSkinCustom;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherSkinError;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherSkinPreset;
+import net.lax1dude.eaglercraft.backend.util.TextureInterner;
 
 public abstract class PlayerSkinData {
 
@@ -72,7 +73,7 @@ public abstract class PlayerSkinData {
 	}
 
 	public static PlayerSkinData create(int modelId, byte[] customSkin) {
-		return new Custom(modelId, customSkin);
+		return new Custom(modelId, TextureInterner.intern(customSkin));
 	}
 
 	public abstract EaglerSupervisorPacket makeResponse(UUID playerUUID);